@@ -1 +1,4 @@
 rootProject.name = "CodeTour"
+
+// Headless tour validator (e.g. for CI), sharing the Tour model with the plugin
+include("validator-cli")
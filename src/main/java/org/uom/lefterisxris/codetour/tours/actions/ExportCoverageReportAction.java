@@ -0,0 +1,63 @@
+package org.uom.lefterisxris.codetour.tours.actions;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.service.TourCoverage;
+import org.uom.lefterisxris.codetour.tours.ui.CodeTourNotifier;
+
+import java.nio.file.Path;
+
+/**
+ * Exports the coverage of the project directories by the Tours (see {@link TourCoverage}) as a CSV report
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class ExportCoverageReportAction extends AnAction {
+   @Override
+   public void actionPerformed(@NotNull AnActionEvent e) {
+      final Project project = e.getProject();
+      if (project == null) return;
+
+      final VirtualFileWrapper target = FileChooserFactory.getInstance()
+            .createSaveFileDialog(new FileSaverDescriptor("Export Tours Coverage Report",
+                  "Steps per directory of the project", "csv"), project)
+            .save(ProjectUtil.guessProjectDir(project), "tours-coverage.csv");
+      if (target == null) return;
+      final Path targetPath = target.getFile().toPath();
+
+      new Task.Backgroundable(project, "Computing tours coverage", true) {
+         private TourCoverage.Report report;
+
+         @Override
+         public void run(@NotNull ProgressIndicator indicator) {
+            try {
+               report = TourCoverage.getInstance(project).computeReport();
+               report.writeCsv(targetPath);
+            } catch (Exception ex) {
+               throw new IllegalStateException("Tours coverage report failed: " + ex.getMessage(), ex);
+            }
+         }
+
+         @Override
+         public void onSuccess() {
+            CodeTourNotifier.notifyStepDescription(project, String.format(
+                  "Tours coverage report written to %s: %s of %s directories have no tours (%s unresolved steps)",
+                  targetPath, report.getUncoveredCount(), report.directories().size(), report.unresolvedSteps()));
+         }
+
+         @Override
+         public void onThrowable(@NotNull Throwable error) {
+            CodeTourNotifier.error(project, error.getMessage());
+         }
+      }.queue();
+   }
+}
@@ -0,0 +1,82 @@
+package org.uom.lefterisxris.codetour.tours.actions;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import icons.CodeTourIcons;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.service.TourExporter;
+import org.uom.lefterisxris.codetour.tours.state.StateManager;
+import org.uom.lefterisxris.codetour.tours.state.TourPersister;
+import org.uom.lefterisxris.codetour.tours.ui.CodeTourNotifier;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Exports all the Tours of the project into a static site (HTML or Markdown), see {@link TourExporter}
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class ExportToursAction extends AnAction {
+   @Override
+   public void actionPerformed(@NotNull AnActionEvent e) {
+      final Project project = e.getProject();
+      if (project == null || project.getBasePath() == null) return;
+
+      final int formatIndex = Messages.showDialog(project, "Export all the Tours into a static site, as:",
+            "Export Tours", new String[]{"HTML", "Markdown"}, 0, CodeTourIcons.LOGO);
+      if (formatIndex < 0) return;
+      final TourExporter.Format format = formatIndex == 0 ? TourExporter.Format.HTML : TourExporter.Format.MARKDOWN;
+
+      final VirtualFile outputDir = FileChooser.chooseFile(
+            FileChooserDescriptorFactory.createSingleFolderDescriptor().withTitle("Select the Export Directory"),
+            project, null);
+      if (outputDir == null) return;
+
+      // Exporting works on the tour files, so any deferred change should be written first
+      TourPersister.getInstance(project).flush();
+      final StateManager stateManager = new StateManager(project);
+      final List<Path> tourFiles = stateManager.getTours().stream()
+            .map(stateManager::findTourFile)
+            .flatMap(Optional::stream)
+            .filter(VirtualFile::isInLocalFileSystem)
+            .map(VirtualFile::toNioPath)
+            .toList();
+
+      new Task.Backgroundable(project, "Exporting tours", true) {
+         private TourExporter.Result result;
+
+         @Override
+         public void run(@NotNull ProgressIndicator indicator) {
+            try {
+               result = new TourExporter(Paths.get(project.getBasePath()), outputDir.toNioPath(), format)
+                     .export(tourFiles, Runtime.getRuntime().availableProcessors());
+            } catch (Exception ex) {
+               throw new IllegalStateException("Tours export failed: " + ex.getMessage(), ex);
+            }
+         }
+
+         @Override
+         public void onSuccess() {
+            CodeTourNotifier.notifyStepDescription(project, String.format(
+                  "Exported %s tours into %s (%s rendered, %s unchanged)", result.tours(), outputDir.getPath(),
+                  result.rendered(), result.tours() - result.rendered()));
+         }
+
+         @Override
+         public void onThrowable(@NotNull Throwable error) {
+            CodeTourNotifier.error(project, error.getMessage());
+         }
+      }.queue();
+   }
+}
@@ -20,7 +20,8 @@ public class NavigateNextStepAction extends AnAction {
       final Project project = e.getProject();
       if (project == null) return;
 
-      StateManager.getNextStep().ifPresent(step -> {
+      // After the last Step, continue with the next Tour (if chained)
+      StateManager.getNextStep().or(() -> new StateManager(project).continueWithNextTour()).ifPresent(step -> {
          // Notify UI to select the step which will trigger its navigation
          project.getMessageBus().syncPublisher(StepSelectionNotifier.TOPIC).selectStep(step);
       });
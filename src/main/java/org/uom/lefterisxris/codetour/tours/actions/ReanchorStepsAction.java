@@ -0,0 +1,58 @@
+package org.uom.lefterisxris.codetour.tours.actions;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.service.StepReanchor;
+import org.uom.lefterisxris.codetour.tours.state.StateManager;
+import org.uom.lefterisxris.codetour.tours.ui.CodeTourNotifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Re-anchors the Steps of all the Tours to HEAD, based on the local git history (see {@link StepReanchor})
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class ReanchorStepsAction extends AnAction {
+   @Override
+   public void actionPerformed(@NotNull AnActionEvent e) {
+      final Project project = e.getProject();
+      if (project == null || project.getBasePath() == null) return;
+
+      final List<Tour> tours = new ArrayList<>(new StateManager(project).getTours());
+      new Task.Backgroundable(project, "Re-anchoring tour steps", true) {
+         private Optional<StepReanchor.Plan> plan = Optional.empty();
+
+         @Override
+         public void run(@NotNull ProgressIndicator indicator) {
+            plan = new StepReanchor(project).computePlan(tours, indicator);
+         }
+
+         @Override
+         public void onSuccess() {
+            if (plan.isEmpty()) {
+               CodeTourNotifier.warn(project, "Steps cannot be re-anchored: the project is not a git repository");
+               return;
+            }
+            plan.get().apply();
+            final String result = String.format("Re-anchored %s step(s) of %s tour(s)",
+                  plan.get().getShiftedStepsCount(), plan.get().getToursCount());
+            final List<String> failedFiles = plan.get().getFailedFiles();
+            if (failedFiles.isEmpty()) {
+               CodeTourNotifier.info(project, result);
+               return;
+            }
+            CodeTourNotifier.warn(project, String.format("%s. The steps of %s file(s) were left as they are, as " +
+                  "their git diff failed: %s", result, failedFiles.size(), String.join(", ", failedFiles)));
+         }
+      }.queue();
+   }
+}
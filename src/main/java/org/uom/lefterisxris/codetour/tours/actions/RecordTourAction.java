@@ -0,0 +1,59 @@
+package org.uom.lefterisxris.codetour.tours.actions;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.ToggleAction;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.OnboardingAssistant;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.service.TourRecorder;
+import org.uom.lefterisxris.codetour.tours.state.StateManager;
+import org.uom.lefterisxris.codetour.tours.ui.CodeTourNotifier;
+import org.uom.lefterisxris.codetour.tours.ui.TourSelectionDialogWrapper;
+
+import java.util.Optional;
+
+/**
+ * Starts/stops recording the caret stops and the file navigations as Steps (see {@link TourRecorder}) of the active
+ * Tour (or of the selected one, if none is active)
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class RecordTourAction extends ToggleAction {
+
+   @Override
+   public boolean isSelected(@NotNull AnActionEvent e) {
+      return e.getProject() != null && TourRecorder.getInstance(e.getProject()).isRecording();
+   }
+
+   @Override
+   public void setSelected(@NotNull AnActionEvent e, boolean state) {
+      final Project project = e.getProject();
+      if (project == null) return;
+      final TourRecorder recorder = TourRecorder.getInstance(project);
+
+      if (!state) {
+         final String title = recorder.getTour().map(Tour::getTitle).orElse("");
+         final int recorded = recorder.stop();
+         CodeTourNotifier.notifyStepDescription(project,
+               String.format("Recording stopped: %s Steps added to Tour '%s'", recorded, title));
+         return;
+      }
+
+      Optional<Tour> tour = StateManager.getActiveTour()
+            .filter(active -> !OnboardingAssistant.ONBOARD_ASSISTANT_TITLE.equals(active.getTitle()));
+      if (tour.isEmpty()) {
+         final TourSelectionDialogWrapper dialog = new TourSelectionDialogWrapper(project,
+               "Please Select the Tour to Record Steps to");
+         if (!dialog.showAndGet()) return;
+         tour = dialog.getSelected();
+      }
+
+      tour.ifPresent(aTour -> {
+         recorder.start(aTour);
+         CodeTourNotifier.notifyStepDescription(project, String.format("Recording Steps to Tour '%s': rest the " +
+               "caret on the lines to capture. Stop recording from Tools > Code Tour", aTour.getTitle()));
+      });
+   }
+}
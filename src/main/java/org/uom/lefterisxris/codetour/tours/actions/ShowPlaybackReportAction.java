@@ -0,0 +1,50 @@
+package org.uom.lefterisxris.codetour.tours.actions;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.service.PlaybackLog;
+import org.uom.lefterisxris.codetour.tours.service.TourPlayback;
+import org.uom.lefterisxris.codetour.tours.ui.CodeTourNotifier;
+import org.uom.lefterisxris.codetour.tours.ui.PlaybackReportDialog;
+
+/**
+ * Aggregates the local playback log of the project (see {@link TourPlayback}) and shows the time spent and the
+ * drop-offs per Step
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class ShowPlaybackReportAction extends AnAction {
+   @Override
+   public void actionPerformed(@NotNull AnActionEvent e) {
+      final Project project = e.getProject();
+      if (project == null) return;
+
+      new Task.Backgroundable(project, "Aggregating tours playback", true) {
+         private PlaybackLog.Report report;
+
+         @Override
+         public void run(@NotNull ProgressIndicator indicator) {
+            try {
+               report = TourPlayback.getInstance(project).computeReport();
+            } catch (Exception ex) {
+               throw new IllegalStateException("Tours playback report failed: " + ex.getMessage(), ex);
+            }
+         }
+
+         @Override
+         public void onSuccess() {
+            new PlaybackReportDialog(project, report).show();
+         }
+
+         @Override
+         public void onThrowable(@NotNull Throwable error) {
+            CodeTourNotifier.error(project, error.getMessage());
+         }
+      }.queue();
+   }
+}
@@ -4,6 +4,8 @@ import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import org.jetbrains.annotations.NotNull;
@@ -52,9 +54,27 @@ public class TourStepGeneratorAction extends AnAction {
          }
       }
 
+      // A selection of multiple lines (that contains the line) makes a range Step
+      final Editor editor = e.getData(CommonDataKeys.EDITOR);
+      int startLine = line;
+      int endLine = line;
+      if (editor != null && editor.getSelectionModel().hasSelection()) {
+         final Document document = editor.getDocument();
+         final int endOffset = editor.getSelectionModel().getSelectionEnd();
+         final int selectionStart = document.getLineNumber(editor.getSelectionModel().getSelectionStart()) + 1;
+         int selectionEnd = document.getLineNumber(endOffset) + 1;
+         // A selection of whole lines ends at the start of the next line
+         if (selectionEnd > selectionStart && endOffset == document.getLineStartOffset(selectionEnd - 1))
+            selectionEnd--;
+         if (selectionStart <= line && line <= selectionEnd) {
+            startLine = selectionStart;
+            endLine = selectionEnd;
+         }
+      }
+
       final Optional<Tour> activeTour = StateManager.getActiveTour();
       if (activeTour.isPresent()) {
-         final Step step = generateStep(virtualFile, line);
+         final Step step = generateStep(virtualFile, startLine, endLine);
 
          // Provide a dialog for Step editing
          final StepEditor stepEditor = new StepEditor(project, step);
@@ -71,14 +91,17 @@ public class TourStepGeneratorAction extends AnAction {
 
    }
 
-   private Step generateStep(VirtualFile virtualFile, int line) {
-      final String title = String.format("%s:%s", virtualFile.getName(), line);
+   private Step generateStep(VirtualFile virtualFile, int line, int endLine) {
+      final String title = endLine > line
+            ? String.format("%s:%s-%s", virtualFile.getName(), line, endLine)
+            : String.format("%s:%s", virtualFile.getName(), line);
       LOG.info("Generating Step: " + title);
       return Step.builder()
             .title(title)
             .description("Simple Navigation to " + title)
             .file(virtualFile.getName())
             .line(line)
+            .endLine(endLine > line ? endLine : null)
             .build();
    }
 
@@ -1,31 +1,120 @@
 package org.uom.lefterisxris.codetour.tours.domain;
 
-import lombok.Builder;
-import lombok.Data;
+import lombok.*;
+
+import java.lang.ref.SoftReference;
+import java.util.function.Supplier;
 
 @Data
+// Compared on the fields themselves: going through getDescription() would load lazy descriptions from the disk
+@EqualsAndHashCode(doNotUseGetters = true)
 public class Step {
+   public static final int NO_LINE = 0; // lines are 1-based, so 0 means that no line is configured
+
    private String title; // Step's title (visible on the tree)
-   private String description; // The description of the Step (visible on the Editor)
+   private String description; // The description of the Step (visible on the Editor). Null when lazily loaded
    private String file; // File for navigation
-   private Integer line; // Line for navigation
+   private int line = NO_LINE; // Line for navigation (primitive, to avoid a boxed Integer per step)
+   private int endLine = NO_LINE; // Last line of the range that the Step explains, starting at its line (optional)
    private String directory;
    private String uri;
    private String pattern;
+   private String symbol; // Fully qualified class, method or field name, e.g. com.example.Foo#bar (optional)
+
+   // Lazy description: loaded from disk on demand and only softly reachable, so it can be re-loaded if collected.
+   // Descriptions are read from background threads as well (e.g. search indexing), so access is synchronized
+   @Setter(AccessLevel.NONE)
+   @Getter(AccessLevel.NONE)
+   @EqualsAndHashCode.Exclude
+   @ToString.Exclude
+   private transient Supplier<String> descriptionSource;
+   @Setter(AccessLevel.NONE)
+   @Getter(AccessLevel.NONE)
+   @EqualsAndHashCode.Exclude
+   @ToString.Exclude
+   private transient SoftReference<String> loadedDescription;
 
    public Step() {
    }
 
    @Builder
    public Step(String description, String file, String directory, String uri, Integer line, String pattern,
-               String title) {
+               String title, String symbol, Integer endLine) {
       this.description = description;
       this.file = file;
       this.directory = directory;
       this.uri = uri;
-      this.line = line;
+      setLine(line);
       this.pattern = pattern;
       this.title = title;
+      this.symbol = symbol;
+      setEndLine(endLine);
+   }
+
+   public synchronized String getDescription() {
+      if (description != null || descriptionSource == null)
+         return description;
+
+      String loaded = loadedDescription != null ? loadedDescription.get() : null;
+      if (loaded == null) {
+         loaded = descriptionSource.get();
+         loadedDescription = new SoftReference<>(loaded);
+      }
+      return loaded;
+   }
+
+   public synchronized void setDescription(String description) {
+      this.description = description;
+      this.descriptionSource = null;
+      this.loadedDescription = null;
+   }
+
+   /**
+    * Releases the in-memory description, which from now on is loaded on demand from the given source
+    */
+   public synchronized void setDescriptionSource(Supplier<String> descriptionSource) {
+      if (this.descriptionSource == null && description != null)
+         loadedDescription = new SoftReference<>(description);
+      this.description = null;
+      this.descriptionSource = descriptionSource;
+   }
+
+   /**
+    * @return whether the description is in memory, i.e. reading it does not access the disk
+    */
+   public synchronized boolean isDescriptionLoaded() {
+      if (description != null || descriptionSource == null) return true;
+      return loadedDescription != null && loadedDescription.get() != null;
+   }
+
+   public Integer getLine() {
+      return line != NO_LINE ? line : null;
+   }
+
+   public void setLine(Integer line) {
+      this.line = line != null ? line : NO_LINE;
+   }
+
+   /**
+    * @return the line of the step, or {@link #NO_LINE} if not configured (without boxing)
+    */
+   public int getLineNumber() {
+      return line;
+   }
+
+   public Integer getEndLine() {
+      return endLine != NO_LINE ? endLine : null;
+   }
+
+   public void setEndLine(Integer endLine) {
+      this.endLine = endLine != null ? endLine : NO_LINE;
+   }
+
+   /**
+    * @return the last line of the Step's range (its line, unless a valid end line is configured)
+    */
+   public int getEndLineNumber() {
+      return endLine != NO_LINE && endLine > line ? endLine : line;
    }
 
    @Override
@@ -33,4 +122,4 @@ public class Step {
       return title;
    }
 
-}
\ No newline at end of file
+}
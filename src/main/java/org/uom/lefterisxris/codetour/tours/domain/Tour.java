@@ -13,7 +13,10 @@ public class Tour {
    private String title; // The title of the Tour (visible on the tree)
    private String description; // Description (visible on hover as tooltip)
    private String nextTour;
+   private String anchorCommit; // The git commit that the Step lines are valid at (see Steps re-anchoring)
    private LocalDateTime createdAt;
+   private String author; // The author of the Tour (optional, for grouping)
+   private List<String> tags; // Tags/categories of the Tour (optional, for grouping and filtering)
    private List<Step> steps;
 
    public Tour() {
@@ -21,13 +24,15 @@ public class Tour {
 
    @Builder
    public Tour(String id, String touFile, String title, String description,
-               String nextTour, LocalDateTime createdAt, List<Step> steps) {
+               String nextTour, LocalDateTime createdAt, String author, List<String> tags, List<Step> steps) {
       this.id = id;
       this.tourFile = touFile;
       this.title = title;
       this.description = description;
       this.nextTour = nextTour;
       this.createdAt = createdAt;
+      this.author = author;
+      this.tags = tags;
       this.steps = steps;
    }
 
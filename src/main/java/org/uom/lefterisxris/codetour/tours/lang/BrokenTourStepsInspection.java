@@ -0,0 +1,87 @@
+package org.uom.lefterisxris.codetour.tours.lang;
+
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.json.psi.JsonElementVisitor;
+import com.intellij.json.psi.JsonNumberLiteral;
+import com.intellij.json.psi.JsonObject;
+import com.intellij.json.psi.JsonProperty;
+import com.intellij.psi.PsiElementVisitor;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.service.StepSymbols;
+
+/**
+ * Reports the broken Steps of a tour file while it is edited: files that cannot be found (or are ambiguous), lines
+ * out of the range of their file and symbols that cannot be resolved
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class BrokenTourStepsInspection extends LocalInspectionTool {
+
+   @Override
+   public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+      if (!TourFileSteps.isTourFile(holder.getFile())) return PsiElementVisitor.EMPTY_VISITOR;
+
+      return new JsonElementVisitor() {
+         @Override
+         public void visitObject(@NotNull JsonObject object) {
+            if (TourFileSteps.isStepObject(object))
+               checkStep(holder, object);
+         }
+      };
+   }
+
+   private static void checkStep(ProblemsHolder holder, JsonObject stepObject) {
+      final JsonProperty symbolProperty = stepObject.findProperty("symbol");
+      final String symbol = TourFileSteps.getString(stepObject, "symbol");
+      if (symbolProperty != null && symbol != null && !symbol.isBlank()) {
+         final Step step = Step.builder().symbol(symbol).build();
+         if (StepSymbols.getInstance(stepObject.getProject()).resolve(step).isEmpty())
+            holder.registerProblem(symbolProperty.getValue(), String.format("Cannot resolve symbol '%s'", symbol));
+      }
+
+      final JsonProperty fileProperty = stepObject.findProperty("file");
+      final String file = TourFileSteps.getString(stepObject, "file");
+      if (fileProperty == null || file == null || file.isBlank()) return;
+
+      final TourFileSteps.Targets targets = TourFileSteps.resolve(stepObject);
+      if (!targets.resolved()) return;
+
+      if (targets.files().isEmpty()) {
+         holder.registerProblem(fileProperty.getValue(), String.format("Cannot find file '%s' in the project", file));
+      } else if (targets.files().size() > 1) {
+         holder.registerProblem(fileProperty.getValue(),
+               String.format("'%s' matches %s files. Use a relative path or set the 'directory' of the Step",
+                     file, targets.files().size()),
+               ProblemHighlightType.WEAK_WARNING);
+      } else {
+         final JsonProperty lineProperty = stepObject.findProperty("line");
+         if (lineProperty != null && lineProperty.getValue() != null && targets.lineTarget() == null
+               && targets.lineCount() > 0)
+            holder.registerProblem(lineProperty.getValue(),
+                  String.format("Line %s is out of the range of '%s' (%s lines)",
+                        lineProperty.getValue().getText(), file, targets.lineCount()));
+         checkEndLine(holder, stepObject, lineProperty, targets);
+      }
+   }
+
+   private static void checkEndLine(ProblemsHolder holder, JsonObject stepObject, JsonProperty lineProperty,
+                                    TourFileSteps.Targets targets) {
+      final JsonProperty endLineProperty = stepObject.findProperty("endLine");
+      if (endLineProperty == null || !(endLineProperty.getValue() instanceof JsonNumberLiteral endLine)) return;
+
+      if (lineProperty == null || !(lineProperty.getValue() instanceof JsonNumberLiteral line))
+         holder.registerProblem(endLineProperty.getValue(), "'endLine' without a 'line' is ignored",
+               ProblemHighlightType.WEAK_WARNING);
+      else if (endLine.getValue() < line.getValue())
+         holder.registerProblem(endLineProperty.getValue(),
+               String.format("End line %s is before the line %s of the Step", endLine.getText(), line.getText()));
+      else if (targets.lineCount() > 0 && endLine.getValue() > targets.lineCount())
+         holder.registerProblem(endLineProperty.getValue(),
+               String.format("End line %s is out of the range of the file (%s lines)",
+                     endLine.getText(), targets.lineCount()));
+   }
+}
@@ -0,0 +1,125 @@
+package org.uom.lefterisxris.codetour.tours.lang;
+
+import com.intellij.json.psi.*;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.service.StepMatcher;
+import org.uom.lefterisxris.codetour.tours.service.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The Step objects of the tour files (as JSON PSI) and the resolved targets of their 'file' and 'line'.
+ * Targets are cached per Step object, until the Step itself, its target files or the project files (VFS) change
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourFileSteps {
+
+   public static final String TOUR_EXTENSION = "tour";
+
+   public static boolean isTourFile(@Nullable PsiFile file) {
+      final VirtualFile virtualFile = file != null ? file.getOriginalFile().getVirtualFile() : null;
+      return virtualFile != null && TOUR_EXTENSION.equals(virtualFile.getExtension());
+   }
+
+   /**
+    * @return whether the given object is a Step, i.e. an element of the 'steps' array of a tour
+    */
+   public static boolean isStepObject(@NotNull JsonObject object) {
+      return object.getParent() instanceof JsonArray array
+            && array.getParent() instanceof JsonProperty property
+            && "steps".equals(property.getName())
+            && property.getParent() instanceof JsonObject tour
+            && tour.getParent() instanceof JsonFile;
+   }
+
+   /**
+    * @return the Step object that the given value belongs to, if it is the value of the Step's property with the
+    * given name
+    */
+   public static Optional<JsonObject> getStepOfValue(@NotNull JsonValue value, @NotNull String propertyName) {
+      if (value.getParent() instanceof JsonProperty property && value.equals(property.getValue())
+            && propertyName.equals(property.getName()) && property.getParent() instanceof JsonObject step
+            && isStepObject(step))
+         return Optional.of(step);
+      return Optional.empty();
+   }
+
+   @Nullable
+   public static String getString(@NotNull JsonObject object, @NotNull String propertyName) {
+      final JsonProperty property = object.findProperty(propertyName);
+      return property != null && property.getValue() instanceof JsonStringLiteral literal ? literal.getValue() : null;
+   }
+
+   public static Targets resolve(@NotNull JsonObject step) {
+      return CachedValuesManager.getCachedValue(step, () -> {
+         final Targets targets = computeTargets(step);
+         final List<Object> dependencies = new ArrayList<>(targets.files());
+         dependencies.add(step);
+         dependencies.add(VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS);
+         dependencies.add(DumbService.getInstance(step.getProject()).getModificationTracker());
+         return CachedValueProvider.Result.create(targets, dependencies);
+      });
+   }
+
+   private static Targets computeTargets(JsonObject stepObject) {
+      final Project project = stepObject.getProject();
+      final String file = getString(stepObject, "file");
+      if (file == null || file.isBlank()) return new Targets(List.of(), null, 0, true);
+      if (DumbService.isDumb(project)) return new Targets(List.of(), null, 0, false);
+
+      final Step step = Step.builder().file(file).directory(getString(stepObject, "directory")).build();
+      final Optional<String> fileName = StepMatcher.getFileName(file);
+      if (fileName.isEmpty()) return new Targets(List.of(), null, 0, true); // i.e. not found
+      final PsiManager psiManager = PsiManager.getInstance(project);
+      final List<PsiFile> files = FilenameIndex
+            .getVirtualFilesByName(fileName.get(), GlobalSearchScope.projectScope(project)).stream()
+            .filter(virtualFile -> Utils.isFileMatchesStep(virtualFile, step))
+            .map(psiManager::findFile)
+            .filter(Objects::nonNull)
+            .toList();
+
+      final JsonProperty lineProperty = stepObject.findProperty("line");
+      if (files.size() != 1 || lineProperty == null || !(lineProperty.getValue() instanceof JsonNumberLiteral number))
+         return new Targets(files, null, 0, true);
+
+      final Document document = PsiDocumentManager.getInstance(project).getDocument(files.get(0));
+      if (document == null) return new Targets(files, null, 0, true);
+
+      final int line = (int)number.getValue();
+      final int lineCount = Math.max(document.getLineCount(), 1);
+      if (line < 1 || line > lineCount) return new Targets(files, null, lineCount, true);
+
+      final PsiElement atLine = document.getTextLength() == 0
+            ? files.get(0)
+            : files.get(0).findElementAt(document.getLineStartOffset(line - 1));
+      return new Targets(files, atLine != null ? atLine : files.get(0), lineCount, true);
+   }
+
+   /**
+    * @param files      The files that the Step's file matches (more than one means ambiguous)
+    * @param lineTarget The element at the Step's line (of its single file), if the line is within the file
+    * @param lineCount  The number of lines of the Step's single file (0 if not applicable)
+    * @param resolved   Whether the targets have been resolved (i.e. false while indexing)
+    */
+   public record Targets(List<PsiFile> files, @Nullable PsiElement lineTarget, int lineCount, boolean resolved) {}
+}
@@ -0,0 +1,47 @@
+package org.uom.lefterisxris.codetour.tours.lang;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.jetbrains.jsonSchema.extension.JsonSchemaFileProvider;
+import com.jetbrains.jsonSchema.extension.JsonSchemaProviderFactory;
+import com.jetbrains.jsonSchema.extension.SchemaType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * JSON schema of the tour files, for completion and validation while editing them
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourJsonSchemaProviderFactory implements JsonSchemaProviderFactory {
+
+   private static final String SCHEMA_PATH = "/schemas/tour.schema.json";
+
+   @Override
+   public @NotNull List<JsonSchemaFileProvider> getProviders(@NotNull Project project) {
+      return List.of(new JsonSchemaFileProvider() {
+         @Override
+         public boolean isAvailable(@NotNull VirtualFile file) {
+            return TourFileSteps.TOUR_EXTENSION.equals(file.getExtension());
+         }
+
+         @Override
+         public @NotNull String getName() {
+            return "CodeTour";
+         }
+
+         @Override
+         public @Nullable VirtualFile getSchemaFile() {
+            return JsonSchemaProviderFactory.getResourceFile(TourJsonSchemaProviderFactory.class, SCHEMA_PATH);
+         }
+
+         @Override
+         public @NotNull SchemaType getSchemaType() {
+            return SchemaType.embeddedSchema;
+         }
+      });
+   }
+}
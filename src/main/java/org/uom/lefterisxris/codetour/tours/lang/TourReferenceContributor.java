@@ -0,0 +1,105 @@
+package org.uom.lefterisxris.codetour.tours.lang;
+
+import com.intellij.json.psi.JsonNumberLiteral;
+import com.intellij.json.psi.JsonObject;
+import com.intellij.json.psi.JsonStringLiteral;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.patterns.PlatformPatterns;
+import com.intellij.psi.*;
+import com.intellij.util.ProcessingContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Makes the 'file' and 'line' values of the Steps (on the tour files) references to their targets, so they can be
+ * navigated to (Ctrl+Click). Resolving is cached per Step object (see {@link TourFileSteps#resolve(JsonObject)})
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourReferenceContributor extends PsiReferenceContributor {
+
+   @Override
+   public void registerReferenceProviders(@NotNull PsiReferenceRegistrar registrar) {
+      registrar.registerReferenceProvider(PlatformPatterns.psiElement(JsonStringLiteral.class),
+            new PsiReferenceProvider() {
+               @Override
+               public PsiReference @NotNull [] getReferencesByElement(@NotNull PsiElement element,
+                                                                      @NotNull ProcessingContext context) {
+                  if (!TourFileSteps.isTourFile(element.getContainingFile())) return PsiReference.EMPTY_ARRAY;
+                  final JsonStringLiteral literal = (JsonStringLiteral)element;
+                  return TourFileSteps.getStepOfValue(literal, "file")
+                        .map(step -> new PsiReference[]{new StepFileReference(literal, step)})
+                        .orElse(PsiReference.EMPTY_ARRAY);
+               }
+            });
+      registrar.registerReferenceProvider(PlatformPatterns.psiElement(JsonNumberLiteral.class),
+            new PsiReferenceProvider() {
+               @Override
+               public PsiReference @NotNull [] getReferencesByElement(@NotNull PsiElement element,
+                                                                      @NotNull ProcessingContext context) {
+                  if (!TourFileSteps.isTourFile(element.getContainingFile())) return PsiReference.EMPTY_ARRAY;
+                  final JsonNumberLiteral literal = (JsonNumberLiteral)element;
+                  return TourFileSteps.getStepOfValue(literal, "line")
+                        .map(step -> new PsiReference[]{new StepLineReference(literal, step)})
+                        .orElse(PsiReference.EMPTY_ARRAY);
+               }
+            });
+   }
+
+   /**
+    * The file of a Step. Soft, as broken Steps are reported by {@link BrokenTourStepsInspection}.
+    * The tour files are not edited through the references on rename/move, as the Steps are updated by
+    * {@link org.uom.lefterisxris.codetour.tours.service.StepFileTracker}
+    */
+   private static class StepFileReference extends PsiPolyVariantReferenceBase<JsonStringLiteral> {
+      private final JsonObject step;
+
+      StepFileReference(JsonStringLiteral element, JsonObject step) {
+         super(element, ElementManipulators.getValueTextRange(element), true);
+         this.step = step;
+      }
+
+      @Override
+      public ResolveResult @NotNull [] multiResolve(boolean incompleteCode) {
+         return PsiElementResolveResult.createResults(TourFileSteps.resolve(step).files());
+      }
+
+      @Override
+      public PsiElement handleElementRename(@NotNull String newElementName) {
+         return getElement();
+      }
+
+      @Override
+      public PsiElement bindToElement(@NotNull PsiElement element) {
+         return getElement();
+      }
+   }
+
+   /**
+    * The line of a Step, on its (single) file
+    */
+   private static class StepLineReference extends PsiReferenceBase<JsonNumberLiteral> {
+      private final JsonObject step;
+
+      StepLineReference(JsonNumberLiteral element, JsonObject step) {
+         super(element, TextRange.from(0, element.getTextLength()), true);
+         this.step = step;
+      }
+
+      @Override
+      public @Nullable PsiElement resolve() {
+         return TourFileSteps.resolve(step).lineTarget();
+      }
+
+      @Override
+      public PsiElement handleElementRename(@NotNull String newElementName) {
+         return getElement();
+      }
+
+      @Override
+      public PsiElement bindToElement(@NotNull PsiElement element) {
+         return getElement();
+      }
+   }
+}
@@ -45,7 +45,13 @@ public class AppSettingsConfigurable implements Configurable {
       AppSettingsState settings = AppSettingsState.getInstance();
       return settingsComponent.isOnboardingAssistantOn() != settings.isOnboardingAssistant()
             || (settingsComponent.getSortOption() != settings.getSortOption())
-            || (settingsComponent.getSortDirection() != settings.getSortDirection());
+            || (settingsComponent.getSortDirection() != settings.getSortDirection())
+            || (settingsComponent.getSerializationMode() != settings.getSerializationMode())
+            || (settingsComponent.getPrettyThresholdKb() != settings.getPrettyThresholdKb())
+            || (settingsComponent.isWriteBackStepLines() != settings.isWriteBackStepLines())
+            || (settingsComponent.getToursScope() != settings.getToursScope())
+            || (settingsComponent.isShowToursCoverage() != settings.isShowToursCoverage())
+            || (settingsComponent.isRecordPlayback() != settings.isRecordPlayback());
    }
 
    @Override
@@ -55,6 +61,14 @@ public class AppSettingsConfigurable implements Configurable {
       settings.setSortDirection(settingsComponent.getSortDirection());
       settings.setSortOption(Optional.ofNullable(settingsComponent.getSortOption())
             .orElse(AppSettingsState.SortOptionE.TITLE));
+      settings.setSerializationMode(Optional.ofNullable(settingsComponent.getSerializationMode())
+            .orElse(AppSettingsState.SerializationModeE.PRETTY));
+      settings.setPrettyThresholdKb(settingsComponent.getPrettyThresholdKb());
+      settings.setWriteBackStepLines(settingsComponent.isWriteBackStepLines());
+      settings.setToursScope(Optional.ofNullable(settingsComponent.getToursScope())
+            .orElse(AppSettingsState.ToursScopeE.ALL_MODULES));
+      settings.setShowToursCoverage(settingsComponent.isShowToursCoverage());
+      settings.setRecordPlayback(settingsComponent.isRecordPlayback());
    }
 
    @Override
@@ -63,6 +77,12 @@ public class AppSettingsConfigurable implements Configurable {
       settingsComponent.setOnboardingAssistant(settings.isOnboardingAssistant());
       settingsComponent.setSortOption(settings.getSortOption());
       settingsComponent.setSortDirection(settings.getSortDirection());
+      settingsComponent.setSerializationMode(settings.getSerializationMode());
+      settingsComponent.setPrettyThresholdKb(settings.getPrettyThresholdKb());
+      settingsComponent.setWriteBackStepLines(settings.isWriteBackStepLines());
+      settingsComponent.setToursScope(settings.getToursScope());
+      settingsComponent.setShowToursCoverage(settings.isShowToursCoverage());
+      settingsComponent.setRecordPlayback(settings.isRecordPlayback());
       //TODO: This should be done automatically, instead of just prompting user
 
       // Notify user to reload Settings
@@ -29,6 +29,13 @@ public class AppSettingsState implements PersistentStateComponent<AppSettingsSta
    private boolean onboardingAssistant = true;
    private SortOptionE sortOption = SortOptionE.TITLE;
    private SortDirectionE sortDirection = SortDirectionE.ASC;
+   private GroupOptionE groupOption = GroupOptionE.NONE; // grouping of the Tours on the Tool Window
+   private SerializationModeE serializationMode = SerializationModeE.PRETTY;
+   private int prettyThresholdKb = 64; // used by PRETTY_UNDER_THRESHOLD mode
+   private boolean writeBackStepLines = false; // persist the shifted (by edits) Step lines on save
+   private ToursScopeE toursScope = ToursScopeE.ALL_MODULES;
+   private boolean showToursCoverage = true; // Steps count per directory on the Project View
+   private boolean recordPlayback = true; // local log of the Step navigations, for the playback report
 
    public static AppSettingsState getInstance() {
       return ApplicationManager.getApplication().getService(AppSettingsState.class);
@@ -58,4 +65,16 @@ public class AppSettingsState implements PersistentStateComponent<AppSettingsSta
    public enum SortDirectionE {
       ASC, DESC;
    }
+
+   public enum GroupOptionE {
+      NONE, TAG, FOLDER, AUTHOR, CREATION_DATE;
+   }
+
+   public enum SerializationModeE {
+      PRETTY, COMPACT, PRETTY_UNDER_THRESHOLD;
+   }
+
+   public enum ToursScopeE {
+      ALL_MODULES, OPENED_MODULES;
+   }
 }
\ No newline at end of file
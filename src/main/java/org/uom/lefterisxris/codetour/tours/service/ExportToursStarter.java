@@ -0,0 +1,70 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import com.intellij.openapi.application.ApplicationStarter;
+import com.intellij.openapi.application.ex.ApplicationEx;
+import com.intellij.openapi.application.ex.ApplicationManagerEx;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Headless entry point of the {@link TourExporter}, e.g. to publish the tours from a CI job:
+ * <pre>
+ *    idea codetour-export &lt;projectDir&gt; &lt;outputDir&gt; [--markdown]
+ * </pre>
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class ExportToursStarter implements ApplicationStarter {
+
+   private static final String COMMAND = "codetour-export"; // the id of the appStarter on plugin.xml
+
+   @Override
+   public int getRequiredModality() {
+      return NOT_IN_EDT;
+   }
+
+   @Override
+   public void main(@NotNull List<String> args) {
+      exit(run(args));
+   }
+
+   /**
+    * @return the exit code: 0 on success, 1 if the export failed, 2 on wrong usage
+    */
+   private static int run(List<String> args) {
+      // The first argument is the command itself
+      final List<String> params = args.stream().filter(arg -> !COMMAND.equals(arg)).toList();
+      final List<String> paths = params.stream().filter(arg -> !arg.startsWith("--")).toList();
+      if (paths.size() != 2 || !Files.isDirectory(Paths.get(paths.get(0)))) {
+         System.err.println("Usage: " + COMMAND + " <projectDir> <outputDir> [--markdown]");
+         return 2;
+      }
+
+      final Path root = Paths.get(paths.get(0));
+      final TourExporter.Format format = params.contains("--markdown")
+            ? TourExporter.Format.MARKDOWN
+            : TourExporter.Format.HTML;
+      try {
+         final TourExporter.Result result = new TourExporter(root, Paths.get(paths.get(1)), format)
+               .export(TourExporter.findTourFiles(root), Runtime.getRuntime().availableProcessors());
+         System.out.printf("Exported %s tours (%s rendered, %s removed) into %s%n",
+               result.tours(), result.rendered(), result.removed(), paths.get(1));
+         return 0;
+      } catch (Exception e) {
+         System.err.println("Tours export failed: " + e.getMessage());
+         return 1;
+      }
+   }
+
+   /**
+    * Shuts the application down properly (i.e. disposing it), rather than halting the JVM
+    */
+   private static void exit(int exitCode) {
+      ApplicationManagerEx.getApplicationEx().exit(ApplicationEx.FORCE_EXIT | ApplicationEx.EXIT_CONFIRMED, exitCode);
+   }
+}
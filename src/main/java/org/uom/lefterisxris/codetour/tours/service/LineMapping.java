@@ -0,0 +1,130 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maps the lines of a file between two revisions, based on the hunks of a zero-context unified diff
+ * (i.e. the output of <code>git diff -U0</code>)
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class LineMapping {
+
+   public static final LineMapping IDENTITY = new LineMapping(List.of(), false);
+   /**
+    * The mapping of a file that did not exist on the old revision, so its lines cannot be mapped (rather than all of
+    * them being shifted by the length of the file)
+    */
+   public static final LineMapping UNMAPPED = new LineMapping(List.of(), true);
+
+   private static final Pattern HUNK_HEADER = Pattern.compile("^@@ -(\\d+)(?:,(\\d+))? \\+(\\d+)(?:,(\\d+))? @@");
+
+   private final List<Hunk> hunks;
+   private final boolean unmapped;
+
+   private LineMapping(List<Hunk> hunks, boolean unmapped) {
+      this.hunks = hunks;
+      this.unmapped = unmapped;
+   }
+
+   /**
+    * Parses the hunk headers of the given (single file) diff. A diff of an added file is {@link #UNMAPPED}, while
+    * everything else of the diff is ignored
+    */
+   public static LineMapping parse(@NotNull String diff) {
+      final List<Hunk> hunks = new ArrayList<>();
+      for (String line : diff.split("\n")) {
+         if (line.startsWith("--- /dev/null") || line.startsWith("new file mode")) return UNMAPPED;
+
+         final Matcher matcher = HUNK_HEADER.matcher(line);
+         if (!matcher.find()) continue;
+
+         hunks.add(new Hunk(Integer.parseInt(matcher.group(1)), count(matcher.group(2)),
+               Integer.parseInt(matcher.group(3)), count(matcher.group(4))));
+      }
+      return hunks.isEmpty() ? IDENTITY : new LineMapping(hunks, false);
+   }
+
+   /**
+    * Parses the output of <code>git diff --name-status -z -M</code>, i.e. the added and the renamed files between two
+    * revisions
+    */
+   public static FileChanges parseNameStatus(@NotNull String nameStatus) {
+      final Map<String, String> renamed = new HashMap<>();
+      final Set<String> added = new HashSet<>();
+      final String[] tokens = nameStatus.split("\0");
+      for (int i = 0; i < tokens.length; i++) {
+         final String status = tokens[i];
+         if (status.isEmpty()) continue;
+
+         // Renames (and copies) are followed by the old and the new path, the rest by a single path
+         if ((status.startsWith("R") || status.startsWith("C")) && i + 2 < tokens.length) {
+            renamed.put(tokens[i + 2], tokens[i + 1]);
+            i += 2;
+         } else if (i + 1 < tokens.length) {
+            if (status.startsWith("A"))
+               added.add(tokens[i + 1]);
+            i++;
+         }
+      }
+      return new FileChanges(renamed, added);
+   }
+
+   /**
+    * @return whether no line has moved (including the case that the lines cannot be mapped)
+    */
+   public boolean isIdentity() {
+      return hunks.isEmpty();
+   }
+
+   public boolean isUnmapped() {
+      return unmapped;
+   }
+
+   /**
+    * Maps the given (1-based) line of the old revision to the new one. Lines that have been changed are mapped to the
+    * corresponding line of the replacement (or its last line), and deleted lines to the nearest preceding line
+    */
+   public int map(int line) {
+      int delta = 0;
+      for (Hunk hunk : hunks) {
+         // On pure insertions, the old start is the line after which the new lines are added
+         final int oldStart = hunk.oldCount() == 0 ? hunk.oldStart() + 1 : hunk.oldStart();
+         if (line < oldStart) break;
+
+         if (line >= oldStart + hunk.oldCount()) {
+            delta += hunk.newCount() - hunk.oldCount();
+            continue;
+         }
+         return hunk.newCount() == 0
+               ? Math.max(hunk.newStart(), 1)
+               : hunk.newStart() + Math.min(line - oldStart, hunk.newCount() - 1);
+      }
+      return line + delta;
+   }
+
+   private static int count(String group) {
+      return group == null ? 1 : Integer.parseInt(group);
+   }
+
+   private record Hunk(int oldStart, int oldCount, int newStart, int newCount) {}
+
+   /**
+    * The files renamed (new path to old path) and added between two revisions
+    */
+   public record FileChanges(Map<String, String> renamed, Set<String> added) {
+
+      /**
+       * @return the path of the given file on the old revision (the same, unless renamed), or empty if it was added
+       */
+      public Optional<String> oldPath(@NotNull String path) {
+         if (added.contains(path)) return Optional.empty();
+         return Optional.of(renamed.getOrDefault(path, path));
+      }
+   }
+}
@@ -1,5 +1,7 @@
 package org.uom.lefterisxris.codetour.tours.service;
 
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.fileEditor.OpenFileDescriptor;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.popup.JBPopupFactory;
@@ -14,8 +16,8 @@ import org.jetbrains.annotations.Nullable;
 import org.uom.lefterisxris.codetour.tours.domain.Step;
 import org.uom.lefterisxris.codetour.tours.ui.CodeTourNotifier;
 
-import java.nio.file.Paths;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -32,14 +34,30 @@ public class Navigator {
 
       SlowOperations.allowSlowOperations(() -> {
 
+         // Symbol anchored Steps are resolved (and cached) through the stub indices, with no file name lookups
+         final Optional<StepSymbols.Location> symbolLocation = StepSymbols.getInstance(project).getLocation(step);
+         if (symbolLocation.isPresent()) {
+            final Editor editor = FileEditorManager.getInstance(project).openTextEditor(
+                  new OpenFileDescriptor(project, symbolLocation.get().file(), symbolLocation.get().offset()), true);
+            if (editor != null)
+               StepHighlighter.getInstance(project).highlight(editor, symbolLocation.get().line(),
+                     symbolLocation.get().line());
+            renderStepPopup(step, project);
+            return;
+         }
+
+         StepHighlighter.getInstance(project).clear(); // until the Step's file is navigated to (if any)
          if (step.getFile() == null) {
+            if (step.getSymbol() != null)
+               CodeTourNotifier.error(project, String.format("Could not resolve symbol '%s' for Step '%s'",
+                     step.getSymbol(), step.getTitle()));
             // Nothing more to do. Just show Step's popup and return
             renderStepPopup(step, project);
             return;
          }
 
          // Try finding the appropriate file to navigate to
-         final String stepFileName = Paths.get(step.getFile()).getFileName().toString();
+         final String stepFileName = StepMatcher.getFileName(step.getFile()).orElse(step.getFile());
          final List<VirtualFile> validVirtualFiles = FilenameIndex
                .getVirtualFilesByName(stepFileName, GlobalSearchScope.projectScope(project)).stream()
                .filter(file -> Utils.isFileMatchesStep(file, step))
@@ -81,9 +99,17 @@ public class Navigator {
    }
 
    private static void navigate(@NotNull Step step, @NotNull Project project, VirtualFile targetVirtualFile) {
-      final int line = step.getLine() != null ? step.getLine() - 1 : 0;
-      new OpenFileDescriptor(project, targetVirtualFile, Math.max(line, 0), 1)
-            .navigate(true);
+      // Prefer the live anchor of the Step (i.e. its line may have been shifted by edits on the opened document)
+      final StepAnchors anchors = StepAnchors.getInstance(project);
+      final int line = anchors.getCurrentLine(step).orElse(step.getLine() != null ? step.getLine() : 1) - 1;
+      final Editor editor = FileEditorManager.getInstance(project)
+            .openTextEditor(new OpenFileDescriptor(project, targetVirtualFile, Math.max(line, 0), 1), true);
+
+      // Highlight the lines of the Step (its range, if configured)
+      if (editor != null && step.getLine() != null) {
+         final int endLine = anchors.getCurrentEndLine(step).orElse(step.getEndLineNumber());
+         StepHighlighter.getInstance(project).highlight(editor, line + 1, endLine);
+      }
    }
 
    private static void renderStepPopup(@NotNull Step step, @NotNull Project project) {
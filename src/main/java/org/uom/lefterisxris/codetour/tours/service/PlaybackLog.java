@@ -0,0 +1,154 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The binary format of the playback log (see {@link TourPlayback}) and the aggregation of its events into per Step
+ * statistics. A log is a header followed by fixed-layout records: timestamp, tour key, step index and steps count.
+ * A truncated trailing record (e.g. after a crash) is ignored
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class PlaybackLog {
+
+   private static final int MAGIC = 0x43545031; // CTP1
+   public static final int CLOSED = -1; // step index of the event that marks the end of a playback (e.g. on close)
+
+   /**
+    * @param stepIndex  The index of the Step navigated to, or {@link #CLOSED}
+    * @param stepsCount The number of the Tour's Steps at that time (so drop-offs survive later edits of the Tour)
+    */
+   public record Event(long timestamp, @NotNull String tourKey, int stepIndex, int stepsCount) {}
+
+   public static void writeHeader(@NotNull DataOutput out) throws IOException {
+      out.writeInt(MAGIC);
+   }
+
+   public static void write(@NotNull DataOutput out, @NotNull Event event) throws IOException {
+      out.writeLong(event.timestamp());
+      out.writeUTF(event.tourKey());
+      out.writeShort(event.stepIndex());
+      out.writeShort(event.stepsCount());
+   }
+
+   /**
+    * Reads the events of the given log files, in the given order. Missing or foreign files are skipped
+    */
+   public static List<Event> read(@NotNull List<Path> files) throws IOException {
+      final List<Event> events = new ArrayList<>();
+      for (Path file : files) {
+         if (!Files.isRegularFile(file)) continue;
+         try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) continue;
+            while (true)
+               events.add(new Event(in.readLong(), in.readUTF(), in.readShort(), in.readShort()));
+         } catch (EOFException | UTFDataFormatException e) {
+            // End of the log (or a truncated last record)
+         }
+      }
+      return events;
+   }
+
+   /**
+    * Aggregates the given events (in the order they were logged) into per Step statistics. A playback of a Tour
+    * ends when another Tour is navigated to, when it is closed or after the given idle time. The time spent on a
+    * Step is the time until the next navigation (if not idle). A playback that ends before the last Step of its
+    * Tour is a drop-off of that Step
+    */
+   public static Report aggregate(@NotNull List<Event> events, long idleMillis) {
+      final Report report = new Report();
+      Event last = null;
+      for (Event event : events) {
+         boolean newPlayback = true;
+         if (last != null) {
+            final long elapsed = event.timestamp() - last.timestamp();
+            final boolean idle = elapsed < 0 || elapsed > idleMillis;
+            if (!idle)
+               report.getStep(last.tourKey(), last.stepIndex()).addDwell(elapsed);
+            newPlayback = idle || event.stepIndex() == CLOSED || !event.tourKey().equals(last.tourKey());
+            if (newPlayback)
+               report.endPlayback(last);
+         }
+
+         if (event.stepIndex() == CLOSED) {
+            last = null;
+            continue;
+         }
+         if (newPlayback)
+            report.sessions.merge(event.tourKey(), 1, Integer::sum);
+         report.getStep(event.tourKey(), event.stepIndex()).visits++;
+         last = event;
+      }
+      if (last != null)
+         report.endPlayback(last);
+      return report;
+   }
+
+   /**
+    * Per Step statistics, keyed by their Tour
+    */
+   public static class Report {
+      private final Map<String, Map<Integer, StepStats>> steps = new LinkedHashMap<>();
+      private final Map<String, Integer> sessions = new HashMap<>();
+      private final Map<String, Integer> completions = new HashMap<>();
+
+      private StepStats getStep(String tourKey, int stepIndex) {
+         return steps.computeIfAbsent(tourKey, key -> new TreeMap<>())
+               .computeIfAbsent(stepIndex, index -> new StepStats(tourKey, index));
+      }
+
+      private void endPlayback(Event last) {
+         if (last.stepIndex() >= last.stepsCount() - 1)
+            completions.merge(last.tourKey(), 1, Integer::sum);
+         else
+            getStep(last.tourKey(), last.stepIndex()).dropOffs++;
+      }
+
+      public Set<String> getTourKeys() {
+         return steps.keySet();
+      }
+
+      public List<StepStats> getSteps(String tourKey) {
+         return new ArrayList<>(steps.getOrDefault(tourKey, Map.of()).values());
+      }
+
+      public int getSessions(String tourKey) {
+         return sessions.getOrDefault(tourKey, 0);
+      }
+
+      public int getCompletions(String tourKey) {
+         return completions.getOrDefault(tourKey, 0);
+      }
+   }
+
+   @Getter
+   public static class StepStats {
+      private final String tourKey;
+      private final int stepIndex;
+      private int visits;
+      private int dropOffs;
+      private long dwellMillis;
+      private int dwellSamples;
+
+      private StepStats(String tourKey, int stepIndex) {
+         this.tourKey = tourKey;
+         this.stepIndex = stepIndex;
+      }
+
+      private void addDwell(long millis) {
+         dwellMillis += millis;
+         dwellSamples++;
+      }
+
+      public long getAverageDwellMillis() {
+         return dwellSamples == 0 ? 0 : dwellMillis / dwellSamples;
+      }
+   }
+}
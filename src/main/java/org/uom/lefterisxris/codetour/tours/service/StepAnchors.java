@@ -0,0 +1,342 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.RangeMarker;
+import com.intellij.openapi.editor.event.EditorFactoryEvent;
+import com.intellij.openapi.editor.event.EditorFactoryListener;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.FileDocumentManagerListener;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.state.StateManager;
+import org.uom.lefterisxris.codetour.tours.state.StepFileIndex;
+import org.uom.lefterisxris.codetour.tours.state.ToursState;
+import org.uom.lefterisxris.codetour.tours.state.ToursTransaction;
+
+import java.util.*;
+
+/**
+ * Live anchors of the Steps on the opened documents. Each Step of an opened document gets a {@link RangeMarker} on
+ * its line, which the platform shifts as the document is edited. Gutter markers and navigation use the current line
+ * of the anchor, and (if enabled on User Settings) the shifted lines are written back to the tour files on save.
+ * Changing or reloading the tours carries the (shifted) anchors of the unchanged Steps over, and the anchors of a
+ * file are released once its last editor is closed (unless it has unsaved changes, to be written back on save)
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class StepAnchors implements Disposable {
+
+   private static final Logger LOG = Logger.getInstance(StepAnchors.class);
+
+   private final Project project;
+   private final Map<VirtualFile, List<Anchor>> anchorsPerFile = new HashMap<>();
+   private final Map<Step, Anchor> anchorsPerStep = new IdentityHashMap<>();
+
+   public StepAnchors(Project project) {
+      this.project = project;
+   }
+
+   public static StepAnchors getInstance(@NotNull Project project) {
+      return project.getService(StepAnchors.class);
+   }
+
+   /**
+    * Anchors the Steps that reference the given (opened) file, unless already anchored
+    */
+   public synchronized void attach(@NotNull VirtualFile file, @NotNull Document document) {
+      if (anchorsPerFile.containsKey(file)) return;
+
+      final List<Anchor> anchors = new ArrayList<>();
+      for (StepFileIndex.StepRef ref : ToursState.getInstance(project).getFileIndex().getSteps(file)) {
+         final RangeMarker marker = createMarker(ref.step(), document);
+         if (marker != null)
+            addAnchor(anchors, new Anchor(ref, marker));
+      }
+      anchorsPerFile.put(file, anchors);
+   }
+
+   /**
+    * Releases the anchors of the given file (e.g. its last editor has been closed)
+    */
+   public synchronized void detach(@NotNull VirtualFile file) {
+      final List<Anchor> anchors = anchorsPerFile.remove(file);
+      if (anchors == null) return;
+
+      anchors.forEach(anchor -> {
+         anchorsPerStep.remove(anchor.ref().step());
+         anchor.marker().dispose();
+      });
+   }
+
+   /**
+    * Re-attaches the anchors of all the tours (e.g. after the tours have been reloaded). The Steps that are still at
+    * the same (persisted) location keep their current anchor, and so the shift of their line
+    */
+   public void refresh() {
+      reattach(null);
+   }
+
+   /**
+    * Re-attaches the anchors of the Steps of the given (changed) tour only. Its unchanged Steps keep their current
+    * anchor
+    */
+   public void update(@NotNull Tour tour) {
+      reattach(tour);
+   }
+
+   private void reattach(@Nullable Tour changedTour) {
+      final String changedKey = changedTour != null ? TourPlayback.getTourKey(changedTour) : null;
+      final Map<VirtualFile, Document> documents = new HashMap<>();
+      for (VirtualFile file : FileEditorManager.getInstance(project).getOpenFiles()) {
+         final Document document = FileDocumentManager.getInstance().getCachedDocument(file);
+         if (document != null)
+            documents.put(file, document);
+      }
+
+      synchronized (this) {
+         // Closed but unsaved documents keep their anchors, so that their shifted lines can still be written back
+         for (VirtualFile file : anchorsPerFile.keySet()) {
+            final Document document = FileDocumentManager.getInstance().getCachedDocument(file);
+            if (document != null && FileDocumentManager.getInstance().isDocumentUnsaved(document))
+               documents.putIfAbsent(file, document);
+         }
+
+         // The current anchors of the affected tours are candidates to carry over: the same Step instance, or
+         // (e.g. reloaded) a Step of the same tour at the same persisted location
+         final Map<Step, Anchor> previousPerStep = new IdentityHashMap<>();
+         final Map<String, Deque<Anchor>> previousPerLocation = new HashMap<>();
+         for (List<Anchor> anchors : anchorsPerFile.values()) {
+            anchors.removeIf(anchor -> {
+               if (changedKey != null && !changedKey.equals(TourPlayback.getTourKey(anchor.ref().tour())))
+                  return false;
+               previousPerStep.put(anchor.ref().step(), anchor);
+               previousPerLocation.computeIfAbsent(locationKey(anchor.ref()), key -> new ArrayDeque<>()).add(anchor);
+               anchorsPerStep.remove(anchor.ref().step());
+               return true;
+            });
+         }
+         if (changedKey == null)
+            anchorsPerFile.keySet().retainAll(documents.keySet());
+
+         // Only the files that are already anchored are re-attached for a single tour (the others are attached,
+         // with all their Steps, once opened)
+         final Set<Anchor> reused = Collections.newSetFromMap(new IdentityHashMap<>());
+         for (Map.Entry<VirtualFile, Document> entry : documents.entrySet()) {
+            final List<Anchor> anchors = changedKey == null
+                  ? anchorsPerFile.computeIfAbsent(entry.getKey(), file -> new ArrayList<>())
+                  : anchorsPerFile.get(entry.getKey());
+            if (anchors == null) continue;
+
+            final Document document = entry.getValue();
+            for (StepFileIndex.StepRef ref :
+                  ToursState.getInstance(project).getFileIndex().getSteps(entry.getKey())) {
+               if (changedKey != null && !changedKey.equals(TourPlayback.getTourKey(ref.tour()))) continue;
+
+               final Anchor previous = findPrevious(previousPerStep, previousPerLocation, reused, ref, document);
+               if (previous != null) {
+                  reused.add(previous);
+                  addAnchor(anchors, new Anchor(ref, previous.marker()));
+                  continue;
+               }
+               final RangeMarker marker = createMarker(ref.step(), document);
+               if (marker != null)
+                  addAnchor(anchors, new Anchor(ref, marker));
+            }
+         }
+
+         // The anchors of the removed (or moved) Steps
+         previousPerStep.values().stream()
+               .filter(anchor -> !reused.contains(anchor))
+               .forEach(anchor -> anchor.marker().dispose());
+      }
+   }
+
+   private static @Nullable Anchor findPrevious(Map<Step, Anchor> previousPerStep,
+                                                Map<String, Deque<Anchor>> previousPerLocation, Set<Anchor> reused,
+                                                StepFileIndex.StepRef ref, Document document) {
+      final Anchor sameStep = previousPerStep.get(ref.step());
+      if (sameStep != null && !reused.contains(sameStep) && isReusable(sameStep, document)
+            && locationKey(sameStep.ref()).equals(locationKey(ref)))
+         return sameStep;
+
+      final Deque<Anchor> sameLocation = previousPerLocation.getOrDefault(locationKey(ref), new ArrayDeque<>());
+      for (Anchor anchor : sameLocation) {
+         if (!reused.contains(anchor) && isReusable(anchor, document))
+            return anchor;
+      }
+      return null;
+   }
+
+   private static boolean isReusable(Anchor anchor, Document document) {
+      return anchor.marker().isValid() && anchor.marker().getDocument() == document;
+   }
+
+   /**
+    * @return the persisted location of the given Step: its tour, file and lines
+    */
+   private static String locationKey(StepFileIndex.StepRef ref) {
+      final Step step = ref.step();
+      return String.format("%s|%s|%s|%s", TourPlayback.getTourKey(ref.tour()), step.getFile(), step.getLineNumber(),
+            step.getEndLineNumber());
+   }
+
+   private void addAnchor(List<Anchor> anchors, Anchor anchor) {
+      anchors.add(anchor);
+      anchorsPerStep.put(anchor.ref().step(), anchor);
+   }
+
+   private static @Nullable RangeMarker createMarker(Step step, Document document) {
+      final int line = step.getLineNumber();
+      if (line == Step.NO_LINE || line > document.getLineCount()) return null;
+
+      // The anchor spans the range of the Step (if any), so edits within the range shift its end line
+      final int endLine = Math.min(step.getEndLineNumber(), document.getLineCount());
+      return document.createRangeMarker(document.getLineStartOffset(line - 1),
+            document.getLineEndOffset(endLine - 1));
+   }
+
+   /**
+    * @return the current (1-based) line of the given Step, if anchored on an opened document
+    */
+   public synchronized Optional<Integer> getCurrentLine(@NotNull Step step) {
+      final Anchor anchor = anchorsPerStep.get(step);
+      return anchor != null && anchor.marker().isValid() ? Optional.of(anchor.currentLine()) : Optional.empty();
+   }
+
+   /**
+    * @return the current (1-based) end line of the range of the given Step, if anchored on an opened document
+    */
+   public synchronized Optional<Integer> getCurrentEndLine(@NotNull Step step) {
+      final Anchor anchor = anchorsPerStep.get(step);
+      return anchor != null && anchor.marker().isValid() ? Optional.of(anchor.currentEndLine()) : Optional.empty();
+   }
+
+   public synchronized boolean isAnchored(@NotNull VirtualFile file) {
+      return anchorsPerFile.containsKey(file);
+   }
+
+   /**
+    * @return the anchored Step at the given (1-based) line of the given file
+    */
+   public synchronized Optional<StepFileIndex.StepRef> findStep(@NotNull VirtualFile file, int line) {
+      return anchorsPerFile.getOrDefault(file, List.of()).stream()
+            .filter(anchor -> anchor.marker().isValid() && anchor.currentLine() == line)
+            .map(Anchor::ref)
+            .findFirst();
+   }
+
+   /**
+    * Writes the shifted lines of the Steps of the given document back to their tour files, in one batch
+    */
+   public void writeBack(@NotNull Document document) {
+      final VirtualFile file = FileDocumentManager.getInstance().getFile(document);
+      if (file == null) return;
+
+      final Map<Step, int[]> shifted = new IdentityHashMap<>(); // the current line and end line
+      final Set<Tour> tours = Collections.newSetFromMap(new IdentityHashMap<>());
+      synchronized (this) {
+         for (Anchor anchor : anchorsPerFile.getOrDefault(file, List.of())) {
+            final Step step = anchor.ref().step();
+            if (!anchor.marker().isValid()) continue;
+            if (anchor.currentLine() != step.getLineNumber()
+                  || (step.getEndLine() != null && anchor.currentEndLine() != step.getEndLineNumber())) {
+               shifted.put(step, new int[]{anchor.currentLine(), anchor.currentEndLine()});
+               tours.add(anchor.ref().tour());
+            }
+         }
+      }
+      if (shifted.isEmpty()) return;
+
+      LOG.info(String.format("Writing back %s shifted step line(s) of file %s%n", shifted.size(), file.getName()));
+      final ToursTransaction transaction = new StateManager(project).beginTransaction("Update Tour Step Lines");
+      tours.forEach(tour -> transaction.modify(tour, aTour -> aTour.getSteps().forEach(step -> {
+         if (!shifted.containsKey(step)) return;
+         step.setLine(shifted.get(step)[0]);
+         if (step.getEndLine() != null)
+            step.setEndLine(shifted.get(step)[1]);
+      })));
+      transaction.commit();
+   }
+
+   @Override
+   public synchronized void dispose() {
+      anchorsPerFile.values().forEach(anchors -> anchors.forEach(anchor -> anchor.marker().dispose()));
+      anchorsPerFile.clear();
+      anchorsPerStep.clear();
+   }
+
+   private record Anchor(StepFileIndex.StepRef ref, RangeMarker marker) {
+      int currentLine() {
+         return marker.getDocument().getLineNumber(marker.getStartOffset()) + 1;
+      }
+
+      int currentEndLine() {
+         return marker.getDocument().getLineNumber(marker.getEndOffset()) + 1;
+      }
+   }
+
+   /**
+    * Anchors the Steps of each newly opened editor, and releases them once the last editor of their file is closed
+    */
+   public static class EditorListener implements EditorFactoryListener {
+      @Override
+      public void editorCreated(@NotNull EditorFactoryEvent event) {
+         final Project project = event.getEditor().getProject();
+         final Document document = event.getEditor().getDocument();
+         final VirtualFile file = FileDocumentManager.getInstance().getFile(document);
+         if (project == null || project.isDisposed() || file == null) return;
+
+         getInstance(project).attach(file, document);
+      }
+
+      @Override
+      public void editorReleased(@NotNull EditorFactoryEvent event) {
+         final Editor released = event.getEditor();
+         final Project project = released.getProject();
+         final Document document = released.getDocument();
+         final VirtualFile file = FileDocumentManager.getInstance().getFile(document);
+         if (project == null || project.isDisposed() || file == null) return;
+
+         // Unsaved shifts are still needed for the write back on save
+         if (FileDocumentManager.getInstance().isDocumentUnsaved(document)) return;
+         final boolean hasOtherEditors = Arrays.stream(EditorFactory.getInstance().getEditors(document, project))
+               .anyMatch(editor -> editor != released);
+         if (!hasOtherEditors)
+            getInstance(project).detach(file);
+      }
+   }
+
+   /**
+    * Writes the shifted lines back to the tour files, when a document is saved (if enabled on User Settings)
+    */
+   public static class SaveListener implements FileDocumentManagerListener {
+      private final Project project;
+
+      public SaveListener(Project project) {
+         this.project = project;
+      }
+
+      @Override
+      public void beforeDocumentSaving(@NotNull Document document) {
+         if (!AppSettingsState.getInstance().isWriteBackStepLines()) return;
+
+         final StepAnchors anchors = getInstance(project);
+         final VirtualFile file = FileDocumentManager.getInstance().getFile(document);
+         if (file == null || !anchors.isAnchored(file)) return;
+
+         // Tour files should not be written in the middle of saving documents
+         ApplicationManager.getApplication().invokeLater(() -> anchors.writeBack(document), project.getDisposed());
+      }
+   }
+}
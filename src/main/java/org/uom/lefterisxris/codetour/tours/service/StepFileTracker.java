@@ -0,0 +1,286 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.command.CommandEvent;
+import com.intellij.openapi.command.CommandListener;
+import com.intellij.openapi.command.CommandProcessor;
+import com.intellij.openapi.command.undo.UndoManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileVisitor;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.refactoring.listeners.RefactoringEventData;
+import com.intellij.refactoring.listeners.RefactoringEventListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.state.StateManager;
+import org.uom.lefterisxris.codetour.tours.state.StepFileIndex;
+import org.uom.lefterisxris.codetour.tours.state.ToursState;
+import org.uom.lefterisxris.codetour.tours.state.ToursTransaction;
+import org.uom.lefterisxris.codetour.tours.state.TourUpdateNotifier;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Keeps the Steps pointing to their files when these are renamed or moved (also as part of a directory). The affected
+ * Steps are found through the reverse file index before the change, and their 'file'/'directory' are rewritten after
+ * it with a single transaction. During a refactoring, the transaction is committed when the refactoring is done, so it
+ * is undone along with it. Otherwise, it is committed right after, on the command group of the rename/move. A
+ * refactoring that aborts (so it is never reported as done) is closed when its command finishes
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class StepFileTracker {
+
+   private static final Logger LOG = Logger.getInstance(StepFileTracker.class);
+
+   private final Project project;
+   private final List<Relocation> pending = new ArrayList<>();
+   private Object pendingGroupId; // the command group of the change that the pending relocations follow up on
+   private int refactoringsInProgress = 0;
+
+   public StepFileTracker(Project project) {
+      this.project = project;
+   }
+
+   public static StepFileTracker getInstance(@NotNull Project project) {
+      return project.getService(StepFileTracker.class);
+   }
+
+   /**
+    * Collects the Steps of the given file (or of the files under the given directory), before it is renamed or moved
+    */
+   private synchronized void collect(@NotNull VirtualFile file) {
+      final StepFileIndex fileIndex = ToursState.getInstance(project).getFileIndex();
+      VfsUtilCore.visitChildrenRecursively(file, new VirtualFileVisitor<Void>() {
+         @Override
+         public boolean visitFile(@NotNull VirtualFile child) {
+            if (!child.isDirectory() && fileIndex.containsFileName(child.getName()))
+               fileIndex.getSteps(child).forEach(ref -> pending.add(new Relocation(ref, child)));
+            return true;
+         }
+      });
+   }
+
+   private void scheduleUpdate() {
+      synchronized (this) {
+         if (pending.isEmpty()) return;
+         // Undoing a refactoring restores the tour files as well
+         if (UndoManager.getInstance(project).isUndoOrRedoInProgress()) {
+            pending.clear();
+            return;
+         }
+         // Applied when the refactoring is done, as part of its command
+         if (refactoringsInProgress > 0) return;
+         if (pendingGroupId == null)
+            pendingGroupId = getCommandGroupId();
+      }
+      // Otherwise, applied later on (as tour files should not be written during VFS events), within the same command
+      // group as the rename/move, so that both are undone at once
+      ApplicationManager.getApplication().invokeLater(this::applyPending, project.getDisposed());
+   }
+
+   /**
+    * Closes the refactorings that were never reported as done (e.g. aborted by an exception), once their command has
+    * finished, and applies the relocations of the files that were moved until then
+    */
+   private void commandFinished(@Nullable Object groupId) {
+      synchronized (this) {
+         if (refactoringsInProgress == 0) return;
+         LOG.info(String.format("Closing %s unfinished refactoring(s)%n", refactoringsInProgress));
+         refactoringsInProgress = 0;
+         if (pending.isEmpty()) return;
+         if (pendingGroupId == null)
+            pendingGroupId = groupId;
+      }
+      // Not within the command anymore, but still on its group, so that it is undone along with the changed files
+      ApplicationManager.getApplication().invokeLater(this::applyPending, project.getDisposed());
+   }
+
+   /**
+    * @return the group of the current command (assigning one if needed), or null if not within a command
+    */
+   private static @Nullable Object getCommandGroupId() {
+      if (!ApplicationManager.getApplication().isDispatchThread()) return null;
+
+      final CommandProcessor commandProcessor = CommandProcessor.getInstance();
+      if (commandProcessor.getCurrentCommand() == null) return null;
+      Object groupId = commandProcessor.getCurrentCommandGroupId();
+      if (groupId == null) {
+         groupId = new Object();
+         commandProcessor.setCurrentCommandGroupId(groupId);
+      }
+      return groupId;
+   }
+
+   private void applyPending() {
+      final List<Relocation> relocations;
+      final Object groupId;
+      synchronized (this) {
+         relocations = new ArrayList<>(pending);
+         groupId = pendingGroupId;
+         pending.clear();
+         pendingGroupId = null;
+      }
+      if (relocations.isEmpty()) return;
+
+      final VirtualFile baseDir = ProjectUtil.guessProjectDir(project);
+      final Map<Tour, List<Relocation>> relocationsPerTour = new IdentityHashMap<>();
+      relocations.stream()
+            .filter(relocation -> relocation.file().isValid())
+            .forEach(relocation -> relocationsPerTour
+                  .computeIfAbsent(relocation.ref().tour(), tour -> new ArrayList<>()).add(relocation));
+      if (relocationsPerTour.isEmpty()) return;
+
+      LOG.info(String.format("Updating %s step(s) of %s tour(s) after files were renamed or moved%n",
+            relocations.size(), relocationsPerTour.size()));
+      final ToursTransaction transaction = new StateManager(project).beginTransaction("Update Tours of Moved Files")
+            .withGroupId(groupId);
+      relocationsPerTour.forEach((tour, tourRelocations) -> transaction.modify(tour,
+            aTour -> tourRelocations.forEach(relocation -> relocate(relocation.step(), relocation.file(), baseDir))));
+      transaction.commit();
+      project.getMessageBus().syncPublisher(TourUpdateNotifier.TOPIC).tourUpdated(null);
+   }
+
+   /**
+    * Points the given Step to the (new) location of the given file. Steps with only a file name keep it that way,
+    * while Steps with a path get the path relative to the project
+    */
+   private static void relocate(@NotNull Step step, @NotNull VirtualFile file, @Nullable VirtualFile baseDir) {
+      if (step.getDirectory() == null && isFileName(step.getFile())) {
+         step.setFile(file.getName());
+         return;
+      }
+
+      final String relativePath = baseDir != null ? VfsUtilCore.getRelativePath(file, baseDir) : null;
+      if (relativePath == null) {
+         step.setFile(file.getName());
+         step.setDirectory(null);
+      } else if (step.getDirectory() != null) {
+         final String relativeDir = VfsUtilCore.getRelativePath(file.getParent(), baseDir);
+         step.setDirectory(relativeDir == null || relativeDir.isEmpty() ? null : relativeDir);
+         step.setFile(file.getName());
+      } else {
+         step.setFile(relativePath);
+      }
+   }
+
+   private static boolean isFileName(String file) {
+      try {
+         return Paths.get(file).getNameCount() == 1;
+      } catch (InvalidPathException e) {
+         // Not a valid path on this OS (e.g. written on another one), so only a plain name counts as a file name
+         return !file.contains("/") && !file.contains("\\");
+      }
+   }
+
+   /**
+    * A Step to point to the new location of its file (the file instance is kept on rename/move)
+    */
+   private record Relocation(StepFileIndex.StepRef ref, VirtualFile file) {
+      Step step() {
+         return ref.step();
+      }
+   }
+
+   /**
+    * Collects the Steps of the renamed/moved files before the change, and schedules their update after it
+    */
+   public static class VfsListener implements BulkFileListener {
+      private final Project project;
+
+      public VfsListener(Project project) {
+         this.project = project;
+      }
+
+      @Override
+      public void before(@NotNull List<? extends VFileEvent> events) {
+         if (project.isDisposed()) return;
+
+         final ProjectFileIndex projectFileIndex = ProjectFileIndex.getInstance(project);
+         for (VFileEvent event : events) {
+            final boolean renamed =
+                  event instanceof VFilePropertyChangeEvent propertyChange && propertyChange.isRename();
+            if (!renamed && !(event instanceof VFileMoveEvent)) continue;
+
+            final VirtualFile file = event.getFile();
+            if (file != null && projectFileIndex.isInContent(file))
+               getInstance(project).collect(file);
+         }
+      }
+
+      @Override
+      public void after(@NotNull List<? extends VFileEvent> events) {
+         if (!project.isDisposed())
+            getInstance(project).scheduleUpdate();
+      }
+   }
+
+   /**
+    * Applies the pending updates at the end of a refactoring, i.e. as part of the same (undoable) command
+    */
+   public static class RefactoringListener implements RefactoringEventListener {
+      private final Project project;
+
+      public RefactoringListener(Project project) {
+         this.project = project;
+      }
+
+      @Override
+      public void refactoringStarted(@NotNull String refactoringId, @Nullable RefactoringEventData beforeData) {
+         final StepFileTracker tracker = getInstance(project);
+         synchronized (tracker) {
+            tracker.refactoringsInProgress++;
+         }
+      }
+
+      @Override
+      public void refactoringDone(@NotNull String refactoringId, @Nullable RefactoringEventData afterData) {
+         final StepFileTracker tracker = getInstance(project);
+         synchronized (tracker) {
+            tracker.refactoringsInProgress = Math.max(0, tracker.refactoringsInProgress - 1);
+            if (tracker.refactoringsInProgress > 0) return;
+         }
+         tracker.applyPending();
+      }
+
+      @Override
+      public void conflictsDetected(@NotNull String refactoringId, @NotNull RefactoringEventData conflictsData) {
+      }
+
+      @Override
+      public void undoRefactoring(@NotNull String refactoringId) {
+      }
+   }
+
+   /**
+    * Makes sure that the refactorings are closed at the end of their command, even if they were not reported as done
+    */
+   public static class CommandFinishedListener implements CommandListener {
+      private final Project project;
+
+      public CommandFinishedListener(Project project) {
+         this.project = project;
+      }
+
+      @Override
+      public void commandFinished(@NotNull CommandEvent event) {
+         if (project.isDisposed()) return;
+         if (event.getProject() != null && event.getProject() != project) return;
+
+         getInstance(project).commandFinished(event.getCommandGroupId());
+      }
+   }
+}
@@ -0,0 +1,105 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.colors.EditorColors;
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.openapi.editor.event.EditorFactoryEvent;
+import com.intellij.openapi.editor.event.EditorFactoryListener;
+import com.intellij.openapi.editor.markup.HighlighterLayer;
+import com.intellij.openapi.editor.markup.HighlighterTargetArea;
+import com.intellij.openapi.editor.markup.RangeHighlighter;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Highlights the lines of the shown Step on its editor. Highlighters are pooled per editor: at most one per editor,
+ * reused while it still covers the same lines (e.g. showing the same Step again) and otherwise replaced, so stepping
+ * quickly through a Tour never accumulates highlighters. The highlighter of an editor is disposed along with it
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class StepHighlighter implements Disposable {
+
+   public static final TextAttributesKey STEP_RANGE =
+         TextAttributesKey.createTextAttributesKey("CODETOUR_STEP_RANGE", EditorColors.SEARCH_RESULT_ATTRIBUTES);
+
+   private final Map<Editor, Highlight> pool = new HashMap<>();
+
+   public static StepHighlighter getInstance(@NotNull Project project) {
+      return project.getService(StepHighlighter.class);
+   }
+
+   /**
+    * Highlights the given (1-based, inclusive) lines on the given editor, and removes the highlight of any other
+    * editor (only the shown Step is highlighted)
+    */
+   public synchronized void highlight(@NotNull Editor editor, int startLine, int endLine) {
+      final Document document = editor.getDocument();
+      if (document.getLineCount() == 0) return;
+      final int start = Math.min(Math.max(startLine, 1), document.getLineCount()) - 1;
+      final int end = Math.min(Math.max(endLine, startLine), document.getLineCount()) - 1;
+      final int startOffset = document.getLineStartOffset(start);
+      final int endOffset = document.getLineEndOffset(end);
+
+      pool.entrySet().removeIf(entry -> {
+         if (entry.getKey() == editor) return false;
+         entry.getValue().highlighter().dispose();
+         return true;
+      });
+
+      final Highlight pooled = pool.get(editor);
+      if (pooled != null && pooled.covers(startOffset, endOffset)) return;
+      if (pooled != null)
+         pooled.highlighter().dispose();
+
+      final RangeHighlighter highlighter = editor.getMarkupModel().addRangeHighlighter(STEP_RANGE, startOffset,
+            endOffset, HighlighterLayer.SELECTION - 1, HighlighterTargetArea.LINES_IN_RANGE);
+      pool.put(editor, new Highlight(highlighter));
+   }
+
+   /**
+    * Removes the highlight of all editors (e.g. when a Step without a location is shown)
+    */
+   public synchronized void clear() {
+      pool.values().forEach(highlight -> highlight.highlighter().dispose());
+      pool.clear();
+   }
+
+   private synchronized void release(@NotNull Editor editor) {
+      final Highlight highlight = pool.remove(editor);
+      if (highlight != null)
+         highlight.highlighter().dispose();
+   }
+
+   @Override
+   public void dispose() {
+      clear();
+   }
+
+   private record Highlight(RangeHighlighter highlighter) {
+      boolean covers(int startOffset, int endOffset) {
+         return highlighter.isValid()
+               && highlighter.getStartOffset() == startOffset
+               && highlighter.getEndOffset() == endOffset;
+      }
+   }
+
+   /**
+    * Drops the pooled highlighter of each released editor
+    */
+   public static class EditorListener implements EditorFactoryListener {
+      @Override
+      public void editorReleased(@NotNull EditorFactoryEvent event) {
+         final Project project = event.getEditor().getProject();
+         if (project == null || project.isDisposed()) return;
+
+         getInstance(project).release(event.getEditor());
+      }
+   }
+}
@@ -0,0 +1,49 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * The rules that match a file with a Step. Plain Java (i.e. no IDE dependencies), so they are shared with the
+ * command-line validator
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class StepMatcher {
+
+   /**
+    * @param filePath The path of a (regular) file
+    * @param step     The Step to match
+    * @return whether the given file is the one that the Step references (i.e. by its file and directory)
+    */
+   public static boolean matches(@NotNull String filePath, @NotNull Step step) {
+      if (step.getFile() == null) return false;
+
+      final String stepDirectory = step.getDirectory() != null ? step.getDirectory() : "";
+      try {
+         final String stepFilePath = Paths.get(stepDirectory, step.getFile()).toString();
+         return Paths.get(filePath).toString().endsWith(stepFilePath);
+      } catch (InvalidPathException e) {
+         return false;
+      }
+   }
+
+   /**
+    * @return the name of the given file path of a Step, or empty if it is not a valid path on this OS (e.g. one written
+    * on another OS), so that an invalid Step is reported rather than failing its whole Tour
+    */
+   public static Optional<String> getFileName(@NotNull String file) {
+      try {
+         final Path fileName = Paths.get(file).getFileName();
+         return fileName != null ? Optional.of(fileName.toString()) : Optional.empty();
+      } catch (InvalidPathException e) {
+         return Optional.empty();
+      }
+   }
+}
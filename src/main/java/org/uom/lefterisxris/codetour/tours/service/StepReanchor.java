@@ -0,0 +1,301 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import com.intellij.execution.ExecutionException;
+import com.intellij.execution.configurations.GeneralCommandLine;
+import com.intellij.execution.process.ProcessOutput;
+import com.intellij.execution.util.ExecUtil;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.state.StateManager;
+import org.uom.lefterisxris.codetour.tours.state.ToursTransaction;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Re-anchors the Steps of the Tours after the code has changed (e.g. after a rebase or a pull), using the local git
+ * history only. For each tour, the line mappings between the commit that its Steps were valid at (its
+ * <code>anchorCommit</code>, or otherwise the last commit of its tour file) and HEAD are computed, only for the files
+ * that its Steps reference, in parallel. The shifted lines are then written in one batch, to the current instances of
+ * the tours (which may have been reloaded meanwhile), skipping any Step that has been changed meanwhile
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class StepReanchor {
+
+   private static final Logger LOG = Logger.getInstance(StepReanchor.class);
+   private static final int PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+   private final Project project;
+   private final StateManager stateManager;
+
+   public StepReanchor(@NotNull Project project) {
+      this.project = project;
+      this.stateManager = new StateManager(project);
+   }
+
+   /**
+    * Computes (in the calling, background, thread) the new lines of the Steps of the given tours
+    *
+    * @return the plan to apply, or empty if this project is not a git repository
+    */
+   public Optional<Plan> computePlan(@NotNull List<Tour> tours, @NotNull ProgressIndicator indicator) {
+      final Optional<Path> gitRoot = git(Paths.get(Objects.requireNonNull(project.getBasePath())),
+            "rev-parse", "--show-toplevel").map(output -> Paths.get(output.trim()));
+      if (gitRoot.isEmpty()) return Optional.empty();
+
+      final Optional<String> head = git(gitRoot.get(), "rev-parse", "HEAD").map(String::trim);
+      if (head.isEmpty()) return Optional.empty();
+
+      // The files (relative to the git root) referenced by the Steps of each anchor commit
+      final Map<Tour, String> baseCommits = new IdentityHashMap<>();
+      final Map<Step, String> stepPaths = new IdentityHashMap<>();
+      final Map<String, Set<String>> pathsPerCommit = new HashMap<>();
+      for (Tour tour : tours) {
+         indicator.checkCanceled();
+         final Optional<String> baseCommit = baseCommit(gitRoot.get(), tour);
+         if (baseCommit.isEmpty() || baseCommit.get().equals(head.get()) || tour.getSteps() == null) continue;
+
+         baseCommits.put(tour, baseCommit.get());
+         for (Step step : tour.getSteps()) {
+            if (step.getFile() == null || step.getLineNumber() == Step.NO_LINE) continue;
+            resolvePath(gitRoot.get(), step).ifPresent(path -> {
+               stepPaths.put(step, path);
+               pathsPerCommit.computeIfAbsent(baseCommit.get(), commit -> new HashSet<>()).add(path);
+            });
+         }
+      }
+
+      final Plan plan = new Plan(head.get());
+      final Map<String, LineMapping> mappings =
+            computeMappings(gitRoot.get(), head.get(), pathsPerCommit, plan.failedFiles, indicator);
+
+      baseCommits.forEach((tour, baseCommit) -> {
+         final List<ShiftedStep> shifted = new ArrayList<>();
+         boolean failed = false;
+         for (int i = 0; i < tour.getSteps().size(); i++) {
+            final Step step = tour.getSteps().get(i);
+            final String path = stepPaths.get(step);
+            if (path == null) continue;
+            final LineMapping mapping = mappings.get(key(baseCommit, path));
+            if (mapping == null) {
+               failed = true; // its diff failed
+               continue;
+            }
+            if (mapping.isIdentity()) continue;
+
+            final int newLine = mapping.map(step.getLineNumber());
+            if (newLine != step.getLineNumber())
+               shifted.add(new ShiftedStep(i, step.getFile(), step.getLineNumber(), newLine));
+         }
+         // A tour with failed files is not anchored on HEAD, so that it can be re-anchored again
+         plan.shiftedLines.put(TourPlayback.getTourKey(tour), new TourShift(shifted, !failed));
+      });
+      return Optional.of(plan);
+   }
+
+   /**
+    * Runs one <code>git diff</code> per (commit, file), in parallel. A renamed file is diffed against its old path,
+    * while an added file is {@link LineMapping#UNMAPPED}. The files whose diff failed are added to the given list,
+    * without a mapping
+    */
+   private Map<String, LineMapping> computeMappings(Path gitRoot, String head, Map<String, Set<String>> pathsPerCommit,
+                                                    List<String> failedFiles, ProgressIndicator indicator) {
+      final Map<String, Callable<LineMapping>> tasks = new LinkedHashMap<>();
+      pathsPerCommit.forEach((commit, paths) -> {
+         indicator.checkCanceled();
+         // Renames are detected among all the changed files, so the old paths are outside the paths of the Steps
+         final LineMapping.FileChanges changes =
+               git(gitRoot, "diff", "--name-status", "-z", "-M", "--no-color", commit, head)
+                     .map(LineMapping::parseNameStatus)
+                     .orElseGet(() -> new LineMapping.FileChanges(Map.of(), Set.of()));
+         paths.forEach(path -> tasks.put(key(commit, path), () -> {
+            final Optional<String> oldPath = changes.oldPath(path);
+            if (oldPath.isEmpty()) return LineMapping.UNMAPPED;
+
+            final Optional<String> diff = oldPath.get().equals(path)
+                  ? git(gitRoot, "diff", "-U0", "--no-color", "--no-ext-diff", commit, head, "--", path)
+                  : git(gitRoot, "diff", "-U0", "--no-color", "--no-ext-diff",
+                  commit + ":" + oldPath.get(), head + ":" + path);
+            return diff.map(LineMapping::parse)
+                  .orElseThrow(() -> new IllegalStateException("git diff failed for " + path));
+         }));
+      });
+
+      final ExecutorService executor =
+            AppExecutorUtil.createBoundedApplicationPoolExecutor("CodeTour Step Re-anchoring", PARALLELISM);
+      final Map<String, Future<LineMapping>> futures = new LinkedHashMap<>();
+      tasks.forEach((key, task) -> futures.put(key, executor.submit(task)));
+      executor.shutdown();
+
+      final Map<String, LineMapping> mappings = new HashMap<>();
+      int done = 0;
+      try {
+         for (Map.Entry<String, Future<LineMapping>> entry : futures.entrySet()) {
+            indicator.checkCanceled();
+            indicator.setFraction((double)done++ / futures.size());
+            try {
+               mappings.put(entry.getKey(), entry.getValue().get());
+            } catch (java.util.concurrent.ExecutionException e) {
+               LOG.warn("Failed to compute the line mapping of " + entry.getKey(), e.getCause());
+               failedFiles.add(entry.getKey());
+            }
+         }
+      } catch (ProcessCanceledException e) {
+         futures.values().forEach(future -> future.cancel(true));
+         throw e;
+      } catch (InterruptedException e) {
+         futures.values().forEach(future -> future.cancel(true));
+         Thread.currentThread().interrupt();
+         throw new ProcessCanceledException(e);
+      }
+      return mappings;
+   }
+
+   /**
+    * The commit that the Steps of the given tour are valid at: its anchor commit, or the last commit of its tour file
+    */
+   private Optional<String> baseCommit(Path gitRoot, Tour tour) {
+      if (tour.getAnchorCommit() != null)
+         return Optional.of(tour.getAnchorCommit());
+
+      return ReadAction.compute(() -> stateManager.findTourFile(tour))
+            .flatMap(file -> git(gitRoot, "log", "-1", "--format=%H", "--", file.getPath()))
+            .map(String::trim)
+            .filter(commit -> !commit.isEmpty());
+   }
+
+   private Optional<String> resolvePath(Path gitRoot, Step step) {
+      final Optional<String> fileName = StepMatcher.getFileName(step.getFile());
+      if (fileName.isEmpty()) return Optional.empty();
+      final List<VirtualFile> files = ReadAction.compute(() ->
+            FilenameIndex.getVirtualFilesByName(fileName.get(), GlobalSearchScope.projectScope(project)).stream()
+                  .filter(file -> Utils.isFileMatchesStep(file, step))
+                  .toList());
+      // Ambiguous Steps are left as they are
+      if (files.size() != 1) return Optional.empty();
+
+      final Path path = Paths.get(files.get(0).getPath());
+      return path.startsWith(gitRoot)
+            ? Optional.of(gitRoot.relativize(path).toString().replace('\\', '/'))
+            : Optional.empty();
+   }
+
+   private static Optional<String> git(Path workDir, String... parameters) {
+      final GeneralCommandLine commandLine = new GeneralCommandLine("git")
+            .withParameters(parameters)
+            .withWorkDirectory(workDir.toFile())
+            .withCharset(StandardCharsets.UTF_8);
+      try {
+         final ProcessOutput output = ExecUtil.execAndGetOutput(commandLine);
+         if (output.getExitCode() != 0) {
+            LOG.info(String.format("git %s failed: %s", String.join(" ", parameters), output.getStderr()));
+            return Optional.empty();
+         }
+         return Optional.of(output.getStdout());
+      } catch (ExecutionException e) {
+         LOG.warn("Failed to run git", e);
+         return Optional.empty();
+      }
+   }
+
+   private static String key(String commit, String path) {
+      return commit + ":" + path;
+   }
+
+   /**
+    * A Step to shift: its index and its (persisted) location when the plan was computed
+    */
+   private record ShiftedStep(int index, String file, int line, int newLine) {
+      boolean isUnchangedIn(Tour tour) {
+         if (index >= tour.getSteps().size()) return false;
+         final Step step = tour.getSteps().get(index);
+         return Objects.equals(step.getFile(), file) && step.getLineNumber() == line;
+      }
+   }
+
+   /**
+    * The Steps of a tour to shift, and whether the tour should be anchored on HEAD (i.e. all its files are mapped)
+    */
+   private record TourShift(List<ShiftedStep> steps, boolean anchor) {}
+
+   /**
+    * The computed new lines of the Steps, per tour (by its key, as tours may be reloaded until the plan is applied)
+    */
+   public class Plan {
+      private final String head;
+      private final Map<String, TourShift> shiftedLines = new LinkedHashMap<>();
+      private final List<String> failedFiles = Collections.synchronizedList(new ArrayList<>());
+      private int appliedSteps = 0;
+      private int appliedTours = 0;
+
+      private Plan(String head) {
+         this.head = head;
+      }
+
+      /**
+       * @return the number of the Steps shifted by {@link #apply()}
+       */
+      public int getShiftedStepsCount() {
+         return appliedSteps;
+      }
+
+      /**
+       * @return the number of the tours with Steps shifted by {@link #apply()}
+       */
+      public int getToursCount() {
+         return appliedTours;
+      }
+
+      /**
+       * @return the (commit:path) files whose line mapping could not be computed, so their Steps are left as they are
+       */
+      public List<String> getFailedFiles() {
+         return new ArrayList<>(failedFiles);
+      }
+
+      /**
+       * Applies the new lines and anchors the tours on HEAD, with a single (undoable) write per tour file.
+       * Must run on EDT
+       */
+      public void apply() {
+         final Map<String, Tour> tours = stateManager.getTours().stream()
+               .collect(Collectors.toMap(TourPlayback::getTourKey, tour -> tour, (first, second) -> first));
+         final ToursTransaction transaction = stateManager.beginTransaction("Re-anchor Tour Steps");
+         shiftedLines.forEach((tourKey, shift) -> {
+            final Tour tour = tours.get(tourKey);
+            if (tour == null) return; // deleted meanwhile
+            final List<ShiftedStep> steps = shift.steps().stream().filter(step -> step.isUnchangedIn(tour)).toList();
+            if (steps.isEmpty() && !shift.anchor()) return;
+
+            appliedSteps += steps.size();
+            if (!steps.isEmpty())
+               appliedTours++;
+            transaction.modify(tour, aTour -> {
+               steps.forEach(step -> aTour.getSteps().get(step.index()).setLine(step.newLine()));
+               if (shift.anchor())
+                  aTour.setAnchorCommit(head);
+            });
+         });
+         if (!transaction.isEmpty())
+            transaction.commit();
+      }
+   }
+}
@@ -18,7 +18,6 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.Optional;
 
-import static org.uom.lefterisxris.codetour.tours.service.Utils.renderFullDoc;
 
 /**
  * Renders a Popup which includes the Step Documentation
@@ -64,14 +63,21 @@ public class StepRenderer extends DialogWrapper {
 
    private JComponent getComponent() {
 
-      final String stepDoc = renderFullDoc(
-            StateManager.getStepMetaLabel(step.getTitle()).orElse("Step " + step.getTitle()),
-            step.getDescription(),
-            step.getFile() != null ? String.format("%s:%s", step.getFile(), step.getLine()) : "");
+      // The code around the Step's line is appended as is (i.e. already highlighted html). If not cached, it is
+      // rendered in the background and appended once ready
+      final String doc = TourChain.getInstance(project).renderStepDoc(step);
+      final StepSnippets snippets = StepSnippets.getInstance(project);
+      final Optional<String> snippet = snippets.getCachedSnippetHtml(step);
 
       final DocumentationManager documentationManager = DocumentationManager.getInstance(project);
       final DocumentationComponent component = new DocumentationComponent(documentationManager);
-      component.setData(null, stepDoc, null, null, null);
+      component.setData(null, doc + snippet.orElse(""), null, null, null);
+      if (snippet.isEmpty()) {
+         snippets.computeSnippetHtml(step, html -> {
+            if (!isDisposed())
+               component.setData(null, doc + html, null, null, null);
+         });
+      }
 
       return component;
    }
@@ -102,7 +108,7 @@ public class StepRenderer extends DialogWrapper {
          @Override
          public void mouseReleased(MouseEvent e) {
             if (!navigationButtons) return;
-            StateManager.getNextStep().ifPresent(step -> {
+            StateManager.getNextStep().or(() -> new StateManager(project).continueWithNextTour()).ifPresent(step -> {
                // Notify UI to select the step which will trigger its navigation
                project.getMessageBus().syncPublisher(StepSelectionNotifier.TOPIC).selectStep(step);
             });
@@ -113,7 +119,7 @@ public class StepRenderer extends DialogWrapper {
 
       // Buttons should be disabled properly (e.g. for preview mode)
       previousStepButton.setEnabled(StateManager.hasPrevStep());
-      nextStepButton.setEnabled(StateManager.hasNextStep());
+      nextStepButton.setEnabled(StateManager.hasNextStep() || new StateManager(project).hasNextTour());
 
       dialogPanel.add(buttons, BorderLayout.SOUTH);
       dialogPanel.setPreferredSize(new Dimension(320, 160));
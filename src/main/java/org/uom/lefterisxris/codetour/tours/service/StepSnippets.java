@@ -0,0 +1,207 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import com.intellij.lang.Language;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.colors.EditorColors;
+import com.intellij.openapi.editor.colors.EditorColorsManager;
+import com.intellij.openapi.editor.colors.EditorColorsScheme;
+import com.intellij.openapi.editor.richcopy.HtmlSyntaxInfoUtil;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileTypes.LanguageFileType;
+import com.intellij.openapi.fileTypes.PlainTextLanguage;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.ui.ColorUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+
+import java.awt.Color;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Code snippets (with editor highlighting) around the line of a Step, for the Step popup and the tree tooltips.
+ * Rendered snippets are cached per (file, modification stamp, line range) with LRU eviction, so showing a Step again
+ * neither re-reads nor re-lexes anything. Only the lines of the snippet are lexed, never the whole file.
+ * The files of the Steps are resolved (through the index) and rendered in the background. The UI only looks up the
+ * cache, which needs neither the index nor the document of the file
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class StepSnippets {
+
+   private static final int CONTEXT_LINES = 4;
+   private static final int MAX_CACHED_SNIPPETS = 256;
+
+   private final Project project;
+   private final Map<String, VirtualFile> resolvedFiles = new HashMap<>(); // Step location -> file
+   private final Map<Key, String> cache = new LinkedHashMap<>(MAX_CACHED_SNIPPETS, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+         return size() > MAX_CACHED_SNIPPETS;
+      }
+   };
+
+   public StepSnippets(Project project) {
+      this.project = project;
+   }
+
+   public static StepSnippets getInstance(@NotNull Project project) {
+      return project.getService(StepSnippets.class);
+   }
+
+   /**
+    * @return the already rendered snippet of the given Step, if cached. Safe on the EDT: neither the index nor the
+    * document of the file is accessed
+    */
+   public Optional<String> getCachedSnippetHtml(@NotNull Step step) {
+      if (step.getFile() == null || step.getLineNumber() == Step.NO_LINE) return Optional.empty();
+
+      final VirtualFile file;
+      synchronized (cache) {
+         file = resolvedFiles.get(locationKey(step));
+      }
+      if (file == null || !file.isValid()) return Optional.empty();
+
+      synchronized (cache) {
+         return Optional.ofNullable(cache.get(keyOf(step, file)));
+      }
+   }
+
+   /**
+    * Renders the snippet of the given Step in the background (once indexing is over), and hands it to the given
+    * consumer on the EDT
+    */
+   public void computeSnippetHtml(@NotNull Step step, @NotNull Consumer<String> onRendered) {
+      if (step.getFile() == null || step.getLineNumber() == Step.NO_LINE) return;
+
+      ReadAction.nonBlocking(() -> getSnippetHtml(step).orElse(null))
+            .inSmartMode(project)
+            .expireWith(project)
+            .finishOnUiThread(ModalityState.any(), html -> {
+               if (html != null)
+                  onRendered.accept(html);
+            })
+            .submit(Rendering.EXECUTOR);
+   }
+
+   /**
+    * @return the highlighted snippet (html) around the line of the given Step, if its file can be resolved.
+    * It may access the index and load the file, so it should not be called on the EDT. Empty while indexing
+    */
+   public Optional<String> getSnippetHtml(@NotNull Step step) {
+      if (step.getFile() == null || step.getLineNumber() == Step.NO_LINE) return Optional.empty();
+
+      final Optional<String> cached = getCachedSnippetHtml(step);
+      if (cached.isPresent()) return cached;
+      if (DumbService.isDumb(project)) return Optional.empty();
+
+      try {
+         return ReadAction.compute(() -> resolve(step).flatMap(file -> {
+            final Key key = keyOf(step, file);
+            final Document document = FileDocumentManager.getInstance().getDocument(file);
+            if (document == null || key.line() > document.getLineCount()) return Optional.empty();
+
+            final int lastLine = Math.min(document.getLineCount(), key.line() + CONTEXT_LINES);
+            final String html = render(file, document, Math.max(1, key.line() - CONTEXT_LINES), key.line(), lastLine);
+            synchronized (cache) {
+               cache.put(keyOf(step, file), html); // the document may have been loaded just now
+            }
+            return Optional.of(html);
+         }));
+      } catch (IndexNotReadyException e) {
+         return Optional.empty();
+      }
+   }
+
+   /**
+    * The key of the snippet of the given Step: the current line of the Step (opened documents may have shifted it,
+    * see StepAnchors) and the stamp of the content, of the loaded document if any (which may be unsaved) or of the
+    * file otherwise
+    */
+   private Key keyOf(Step step, VirtualFile file) {
+      final int line = StepAnchors.getInstance(project).getCurrentLine(step).orElse(step.getLineNumber());
+      final Document document = FileDocumentManager.getInstance().getCachedDocument(file);
+      return new Key(file, document != null ? document.getModificationStamp() : file.getModificationStamp(), line);
+   }
+
+   private String render(VirtualFile file, Document document, int firstLine, int line, int lastLine) {
+      final Language language = file.getFileType() instanceof LanguageFileType languageFileType
+            ? languageFileType.getLanguage()
+            : PlainTextLanguage.INSTANCE;
+      final EditorColorsScheme scheme = EditorColorsManager.getInstance().getGlobalScheme();
+      final String background = ColorUtil.toHtmlColor(scheme.getDefaultBackground());
+      final Color caretRowColor = scheme.getColor(EditorColors.CARET_ROW_COLOR);
+      final String stepLineBackground = ColorUtil.toHtmlColor(
+            caretRowColor != null ? caretRowColor : scheme.getDefaultBackground().darker());
+
+      final StringBuilder sb = new StringBuilder();
+      sb.append("<div style=\"background-color:").append(background).append(";\"><pre>");
+      appendLines(sb, language, document, firstLine, line - 1);
+      sb.append("<span style=\"background-color:").append(stepLineBackground).append(";\">");
+      appendLines(sb, language, document, line, line);
+      sb.append("</span>");
+      appendLines(sb, language, document, line + 1, lastLine);
+      sb.append("</pre></div>");
+      return sb.toString();
+   }
+
+   /**
+    * Appends the given (1-based, inclusive) lines, highlighted by the lexer of the given language
+    */
+   private void appendLines(StringBuilder sb, Language language, Document document, int from, int to) {
+      if (from > to) return;
+
+      final String text = document.getText(
+            new TextRange(document.getLineStartOffset(from - 1), document.getLineEndOffset(to - 1)));
+      // Indents are kept, so that the (separately lexed) parts of the snippet stay aligned
+      HtmlSyntaxInfoUtil.appendHighlightedByLexerAndEncodedAsHtmlCodeSnippet(sb, project, language,
+            StringUtil.trimTrailing(text), false, 1.0f);
+      sb.append('\n');
+   }
+
+   private Optional<VirtualFile> resolve(Step step) {
+      final String locationKey = locationKey(step);
+      synchronized (cache) {
+         final VirtualFile resolved = resolvedFiles.get(locationKey);
+         if (resolved != null && resolved.isValid()) return Optional.of(resolved);
+      }
+
+      final Optional<String> fileName = StepMatcher.getFileName(step.getFile());
+      if (fileName.isEmpty()) return Optional.empty();
+      final List<VirtualFile> files = FilenameIndex
+            .getVirtualFilesByName(fileName.get(), GlobalSearchScope.projectScope(project)).stream()
+            .filter(file -> Utils.isFileMatchesStep(file, step))
+            .toList();
+      if (files.size() != 1) return Optional.empty();
+
+      synchronized (cache) {
+         if (resolvedFiles.size() >= MAX_CACHED_SNIPPETS)
+            resolvedFiles.clear();
+         resolvedFiles.put(locationKey, files.get(0));
+      }
+      return Optional.of(files.get(0));
+   }
+
+   private static String locationKey(Step step) {
+      return step.getDirectory() != null ? step.getDirectory() + "|" + step.getFile() : step.getFile();
+   }
+
+   private record Key(VirtualFile file, long modificationStamp, int line) {}
+
+   private static final class Rendering {
+      private static final ExecutorService EXECUTOR =
+            AppExecutorUtil.createBoundedApplicationPoolExecutor("CodeTour Step Snippets", 1);
+   }
+}
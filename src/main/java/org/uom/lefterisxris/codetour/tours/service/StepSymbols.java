@@ -0,0 +1,169 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import com.intellij.ide.actions.QualifiedNameProviderUtil;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.state.StepFileIndex;
+
+import java.util.*;
+
+/**
+ * Symbol anchors of the Steps, i.e. Steps that point to a fully qualified class, method or field name (in the format
+ * of 'Copy Reference', e.g. <code>com.example.Foo#bar</code>) instead of (or in addition to) a file and a line.
+ * Symbols are resolved through the qualified name providers of the installed languages (backed by their stub
+ * indices) and cached as {@link SmartPsiElementPointer}s, so they follow edits and file moves without re-resolving.
+ * Navigation, validation and the gutter markers share the same cache. Symbols that cannot be resolved are not
+ * looked up again until the PSI changes. The gutter markers never resolve: the qualified name of each element is
+ * looked up among the symbols of the Steps
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class StepSymbols {
+
+   private final Project project;
+   private final Map<String, SmartPsiElementPointer<PsiElement>> pointers = new HashMap<>(); // symbol -> element
+   private final Set<String> unresolved = new HashSet<>(); // the symbols that could not be resolved
+   private long unresolvedModificationCount = -1; // the PSI modification count that unresolved is valid for
+   private final Map<String, StepFileIndex.StepRef> stepsPerSymbol = new HashMap<>(); // the Steps with a symbol
+
+   public StepSymbols(Project project) {
+      this.project = project;
+   }
+
+   public static StepSymbols getInstance(@NotNull Project project) {
+      return project.getService(StepSymbols.class);
+   }
+
+   public synchronized void rebuild(@NotNull List<Tour> tours) {
+      stepsPerSymbol.clear();
+      pointers.clear();
+      unresolved.clear();
+      tours.forEach(this::add);
+   }
+
+   /**
+    * Re-registers the symbol Steps of the given tour
+    */
+   public synchronized void update(@NotNull Tour tour) {
+      stepsPerSymbol.values().removeIf(ref -> ref.tour() == tour);
+      add(tour);
+   }
+
+   /**
+    * @return the element that the symbol of the given Step points to. Empty while indexing, or if not resolvable
+    */
+   public Optional<PsiElement> resolve(@NotNull Step step) {
+      final String symbol = step.getSymbol();
+      if (symbol == null || symbol.isBlank()) return Optional.empty();
+
+      return ReadAction.compute(() -> {
+         final long modificationCount = PsiModificationTracker.getInstance(project).getModificationCount();
+         synchronized (this) {
+            final SmartPsiElementPointer<PsiElement> pointer = pointers.get(symbol);
+            final PsiElement cached = pointer != null ? pointer.getElement() : null;
+            if (cached != null && cached.isValid()) return Optional.of(cached);
+            pointers.remove(symbol);
+
+            if (unresolvedModificationCount != modificationCount) {
+               unresolved.clear();
+               unresolvedModificationCount = modificationCount;
+            }
+            if (unresolved.contains(symbol)) return Optional.empty();
+         }
+
+         if (DumbService.isDumb(project)) return Optional.empty();
+         final PsiElement element;
+         try {
+            element = QualifiedNameProviderUtil.qualifiedNameToElement(symbol.trim(), project);
+         } catch (IndexNotReadyException e) {
+            return Optional.empty();
+         }
+
+         synchronized (this) {
+            if (element == null || element.getContainingFile() == null) {
+               if (unresolvedModificationCount == modificationCount)
+                  unresolved.add(symbol);
+               return Optional.empty();
+            }
+            pointers.put(symbol, SmartPointerManager.createPointer(element));
+         }
+         return Optional.of(element);
+      });
+   }
+
+   /**
+    * @return the file and the (1-based) line of the resolved symbol of the given Step
+    */
+   public Optional<Location> getLocation(@NotNull Step step) {
+      return ReadAction.compute(() -> resolve(step).flatMap(element -> {
+         final PsiFile file = element.getContainingFile();
+         final Document document = PsiDocumentManager.getInstance(project).getDocument(file);
+         if (file.getVirtualFile() == null || document == null) return Optional.empty();
+         return Optional.of(new Location(file.getVirtualFile(), element.getTextOffset(),
+               document.getLineNumber(element.getTextOffset()) + 1));
+      }));
+   }
+
+   /**
+    * @return the Step whose symbol is the qualified name of the given element, if any. Nothing is resolved
+    */
+   public Optional<StepFileIndex.StepRef> findStep(@NotNull PsiElement element) {
+      synchronized (this) {
+         if (stepsPerSymbol.isEmpty()) return Optional.empty();
+      }
+      final String qualifiedName = QualifiedNameProviderUtil.getQualifiedName(element);
+      if (qualifiedName == null) return Optional.empty();
+
+      synchronized (this) {
+         return Optional.ofNullable(stepsPerSymbol.get(qualifiedName))
+               .or(() -> Optional.ofNullable(stepsPerSymbol.get(withoutParameters(qualifiedName))))
+               .filter(ref -> ref.stepIndex() < ref.tour().getSteps().size());
+      }
+   }
+
+   public synchronized boolean hasSymbolSteps() {
+      return !stepsPerSymbol.isEmpty();
+   }
+
+   private void add(Tour tour) {
+      if (tour.getSteps() == null) return;
+
+      for (int i = 0; i < tour.getSteps().size(); i++) {
+         final String symbol = tour.getSteps().get(i).getSymbol();
+         if (symbol == null || symbol.isBlank()) continue;
+
+         final StepFileIndex.StepRef ref = new StepFileIndex.StepRef(tour, i);
+         stepsPerSymbol.putIfAbsent(symbol.trim(), ref);
+         stepsPerSymbol.putIfAbsent(withoutParameters(symbol.trim()), ref);
+      }
+   }
+
+   /**
+    * @return the given qualified name without its (method) parameters, e.g. <code>com.example.Foo#bar</code> for
+    * <code>com.example.Foo#bar(int)</code>
+    */
+   private static String withoutParameters(String qualifiedName) {
+      final int parameters = qualifiedName.indexOf('(');
+      return parameters > 0 ? qualifiedName.substring(0, parameters) : qualifiedName;
+   }
+
+   /**
+    * @param offset The offset of the symbol in the file
+    * @param line   The 1-based line of the symbol
+    */
+   public record Location(VirtualFile file, int offset, int line) {}
+}
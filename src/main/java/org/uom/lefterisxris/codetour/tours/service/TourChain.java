@@ -0,0 +1,161 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.state.StateManager;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Chaining of Tours through their 'nextTour' (the title or the id of the Tour to continue with).
+ * While on the last Steps of a Tour, the next Tour is warmed in the background: the descriptions of its Steps are
+ * loaded and rendered, and their targets (symbols and code snippets) are resolved, so continuing into it is instant
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourChain {
+
+   private static final Logger LOG = Logger.getInstance(TourChain.class);
+   private static final int WARM_UP_STEPS = 3; // how many Steps before the end of a Tour its next Tour is warmed
+   private static final int MAX_RENDERED_DOCS = 64;
+
+   private final Project project;
+   private Tour lastWarmedTour; // the Tours of a chain are warmed once
+   private final Map<DocKey, String> renderedDocs = new LinkedHashMap<>(MAX_RENDERED_DOCS, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<DocKey, String> eldest) {
+         return size() > MAX_RENDERED_DOCS;
+      }
+   };
+
+   public TourChain(Project project) {
+      this.project = project;
+   }
+
+   public static TourChain getInstance(@NotNull Project project) {
+      return project.getService(TourChain.class);
+   }
+
+   /**
+    * @return the Tour to continue with after the given one, matched by id or (otherwise) by title
+    */
+   public static Optional<Tour> findNextTour(@NotNull List<Tour> tours, @NotNull Tour tour) {
+      final String next = tour.getNextTour();
+      if (next == null || next.isBlank()) return Optional.empty();
+
+      return tours.stream().filter(candidate -> next.equals(candidate.getId())).findFirst()
+            .or(() -> tours.stream().filter(candidate -> next.equals(candidate.getTitle())).findFirst());
+   }
+
+   /**
+    * @return the problems of the chains of the given Tours: missing next Tours and cycles (each reported once)
+    */
+   public static List<String> findChainProblems(@NotNull List<Tour> tours) {
+      final List<String> problems = new ArrayList<>();
+      final List<Set<Tour>> reportedCycles = new ArrayList<>();
+      for (Tour tour : tours) {
+         if (tour.getNextTour() == null || tour.getNextTour().isBlank()) continue;
+
+         if (findNextTour(tours, tour).isEmpty()) {
+            problems.add(String.format("Tour '%s' continues with the non existing Tour '%s'",
+                  tour.getTitle(), tour.getNextTour()));
+            continue;
+         }
+
+         // Follow the chain until it ends or reaches a Tour that has been visited already
+         final List<Tour> path = new ArrayList<>();
+         final Set<Tour> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+         Optional<Tour> current = Optional.of(tour);
+         while (current.isPresent() && visited.add(current.get())) {
+            path.add(current.get());
+            current = findNextTour(tours, current.get());
+         }
+         if (current.isEmpty()) continue;
+
+         // Tours use value-based equality, so the start of the cycle is looked up by identity
+         int cycleStart = 0;
+         while (path.get(cycleStart) != current.get())
+            cycleStart++;
+         final List<Tour> cycle = path.subList(cycleStart, path.size());
+         final Set<Tour> cycleTours = Collections.newSetFromMap(new IdentityHashMap<>());
+         cycleTours.addAll(cycle);
+         if (reportedCycles.stream().noneMatch(reported -> reported.equals(cycleTours))) {
+            reportedCycles.add(cycleTours);
+            problems.add(String.format("Tours are chained in a cycle: %s",
+                  cycle.stream().map(t -> "'" + t.getTitle() + "'").collect(Collectors.joining(" -> "))
+                        + " -> '" + cycle.get(0).getTitle() + "'"));
+         }
+      }
+      return problems;
+   }
+
+   /**
+    * To be called when a Step gets active. When close to the end of its Tour, the next Tour is warmed
+    */
+   public void onStepActivated(@NotNull Tour tour, int stepIndex) {
+      if (stepIndex < tour.getSteps().size() - WARM_UP_STEPS) return;
+
+      findNextTour(new StateManager(project).getTours(), tour).ifPresent(next -> {
+         synchronized (this) {
+            if (lastWarmedTour == next) return;
+            lastWarmedTour = next;
+         }
+         LOG.info(String.format("Warming up the next Tour '%s' of '%s'%n", next.getTitle(), tour.getTitle()));
+         WarmUp.EXECUTOR.execute(() -> warmUp(next));
+      });
+   }
+
+   private void warmUp(Tour tour) {
+      for (Step step : new ArrayList<>(tour.getSteps())) {
+         if (project.isDisposed()) return;
+
+         renderStepDoc(step);
+         if (DumbService.isDumb(project)) continue; // targets are resolved on demand later on
+         try {
+            StepSymbols.getInstance(project).resolve(step);
+            StepSnippets.getInstance(project).getSnippetHtml(step);
+         } catch (IndexNotReadyException e) {
+            LOG.debug("Indexing started while warming up Tour " + tour.getTitle());
+         }
+      }
+   }
+
+   /**
+    * @return the rendered (html) documentation of the given Step, without its code snippet. Cached per content
+    */
+   public String renderStepDoc(@NotNull Step step) {
+      final DocKey key = new DocKey(
+            StateManager.getStepMetaLabel(step.getTitle()).orElse("Step " + step.getTitle()),
+            step.getDescription(),
+            Utils.getStepReference(step));
+      synchronized (renderedDocs) {
+         final String cached = renderedDocs.get(key);
+         if (cached != null) return cached;
+      }
+
+      final String doc = Utils.renderFullDoc(key.title(), key.description(), key.file());
+      synchronized (renderedDocs) {
+         renderedDocs.put(key, doc);
+      }
+      return doc;
+   }
+
+   private record DocKey(String title, String description, String file) {}
+
+   /**
+    * Tours are warmed one at a time, off the EDT
+    */
+   private static final class WarmUp {
+      private static final ExecutorService EXECUTOR =
+            AppExecutorUtil.createBoundedApplicationPoolExecutor("CodeTour Warm Up", 1);
+   }
+}
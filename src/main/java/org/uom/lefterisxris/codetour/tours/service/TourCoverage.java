@@ -0,0 +1,244 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import com.intellij.ide.projectView.ProjectView;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Coverage of the codebase by the Tours: the number of Steps per directory (package), including its subdirectories.
+ * The Step files are resolved in the background (in smart mode) and the counts are updated incrementally per tour,
+ * so the Project View decorations only read the computed counts
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourCoverage {
+
+   private static final Logger LOG = Logger.getInstance(TourCoverage.class);
+
+   private final Project project;
+   private final Map<Tour, List<VirtualFile>> dirsPerTour = new IdentityHashMap<>(); // the directory of each Step
+   private final Map<Tour, Integer> unresolvedPerTour = new IdentityHashMap<>(); // missing or ambiguous files
+   private final Map<VirtualFile, Integer> directSteps = new HashMap<>();
+   private final Map<VirtualFile, Integer> totalSteps = new HashMap<>(); // including the subdirectories
+   private volatile boolean computed = false;
+
+   public TourCoverage(Project project) {
+      this.project = project;
+   }
+
+   public static TourCoverage getInstance(@NotNull Project project) {
+      return project.getService(TourCoverage.class);
+   }
+
+   public void rebuildAsync(@NotNull List<Tour> tours) {
+      final List<Tour> snapshot = new ArrayList<>(tours);
+      Updates.EXECUTOR.execute(() -> {
+         final Map<Tour, Resolution> resolutions = new IdentityHashMap<>();
+         snapshot.forEach(tour -> resolutions.put(tour, resolve(tour)));
+         synchronized (this) {
+            dirsPerTour.clear();
+            unresolvedPerTour.clear();
+            directSteps.clear();
+            totalSteps.clear();
+            resolutions.forEach(this::add);
+            computed = true;
+         }
+         refreshProjectView();
+      });
+   }
+
+   /**
+    * Re-computes the coverage of the given (changed) tour only
+    */
+   public void updateAsync(@NotNull Tour tour) {
+      Updates.EXECUTOR.execute(() -> {
+         final Resolution resolution = resolve(tour);
+         synchronized (this) {
+            remove(tour);
+            add(tour, resolution);
+         }
+         refreshProjectView();
+      });
+   }
+
+   public boolean isComputed() {
+      return computed;
+   }
+
+   /**
+    * @return the number of Steps in the given directory and its subdirectories
+    */
+   public synchronized int getStepsCount(@NotNull VirtualFile dir) {
+      return totalSteps.getOrDefault(dir, 0);
+   }
+
+   /**
+    * Computes the coverage of every directory of the project content, once any pending update is applied.
+    * To be called in the background
+    */
+   public Report computeReport() throws ExecutionException, InterruptedException {
+      return Updates.EXECUTOR.submit(() -> ReadAction.nonBlocking(this::createReport).executeSynchronously()).get();
+   }
+
+   private Report createReport() {
+      final VirtualFile baseDir = ProjectUtil.guessProjectDir(project);
+      final List<VirtualFile> dirs = new ArrayList<>();
+      ProjectFileIndex.getInstance(project).iterateContent(file -> {
+         if (file.isDirectory())
+            dirs.add(file);
+         return true;
+      });
+
+      synchronized (this) {
+         final Map<VirtualFile, Integer> toursCount = new HashMap<>();
+         dirsPerTour.values().forEach(tourDirs -> withAncestors(tourDirs)
+               .forEach(dir -> toursCount.merge(dir, 1, Integer::sum)));
+
+         final List<DirectoryCoverage> directories = dirs.stream()
+               .map(dir -> new DirectoryCoverage(toReportPath(baseDir, dir),
+                     directSteps.getOrDefault(dir, 0), totalSteps.getOrDefault(dir, 0),
+                     toursCount.getOrDefault(dir, 0)))
+               .sorted(Comparator.comparing(DirectoryCoverage::path))
+               .toList();
+         return new Report(directories, unresolvedPerTour.values().stream().mapToInt(Integer::intValue).sum());
+      }
+   }
+
+   private static String toReportPath(VirtualFile baseDir, VirtualFile dir) {
+      if (baseDir == null || !VfsUtilCore.isAncestor(baseDir, dir, false)) return dir.getPath();
+      return dir.equals(baseDir) ? "." : VfsUtilCore.getRelativePath(dir, baseDir);
+   }
+
+   private Resolution resolve(Tour tour) {
+      if (tour.getSteps() == null) return new Resolution(List.of(), 0);
+
+      // File index lookups need smart mode (waits for indexing to finish, if needed)
+      return DumbService.getInstance(project).runReadActionInSmartMode(() -> {
+         final GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+         final List<VirtualFile> dirs = new ArrayList<>();
+         int unresolved = 0;
+         for (Step step : tour.getSteps()) {
+            if (step.getFile() == null) continue;
+
+            final Optional<String> fileName = StepMatcher.getFileName(step.getFile());
+            if (fileName.isEmpty()) {
+               unresolved++;
+               continue;
+            }
+            final List<VirtualFile> files = FilenameIndex.getVirtualFilesByName(fileName.get(), scope).stream()
+                  .filter(file -> Utils.isFileMatchesStep(file, step))
+                  .toList();
+            if (files.size() == 1 && files.get(0).getParent() != null)
+               dirs.add(files.get(0).getParent());
+            else
+               unresolved++;
+         }
+         return new Resolution(dirs, unresolved);
+      });
+   }
+
+   private void add(Tour tour, Resolution resolution) {
+      dirsPerTour.put(tour, resolution.dirs());
+      unresolvedPerTour.put(tour, resolution.unresolved());
+      for (VirtualFile dir : resolution.dirs()) {
+         directSteps.merge(dir, 1, Integer::sum);
+         for (VirtualFile ancestor = dir; ancestor != null; ancestor = ancestor.getParent())
+            totalSteps.merge(ancestor, 1, Integer::sum);
+      }
+   }
+
+   private void remove(Tour tour) {
+      unresolvedPerTour.remove(tour);
+      final List<VirtualFile> dirs = dirsPerTour.remove(tour);
+      if (dirs == null) return;
+
+      for (VirtualFile dir : dirs) {
+         decrement(directSteps, dir);
+         for (VirtualFile ancestor = dir; ancestor != null; ancestor = ancestor.getParent())
+            decrement(totalSteps, ancestor);
+      }
+   }
+
+   private static void decrement(Map<VirtualFile, Integer> counts, VirtualFile dir) {
+      counts.computeIfPresent(dir, (key, count) -> count > 1 ? count - 1 : null);
+   }
+
+   private static Set<VirtualFile> withAncestors(List<VirtualFile> dirs) {
+      final Set<VirtualFile> all = new HashSet<>();
+      for (VirtualFile dir : dirs) {
+         VirtualFile ancestor = dir;
+         while (ancestor != null && all.add(ancestor))
+            ancestor = ancestor.getParent();
+      }
+      return all;
+   }
+
+   private void refreshProjectView() {
+      if (!AppSettingsState.getInstance().isShowToursCoverage()) return;
+
+      ApplicationManager.getApplication().invokeLater(() -> ProjectView.getInstance(project).refresh(),
+            project.getDisposed());
+   }
+
+   /**
+    * Coverage updates are applied in order, off the EDT
+    */
+   private static final class Updates {
+      private static final ExecutorService EXECUTOR =
+            AppExecutorUtil.createBoundedApplicationPoolExecutor("CodeTour Coverage", 1);
+   }
+
+   private record Resolution(List<VirtualFile> dirs, int unresolved) {}
+
+   /**
+    * @param path       The path of the directory, relative to the project (if inside it)
+    * @param steps      The Steps on the files of the directory itself
+    * @param totalSteps The Steps of the directory, including its subdirectories
+    * @param tours      The Tours with Steps in the directory (or its subdirectories)
+    */
+   public record DirectoryCoverage(String path, int steps, int totalSteps, int tours) {}
+
+   public record Report(List<DirectoryCoverage> directories, int unresolvedSteps) {
+
+      public long getUncoveredCount() {
+         return directories.stream().filter(directory -> directory.totalSteps() == 0).count();
+      }
+
+      /**
+       * Writes the report as CSV, one row per directory
+       */
+      public void writeCsv(@NotNull Path target) throws IOException {
+         try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            writer.write("directory,steps,total_steps,tours\n");
+            for (DirectoryCoverage directory : directories) {
+               writer.write(String.format("\"%s\",%s,%s,%s\n", directory.path().replace("\"", "\"\""),
+                     directory.steps(), directory.totalSteps(), directory.tours()));
+            }
+         }
+         LOG.info("Tours coverage report written to " + target);
+      }
+   }
+}
@@ -0,0 +1,448 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Props;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.state.TourSerializer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Exports tours into a static site (HTML or Markdown): an index page plus a page per tour, with the rendered
+ * descriptions and a code snippet around the line of each Step.
+ * <p>
+ * Tours are rendered in parallel on a fork-join pool, and each referenced source file is read once (memory mapped)
+ * no matter how many Steps reference it. Exports are incremental: a manifest in the output directory keeps the
+ * fingerprint (tour content and referenced source files) of each exported tour, so unchanged tours are not rebuilt.
+ * It works on plain files (no Project needed), so it also runs headless (see {@link ExportToursStarter})
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourExporter {
+
+   private static final Logger LOG = Logger.getInstance(TourExporter.class);
+   private static final String MANIFEST = ".codetour-export.json";
+   private static final String STYLESHEET = "style.css";
+   private static final int SNIPPET_CONTEXT_LINES = 5;
+   private static final Set<String> SKIPPED_DIRS = Set.of(".git", ".idea", ".gradle", "node_modules", "build");
+   private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+   public enum Format {
+      HTML("html"), MARKDOWN("md");
+
+      private final String extension;
+
+      Format(String extension) {
+         this.extension = extension;
+      }
+   }
+
+   private final Path root;
+   private final Path outputDir;
+   private final Format format;
+   // Each source file is read (mapped) and split into lines once, even if referenced by many Steps
+   private final Map<Path, Optional<Source>> sources = new ConcurrentHashMap<>();
+   private Map<String, List<Path>> filesPerName; // lazily built, for Steps with (only) a file name
+
+   public TourExporter(@NotNull Path root, @NotNull Path outputDir, @NotNull Format format) {
+      this.root = root.toAbsolutePath().normalize();
+      this.outputDir = outputDir.toAbsolutePath().normalize();
+      this.format = format;
+   }
+
+   /**
+    * @return the tour files of all the '.tours' directories under the given root
+    */
+   public static List<Path> findTourFiles(@NotNull Path root) throws IOException {
+      final List<Path> tourFiles = new ArrayList<>();
+      walk(root, file -> {
+         final Path parent = file.getParent();
+         if (file.getFileName().toString().endsWith(Props.TOUR_EXTENSION_FULL) && parent != null
+               && Props.TOURS_DIR.equals(String.valueOf(parent.getFileName())))
+            tourFiles.add(file);
+      });
+      return tourFiles;
+   }
+
+   /**
+    * Exports the given tour files, re-rendering only the tours that changed since the previous export
+    */
+   public Result export(@NotNull List<Path> tourFiles, int parallelism)
+         throws IOException, InterruptedException, ExecutionException {
+      Files.createDirectories(outputDir);
+      final Manifest previous = readManifest();
+      final boolean formatChanged = previous.format != format;
+
+      final ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+      final List<Exported> exported;
+      try {
+         exported = pool.submit(() -> tourFiles.parallelStream()
+               .map(tourFile -> exportTour(tourFile, formatChanged ? null : previous.fingerprints))
+               .filter(Objects::nonNull)
+               .sorted(Comparator.comparing(Exported::title, String.CASE_INSENSITIVE_ORDER))
+               .collect(Collectors.toList())).get();
+      } finally {
+         pool.shutdown();
+      }
+
+      // Pages of tours that no longer exist (or of the previous format) are removed
+      final Manifest manifest = new Manifest();
+      manifest.format = format;
+      exported.forEach(tour -> {
+         manifest.fingerprints.put(tour.id(), tour.fingerprint());
+         manifest.pages.put(tour.id(), tour.page());
+      });
+      final Collection<String> pages = manifest.pages.values();
+      int removed = 0;
+      for (String page : new HashSet<>(previous.pages.values())) {
+         if (!pages.contains(page) && Files.deleteIfExists(outputDir.resolve(page)))
+            removed++;
+      }
+
+      writeIndex(exported);
+      writeManifest(manifest);
+      final int rendered = (int)exported.stream().filter(Exported::rendered).count();
+      LOG.info(String.format("Exported %s tours into %s (%s rendered, %s removed)%n",
+            exported.size(), outputDir, rendered, removed));
+      return new Result(exported.size(), rendered, removed);
+   }
+
+   private Exported exportTour(Path tourFile, Map<String, String> previousFingerprints) {
+      try {
+         final String content = Files.readString(tourFile, StandardCharsets.UTF_8);
+         final Tour tour;
+         try (Reader reader = new StringReader(content)) {
+            tour = TourSerializer.read(reader);
+         }
+         if (tour == null) return null;
+
+         final String id = root.relativize(tourFile.toAbsolutePath().normalize()).toString().replace('\\', '/');
+         final String title = tour.getTitle() != null ? tour.getTitle() : tourFile.getFileName().toString();
+         final List<Step> steps = tour.getSteps() != null ? tour.getSteps() : List.of();
+         final List<Optional<Path>> stepFiles = steps.stream().map(this::resolve).toList();
+
+         final String page = pageName(id);
+         final String fingerprint = fingerprint(content, stepFiles);
+         final boolean unchanged = previousFingerprints != null && fingerprint.equals(previousFingerprints.get(id))
+               && Files.exists(outputDir.resolve(page));
+         if (!unchanged) {
+            try (Writer writer = Files.newBufferedWriter(outputDir.resolve(page), StandardCharsets.UTF_8)) {
+               writer.write(format == Format.HTML
+                     ? renderHtml(tour, title, steps, stepFiles)
+                     : renderMarkdown(tour, title, steps, stepFiles));
+            }
+         }
+         return new Exported(id, title, tour.getDescription(), steps.size(), page, fingerprint, !unchanged);
+      } catch (Exception e) {
+         LOG.warn("Skipping tour file (failed to export): " + tourFile, e);
+         return null;
+      }
+   }
+
+   private String renderHtml(Tour tour, String title, List<Step> steps, List<Optional<Path>> stepFiles) {
+      final StringBuilder sb = new StringBuilder();
+      htmlHeader(sb, title);
+      sb.append("<nav><a href=\"index.html\">All Tours</a></nav>\n");
+      sb.append("<h1>").append(escape(title)).append("</h1>\n");
+      if (tour.getDescription() != null)
+         sb.append("<div class=\"description\">").append(Utils.mdToHtml(tour.getDescription())).append("</div>\n");
+
+      sb.append("<ol class=\"steps\">\n");
+      for (int i = 0; i < steps.size(); i++) {
+         final Step step = steps.get(i);
+         sb.append("<li id=\"step-").append(i + 1).append("\">\n");
+         sb.append("<h2>").append(escape(step.getTitle())).append("</h2>\n");
+         if (step.getDescription() != null)
+            sb.append("<div class=\"description\">").append(Utils.mdToHtml(step.getDescription())).append("</div>\n");
+         if (step.getFile() != null)
+            sb.append("<div class=\"location\">").append(escape(location(step))).append("</div>\n");
+
+         snippet(step, stepFiles.get(i)).ifPresent(snippet -> {
+            sb.append("<pre class=\"snippet\"><code>");
+            for (int line = snippet.firstLine(); line <= snippet.lastLine(); line++) {
+               final boolean current = line == step.getLineNumber();
+               sb.append(current ? "<span class=\"line current\">" : "<span class=\"line\">")
+                     .append("<span class=\"line-number\">").append(line).append("</span>")
+                     .append(escape(snippet.line(line))).append("</span>\n");
+            }
+            sb.append("</code></pre>\n");
+         });
+         sb.append("</li>\n");
+      }
+      sb.append("</ol>\n</body>\n</html>\n");
+      return sb.toString();
+   }
+
+   private String renderMarkdown(Tour tour, String title, List<Step> steps, List<Optional<Path>> stepFiles) {
+      final StringBuilder sb = new StringBuilder();
+      sb.append("# ").append(title).append("\n\n");
+      if (tour.getDescription() != null)
+         sb.append(tour.getDescription()).append("\n\n");
+
+      for (int i = 0; i < steps.size(); i++) {
+         final Step step = steps.get(i);
+         sb.append("## ").append(i + 1).append(". ").append(step.getTitle()).append("\n\n");
+         if (step.getDescription() != null)
+            sb.append(step.getDescription()).append("\n\n");
+         if (step.getFile() != null)
+            sb.append('`').append(location(step)).append("`\n\n");
+
+         snippet(step, stepFiles.get(i)).ifPresent(snippet -> {
+            final String fileName = StepMatcher.getFileName(step.getFile()).orElse("");
+            final int dot = fileName.lastIndexOf('.');
+            sb.append("```").append(dot >= 0 ? fileName.substring(dot + 1) : "").append('\n');
+            for (int line = snippet.firstLine(); line <= snippet.lastLine(); line++)
+               sb.append(snippet.line(line)).append('\n');
+            sb.append("```\n\n");
+         });
+      }
+      sb.append("[All Tours](index.md)\n");
+      return sb.toString();
+   }
+
+   private void writeIndex(List<Exported> tours) throws IOException {
+      final StringBuilder sb = new StringBuilder();
+      if (format == Format.HTML) {
+         htmlHeader(sb, "Tours");
+         sb.append("<h1>Tours</h1>\n<ul class=\"tours\">\n");
+         for (Exported tour : tours) {
+            sb.append("<li><a href=\"").append(escape(tour.page())).append("\">").append(escape(tour.title()))
+                  .append("</a> <span class=\"steps-count\">(").append(tour.stepsCount()).append(" steps)</span>");
+            if (tour.description() != null)
+               sb.append("<div class=\"description\">").append(Utils.mdToHtml(tour.description())).append("</div>");
+            sb.append("</li>\n");
+         }
+         sb.append("</ul>\n</body>\n</html>\n");
+         Files.writeString(outputDir.resolve(STYLESHEET), STYLE, StandardCharsets.UTF_8);
+      } else {
+         sb.append("# Tours\n\n");
+         for (Exported tour : tours)
+            sb.append("- [").append(tour.title()).append("](").append(tour.page()).append(") (")
+                  .append(tour.stepsCount()).append(" steps)\n");
+      }
+      Files.writeString(outputDir.resolve("index." + format.extension), sb.toString(), StandardCharsets.UTF_8);
+      // The index of another format (of a previous export) is stale
+      for (Format other : Format.values()) {
+         if (other != format)
+            Files.deleteIfExists(outputDir.resolve("index." + other.extension));
+      }
+   }
+
+   private static void htmlHeader(StringBuilder sb, String title) {
+      sb.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n<title>").append(escape(title))
+            .append("</title>\n<link rel=\"stylesheet\" href=\"").append(STYLESHEET).append("\">\n</head>\n<body>\n");
+   }
+
+   /**
+    * The file of the given Step: relative to the root (and the Step's directory), or else the single file
+    * of the repository that matches it
+    */
+   private Optional<Path> resolve(Step step) {
+      if (step.getFile() == null) return Optional.empty();
+
+      final String directory = step.getDirectory() != null ? step.getDirectory() : "";
+      final Path direct = root.resolve(directory).resolve(step.getFile()).normalize();
+      if (Files.isRegularFile(direct)) return Optional.of(direct);
+
+      final Optional<String> fileName = StepMatcher.getFileName(step.getFile());
+      if (fileName.isEmpty()) return Optional.empty();
+      final List<Path> matches = getFilesPerName().getOrDefault(fileName.get(), List.of()).stream()
+            .filter(file -> StepMatcher.matches(file.toString(), step))
+            .toList();
+      return matches.size() == 1 ? Optional.of(matches.get(0)) : Optional.empty();
+   }
+
+   private synchronized Map<String, List<Path>> getFilesPerName() {
+      if (filesPerName == null) {
+         final Map<String, List<Path>> files = new HashMap<>();
+         try {
+            walk(root, file -> files.computeIfAbsent(file.getFileName().toString(), name -> new ArrayList<>(1))
+                  .add(file));
+         } catch (IOException e) {
+            LOG.warn("Failed to index the files of " + root, e);
+         }
+         filesPerName = files;
+      }
+      return filesPerName;
+   }
+
+   private Optional<Snippet> snippet(Step step, Optional<Path> file) {
+      final int line = step.getLineNumber();
+      if (line == Step.NO_LINE || file.isEmpty()) return Optional.empty();
+
+      return sources.computeIfAbsent(file.get(), TourExporter::readSource)
+            .filter(source -> line <= source.linesCount())
+            .map(source -> new Snippet(source, Math.max(1, line - SNIPPET_CONTEXT_LINES),
+                  Math.min(source.linesCount(), line + SNIPPET_CONTEXT_LINES)));
+   }
+
+   /**
+    * Maps the given file into memory and decodes it once, indexing the start of each line
+    */
+   private static Optional<Source> readSource(Path file) {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+         if (channel.size() > Integer.MAX_VALUE) return Optional.empty();
+
+         final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+         final CharBuffer text = StandardCharsets.UTF_8.newDecoder()
+               .onMalformedInput(CodingErrorAction.REPLACE)
+               .onUnmappableCharacter(CodingErrorAction.REPLACE)
+               .decode(buffer);
+
+         final List<Integer> lineStarts = new ArrayList<>();
+         lineStarts.add(0);
+         for (int i = 0; i < text.length(); i++) {
+            if (text.get(i) == '\n' && i + 1 < text.length())
+               lineStarts.add(i + 1);
+         }
+         return Optional.of(new Source(text, lineStarts.stream().mapToInt(Integer::intValue).toArray()));
+      } catch (IOException e) {
+         LOG.warn("Failed to read source file: " + file, e);
+         return Optional.empty();
+      }
+   }
+
+   private String fingerprint(String tourContent, List<Optional<Path>> stepFiles) throws IOException {
+      final StringBuilder sb = new StringBuilder(tourContent);
+      for (Path file : stepFiles.stream().flatMap(Optional::stream).distinct().toList()) {
+         final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+         sb.append('\n').append(file).append(':').append(attributes.size()).append(':')
+               .append(attributes.lastModifiedTime().toMillis());
+      }
+      try {
+         final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+         return HexFormat.of().formatHex(digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+      } catch (NoSuchAlgorithmException e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   private String pageName(String id) {
+      // e.g. '.tours/basket.tour' -> 'basket', 'payments/.tours/retry.tour' -> 'payments_retry'
+      final String name = id.replace(Props.TOURS_DIR + "/", "")
+            .replaceAll("\\" + Props.TOUR_EXTENSION_FULL + "$", "")
+            .replaceAll("[^\\w.-]+", "_");
+      return name + "." + format.extension;
+   }
+
+   private static String location(Step step) {
+      final String file = step.getDirectory() != null ? step.getDirectory() + "/" + step.getFile() : step.getFile();
+      return step.getLineNumber() != Step.NO_LINE ? file + ":" + step.getLineNumber() : file;
+   }
+
+   private static String escape(String value) {
+      if (value == null) return "";
+      return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+   }
+
+   private static void walk(Path root, Consumer<Path> visitor) throws IOException {
+      Files.walkFileTree(root, new SimpleFileVisitor<>() {
+         @Override
+         public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            return !dir.equals(root) && SKIPPED_DIRS.contains(String.valueOf(dir.getFileName()))
+                  ? FileVisitResult.SKIP_SUBTREE
+                  : FileVisitResult.CONTINUE;
+         }
+
+         @Override
+         public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            if (attrs.isRegularFile())
+               visitor.accept(file);
+            return FileVisitResult.CONTINUE;
+         }
+
+         @Override
+         public FileVisitResult visitFileFailed(Path file, IOException e) {
+            return FileVisitResult.CONTINUE;
+         }
+      });
+   }
+
+   private Manifest readManifest() {
+      final Path manifestFile = outputDir.resolve(MANIFEST);
+      if (!Files.exists(manifestFile)) return new Manifest();
+
+      try (Reader reader = Files.newBufferedReader(manifestFile, StandardCharsets.UTF_8)) {
+         final Manifest manifest = GSON.fromJson(reader, Manifest.class);
+         return manifest != null ? manifest : new Manifest();
+      } catch (Exception e) {
+         LOG.warn("Ignoring invalid export manifest (full export): " + manifestFile, e);
+         return new Manifest();
+      }
+   }
+
+   private void writeManifest(Manifest manifest) throws IOException {
+      try (Writer writer = Files.newBufferedWriter(outputDir.resolve(MANIFEST), StandardCharsets.UTF_8)) {
+         GSON.toJson(manifest, writer);
+      }
+   }
+
+   /**
+    * @param tours    The exported tours
+    * @param rendered The tours that were (re-)rendered, i.e. new or changed
+    * @param removed  The pages of the tours that no longer exist and got removed
+    */
+   public record Result(int tours, int rendered, int removed) {}
+
+   private record Exported(String id, String title, String description, int stepsCount, String page,
+                           String fingerprint, boolean rendered) {}
+
+   private record Source(CharBuffer text, int[] lineStarts) {
+      int linesCount() {
+         return text.length() == 0 ? 0 : lineStarts.length;
+      }
+
+      String line(int line) {
+         final int start = lineStarts[line - 1];
+         int end = line < lineStarts.length ? lineStarts[line] - 1 : text.length();
+         if (end > start && text.get(end - 1) == '\n') end--; // the last line
+         if (end > start && text.get(end - 1) == '\r') end--; // CRLF
+         return text.subSequence(start, Math.max(start, end)).toString();
+      }
+   }
+
+   private record Snippet(Source source, int firstLine, int lastLine) {
+      String line(int line) {
+         return source.line(line);
+      }
+   }
+
+   private static class Manifest {
+      private Format format;
+      private Map<String, String> fingerprints = new HashMap<>(); // tour id -> fingerprint
+      private Map<String, String> pages = new HashMap<>(); // tour id -> page
+   }
+
+   private static final String STYLE = """
+         body { font-family: -apple-system, "Segoe UI", Roboto, sans-serif; max-width: 960px; margin: 2em auto; }
+         .steps > li { margin-bottom: 2em; }
+         .location { font-family: monospace; color: #666; }
+         .snippet { background: #f6f8fa; padding: .5em 0; overflow-x: auto; }
+         .snippet .line { display: block; padding: 0 1em; }
+         .snippet .line.current { background: #fff5b1; }
+         .snippet .line-number { display: inline-block; width: 3em; color: #999; user-select: none; }
+         """;
+}
@@ -0,0 +1,166 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local only recorder of the Tours playback: every navigation to a Step is appended (as a compact binary record, see
+ * {@link PlaybackLog}) to a log of the project under the IDE system directory. Nothing leaves the machine.
+ * Navigation only offers the event to a bounded ring buffer (dropping it if full), which is drained into the log by
+ * a single background writer, so it is never blocked on the disk
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourPlayback implements Disposable {
+
+   private static final Logger LOG = Logger.getInstance(TourPlayback.class);
+   private static final int RING_CAPACITY = 1024;
+   private static final long MAX_LOG_BYTES = 2 * 1024 * 1024; // then it is rotated (keeping one older log)
+   public static final long IDLE_MILLIS = TimeUnit.MINUTES.toMillis(30); // a playback ends after that
+
+   private final Project project;
+   private final PlaybackLog.Event[] ring = new PlaybackLog.Event[RING_CAPACITY];
+   private int head;
+   private int size;
+   private long dropped;
+   private final AtomicBoolean drainScheduled = new AtomicBoolean();
+   private final Object logLock = new Object();
+   private volatile String lastTourKey; // of the last recorded event, to close its playback on project close
+
+   public TourPlayback(Project project) {
+      this.project = project;
+   }
+
+   public static TourPlayback getInstance(@NotNull Project project) {
+      return project.getService(TourPlayback.class);
+   }
+
+   /**
+    * Records the navigation to the given Step of the given Tour. Never blocks
+    */
+   public void record(@NotNull Tour tour, int stepIndex) {
+      if (!AppSettingsState.getInstance().isRecordPlayback()) return;
+
+      final String tourKey = getTourKey(tour);
+      lastTourKey = tourKey;
+      offer(new PlaybackLog.Event(System.currentTimeMillis(), tourKey, stepIndex, tour.getSteps().size()));
+   }
+
+   public static String getTourKey(@NotNull Tour tour) {
+      return tour.getId() != null ? tour.getId() : tour.getTitle();
+   }
+
+   private void offer(PlaybackLog.Event event) {
+      synchronized (ring) {
+         if (size == RING_CAPACITY) {
+            dropped++;
+            return;
+         }
+         ring[(head + size) % RING_CAPACITY] = event;
+         size++;
+      }
+      if (drainScheduled.compareAndSet(false, true))
+         Writer.EXECUTOR.execute(this::drain);
+   }
+
+   private List<PlaybackLog.Event> poll() {
+      final List<PlaybackLog.Event> events = new ArrayList<>();
+      synchronized (ring) {
+         while (size > 0) {
+            events.add(ring[head]);
+            ring[head] = null;
+            head = (head + 1) % RING_CAPACITY;
+            size--;
+         }
+         if (dropped > 0) {
+            LOG.warn(String.format("Playback log could not keep up. Dropped %s events", dropped));
+            dropped = 0;
+         }
+      }
+      return events;
+   }
+
+   /**
+    * Appends the buffered events into the log. Polled under the log lock, so that concurrent drains (the writer and
+    * a report or dispose on the caller thread) append their batches in the order the events were recorded
+    */
+   private void drain() {
+      drainScheduled.set(false);
+      synchronized (logLock) {
+         final List<PlaybackLog.Event> events = poll();
+         if (events.isEmpty()) return;
+
+         try {
+            final Path log = getLogPath();
+            Files.createDirectories(log.getParent());
+            if (Files.exists(log) && Files.size(log) > MAX_LOG_BYTES)
+               Files.move(log, getRotatedLogPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            final boolean newLog = !Files.exists(log) || Files.size(log) == 0;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(log,
+                  StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+               if (newLog)
+                  PlaybackLog.writeHeader(out);
+               for (PlaybackLog.Event event : events)
+                  PlaybackLog.write(out, event);
+            }
+         } catch (IOException e) {
+            LOG.warn("Failed to append to the playback log: " + e.getMessage(), e);
+         }
+      }
+   }
+
+   /**
+    * Reads and aggregates the whole log (older log first). Not to be called on the EDT
+    */
+   public PlaybackLog.Report computeReport() throws IOException {
+      drain();
+      synchronized (logLock) {
+         return PlaybackLog.aggregate(PlaybackLog.read(List.of(getRotatedLogPath(), getLogPath())), IDLE_MILLIS);
+      }
+   }
+
+   private Path getLogPath() {
+      return Path.of(PathManager.getSystemPath(), "codetour", "playback", project.getLocationHash() + ".log");
+   }
+
+   private Path getRotatedLogPath() {
+      return getLogPath().resolveSibling(project.getLocationHash() + ".1.log");
+   }
+
+   @Override
+   public void dispose() {
+      // Project is closing. Close the current playback and write everything out
+      final String tourKey = lastTourKey;
+      if (tourKey != null)
+         offer(new PlaybackLog.Event(System.currentTimeMillis(), tourKey, PlaybackLog.CLOSED, 0));
+      drain();
+   }
+
+   /**
+    * The log is appended by a single writer, off the EDT
+    */
+   private static final class Writer {
+      private static final ExecutorService EXECUTOR =
+            AppExecutorUtil.createBoundedApplicationPoolExecutor("CodeTour Playback Log", 1);
+   }
+}
@@ -0,0 +1,214 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.CaretEvent;
+import com.intellij.openapi.editor.event.CaretListener;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileEditor.FileEditorManagerEvent;
+import com.intellij.openapi.fileEditor.FileEditorManagerListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManagerListener;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.Alarm;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Props;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.state.StateManager;
+import org.uom.lefterisxris.codetour.tours.state.TourUpdateNotifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Recording mode: the caret stops and the file navigations of the user are captured as Steps of a draft Tour, kept
+ * in memory. A stop is captured once the caret rests for a while, so passing through lines (e.g. scrolling with the
+ * keyboard) is ignored, and stops at (or next to) an already captured line are collapsed. The draft is appended to
+ * its Tour with a single write (and a single undoable command) when recording stops, or when the project closes
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourRecorder implements Disposable {
+
+   private static final Logger LOG = Logger.getInstance(TourRecorder.class);
+   private static final int STOP_MILLIS = 1500; // how long the caret should rest on a line to capture it
+   private static final int NEAR_LINES = 2; // a stop this close to the previous one is the same Step
+
+   private final Project project;
+   private Tour tour; // the Tour that the draft Steps are appended to
+   private final List<Step> draft = new ArrayList<>();
+   private Disposable recording; // the listeners of the current recording
+
+   public TourRecorder(Project project) {
+      this.project = project;
+   }
+
+   public static TourRecorder getInstance(@NotNull Project project) {
+      return project.getService(TourRecorder.class);
+   }
+
+   public boolean isRecording() {
+      return recording != null;
+   }
+
+   public Optional<Tour> getTour() {
+      return Optional.ofNullable(tour);
+   }
+
+   /**
+    * Starts capturing the caret stops and the file navigations into a draft of the given Tour
+    */
+   public void start(@NotNull Tour tour) {
+      if (isRecording()) return;
+
+      LOG.info("Recording Steps for Tour: " + tour.getTitle());
+      this.tour = tour;
+      draft.clear();
+      recording = Disposer.newDisposable("CodeTour Recording");
+      Disposer.register(this, recording);
+
+      final Alarm stopAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, recording);
+      final Runnable scheduleCapture = () -> {
+         stopAlarm.cancelAllRequests();
+         stopAlarm.addRequest(this::capture, STOP_MILLIS);
+      };
+      EditorFactory.getInstance().getEventMulticaster().addCaretListener(new CaretListener() {
+         @Override
+         public void caretPositionChanged(@NotNull CaretEvent event) {
+            if (project.equals(event.getEditor().getProject()))
+               scheduleCapture.run();
+         }
+      }, recording);
+      project.getMessageBus().connect(recording).subscribe(FileEditorManagerListener.FILE_EDITOR_MANAGER,
+            new FileEditorManagerListener() {
+               @Override
+               public void selectionChanged(@NotNull FileEditorManagerEvent event) {
+                  scheduleCapture.run();
+               }
+            });
+   }
+
+   /**
+    * Stops recording and appends the draft Steps to the Tour, with one write
+    *
+    * @return the number of the recorded Steps
+    */
+   public int stop() {
+      if (!isRecording()) return 0;
+
+      final List<Step> steps = new ArrayList<>(draft);
+      final String tourKey = TourPlayback.getTourKey(tour);
+      discard();
+      if (steps.isEmpty()) return 0;
+
+      // The tours may have been reloaded while recording, so the Steps are appended to the current instance
+      final StateManager stateManager = new StateManager(project);
+      final Optional<Tour> current = stateManager.getTours().stream()
+            .filter(aTour -> tourKey.equals(TourPlayback.getTourKey(aTour)))
+            .findFirst();
+      if (current.isEmpty()) {
+         LOG.warn(String.format("Tour '%s' no longer exists. Dropped %s recorded Steps", tourKey, steps.size()));
+         return 0;
+      }
+      final Tour target = current.get();
+
+      LOG.info(String.format("Committing %s recorded Steps to Tour '%s'%n", steps.size(), target.getTitle()));
+      stateManager.beginTransaction("Record Tour Steps")
+            .modify(target, aTour -> aTour.getSteps().addAll(steps))
+            .commit();
+      // The state has been reloaded by the commit. Just re-render
+      project.getMessageBus().syncPublisher(TourUpdateNotifier.TOPIC).tourUpdated(null);
+      return steps.size();
+   }
+
+   /**
+    * Stops recording, dropping the draft
+    */
+   public void discard() {
+      if (recording != null)
+         Disposer.dispose(recording);
+      recording = null;
+      tour = null;
+      draft.clear();
+   }
+
+   /**
+    * Captures the current caret position of the selected editor as a Step (unless it collapses with the draft)
+    */
+   private void capture() {
+      final Editor editor = FileEditorManager.getInstance(project).getSelectedTextEditor();
+      if (editor == null) return;
+      final Document document = editor.getDocument();
+      final VirtualFile file = FileDocumentManager.getInstance().getFile(document);
+      if (file == null || file.getName().endsWith(Props.TOUR_EXTENSION_FULL)
+            || !ProjectFileIndex.getInstance(project).isInContent(file))
+         return;
+
+      final int line = editor.getCaretModel().getLogicalPosition().line + 1;
+      final String title = String.format("%s:%s", file.getName(), line);
+      final Step step = Step.builder()
+            .title(title)
+            .description(describe(document, line - 1, title))
+            .file(file.getName())
+            .line(line)
+            .build();
+      if (collapses(draft, step)) return;
+
+      draft.add(step);
+      LOG.debug("Recorded Step: " + title);
+   }
+
+   /**
+    * @return whether the given Step is the same as the last one of the draft (i.e. at a nearby line of the same
+    * file) or as any other Step of the draft (i.e. at the same line)
+    */
+   public static boolean collapses(@NotNull List<Step> draft, @NotNull Step step) {
+      if (draft.isEmpty()) return false;
+
+      final Step last = draft.get(draft.size() - 1);
+      if (step.getFile().equals(last.getFile())
+            && Math.abs(step.getLineNumber() - last.getLineNumber()) <= NEAR_LINES)
+         return true;
+      return draft.stream().anyMatch(aStep -> step.getFile().equals(aStep.getFile())
+            && step.getLineNumber() == aStep.getLineNumber());
+   }
+
+   private static String describe(Document document, int lineIndex, String title) {
+      final String code = document.getText(new TextRange(document.getLineStartOffset(lineIndex),
+            document.getLineEndOffset(lineIndex))).trim();
+      return code.isEmpty() ? "Recorded at " + title : String.format("Recorded at %s%n%n```%n%s%n```", title, code);
+   }
+
+   @Override
+   public void dispose() {
+      // The draft is committed on project closing (see ProjectCloseListener), so normally there is nothing left
+      if (!draft.isEmpty())
+         LOG.warn(String.format("Project closed while recording. Dropped %s recorded Steps of Tour '%s'",
+               draft.size(), tour != null ? tour.getTitle() : ""));
+   }
+
+   /**
+    * Commits the draft (as {@link #stop()} does) when the project closes while recording, before the services are
+    * disposed
+    */
+   public static class ProjectCloseListener implements ProjectManagerListener {
+      @Override
+      public void projectClosing(@NotNull Project project) {
+         final TourRecorder recorder = project.getServiceIfCreated(TourRecorder.class);
+         if (recorder == null || !recorder.isRecording()) return;
+
+         final int steps = recorder.stop();
+         LOG.info(String.format("Project closing while recording. Committed %s recorded Steps", steps));
+      }
+   }
+}
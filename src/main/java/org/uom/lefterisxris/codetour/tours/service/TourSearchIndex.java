@@ -0,0 +1,383 @@
+package org.uom.lefterisxris.codetour.tours.service;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.state.SearchIndexNotifier;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over the Tours: tour titles, step titles, step descriptions and referenced file names.
+ * Supports exact, prefix and fuzzy (one edit away) matching of the query terms.
+ * The index is (re)built in the background during loading, and updated incrementally per tour. Step descriptions
+ * that are not in memory (see lazy descriptions) are not read while loading, but in the background on the first
+ * search. Once the index has been updated in the background, {@link SearchIndexNotifier} is published.
+ * <p>
+ * Searching never waits for an update: updates are computed from a copy of the Steps (taken by the caller, as the
+ * Steps are mutated on the EDT), outside any lock, and then published as a new immutable snapshot of the index
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourSearchIndex {
+
+   private static final int TITLE_WEIGHT = 4;
+   private static final int FILE_WEIGHT = 3;
+   private static final int DESCRIPTION_WEIGHT = 1;
+   private static final int MIN_FUZZY_TERM_LENGTH = 4;
+
+   private volatile Snapshot snapshot = new Snapshot(new TreeMap<>(), new IdentityHashMap<>());
+   private final Object updateLock = new Object(); // serializes the publishing of snapshots (never taken by search)
+   // The tours with Step descriptions yet to be indexed (not loaded), and whether they are being indexed
+   private final Set<Tour> pendingDescriptions = Collections.synchronizedSet(
+         Collections.newSetFromMap(new IdentityHashMap<>()));
+   private final AtomicBoolean indexingDescriptions = new AtomicBoolean();
+
+   private final @Nullable Project project;
+
+   public TourSearchIndex() {
+      this(null);
+   }
+
+   public TourSearchIndex(@Nullable Project project) {
+      this.project = project;
+   }
+
+   public static TourSearchIndex getInstance(@NotNull Project project) {
+      return project.getService(TourSearchIndex.class);
+   }
+
+   public void rebuildAsync(@NotNull List<Tour> tours) {
+      final List<TourSteps> snapshot = tours.stream().map(TourSteps::of).toList();
+      Updates.EXECUTOR.execute(() -> {
+         rebuildFrom(snapshot);
+         notifyUpdated();
+      });
+   }
+
+   public void indexAsync(@NotNull Tour tour) {
+      final TourSteps tourSteps = TourSteps.of(tour);
+      Updates.EXECUTOR.execute(() -> {
+         index(tourSteps, true);
+         notifyUpdated();
+      });
+   }
+
+   public void rebuild(@NotNull List<Tour> tours) {
+      rebuildFrom(tours.stream().map(TourSteps::of).toList());
+   }
+
+   private void rebuildFrom(List<TourSteps> tours) {
+      // A whole new index, built without copying the current one
+      final NavigableMap<String, Map<Hit, Integer>> postings = new TreeMap<>();
+      final Map<Tour, Set<String>> termsPerTour = new IdentityHashMap<>();
+      final List<Tour> deferred = new ArrayList<>();
+      for (TourSteps tourSteps : tours) {
+         final TourPostings tourPostings = extract(tourSteps, false);
+         tourPostings.postings().forEach((term, hits) ->
+               postings.computeIfAbsent(term, t -> new HashMap<>()).putAll(hits));
+         termsPerTour.put(tourSteps.tour(), tourPostings.postings().keySet());
+         if (tourPostings.deferred())
+            deferred.add(tourSteps.tour());
+      }
+      synchronized (updateLock) {
+         snapshot = new Snapshot(postings, termsPerTour);
+         pendingDescriptions.clear();
+         pendingDescriptions.addAll(deferred);
+      }
+   }
+
+   /**
+    * Indexes (or re-indexes) the given tour, along with all its Step descriptions
+    */
+   public void index(@NotNull Tour tour) {
+      index(TourSteps.of(tour), true);
+   }
+
+   /**
+    * Indexes (or re-indexes) the given tour. Unless requested, Step descriptions that are not loaded are deferred
+    * until the first search
+    */
+   private void index(TourSteps tourSteps, boolean loadDescriptions) {
+      publish(tourSteps.tour(), extract(tourSteps, loadDescriptions));
+   }
+
+   /**
+    * @return the terms of the given tour (and its Steps), computed without touching the index
+    */
+   private static TourPostings extract(TourSteps tourSteps, boolean loadDescriptions) {
+      final Tour tour = tourSteps.tour();
+      final Map<String, Map<Hit, Integer>> postings = new HashMap<>();
+      add(postings, new Hit(tour, Hit.TOUR), tour.getTitle(), TITLE_WEIGHT);
+      add(postings, new Hit(tour, Hit.TOUR), tour.getDescription(), DESCRIPTION_WEIGHT);
+
+      boolean deferred = false;
+      for (int i = 0; i < tourSteps.steps().size(); i++) {
+         final Step step = tourSteps.steps().get(i);
+         final Hit hit = new Hit(tour, i);
+         add(postings, hit, step.getTitle(), TITLE_WEIGHT);
+         add(postings, hit, step.getFile(), FILE_WEIGHT);
+         if (loadDescriptions || step.isDescriptionLoaded())
+            add(postings, hit, step.getDescription(), DESCRIPTION_WEIGHT);
+         else
+            deferred = true;
+      }
+      return new TourPostings(postings, deferred);
+   }
+
+   /**
+    * Publishes a copy of the index, with the terms of the given tour replaced by the given ones (or removed if null).
+    * Only the postings of the affected terms are copied, the rest are shared with the previous snapshot
+    */
+   private void publish(Tour tour, @Nullable TourPostings tourPostings) {
+      synchronized (updateLock) {
+         final Snapshot current = snapshot;
+         final NavigableMap<String, Map<Hit, Integer>> postings = new TreeMap<>(current.postings());
+         final Map<Tour, Set<String>> termsPerTour = new IdentityHashMap<>(current.termsPerTour());
+
+         final Set<String> oldTerms = termsPerTour.remove(tour);
+         if (oldTerms != null) {
+            for (String term : oldTerms) {
+               final Map<Hit, Integer> hits = new HashMap<>(postings.getOrDefault(term, Map.of()));
+               hits.keySet().removeIf(hit -> hit.tour == tour);
+               if (hits.isEmpty())
+                  postings.remove(term);
+               else
+                  postings.put(term, hits);
+            }
+         }
+         if (tourPostings != null) {
+            tourPostings.postings().forEach((term, tourHits) -> {
+               final Map<Hit, Integer> hits = new HashMap<>(postings.getOrDefault(term, Map.of()));
+               hits.putAll(tourHits);
+               postings.put(term, hits);
+            });
+            termsPerTour.put(tour, tourPostings.postings().keySet());
+         }
+         snapshot = new Snapshot(postings, termsPerTour);
+
+         if (tourPostings != null && tourPostings.deferred())
+            pendingDescriptions.add(tour);
+         else
+            pendingDescriptions.remove(tour);
+      }
+   }
+
+   /**
+    * Indexes the deferred Step descriptions, in the background
+    */
+   private void indexPendingDescriptionsAsync() {
+      if (pendingDescriptions.isEmpty() || !indexingDescriptions.compareAndSet(false, true)) return;
+
+      Updates.EXECUTOR.execute(() -> {
+         final List<Tour> tours;
+         synchronized (pendingDescriptions) {
+            tours = new ArrayList<>(pendingDescriptions);
+         }
+         try {
+            for (Tour tour : tours) {
+               // e.g. removed or rebuilt meanwhile
+               if (!pendingDescriptions.contains(tour) || !snapshot.termsPerTour().containsKey(tour)) continue;
+               index(TourSteps.of(tour), true);
+            }
+         } finally {
+            indexingDescriptions.set(false);
+         }
+         notifyUpdated();
+         indexPendingDescriptionsAsync(); // e.g. rebuilt meanwhile
+      });
+   }
+
+   private void notifyUpdated() {
+      if (project == null) return;
+      ApplicationManager.getApplication().invokeLater(
+            () -> project.getMessageBus().syncPublisher(SearchIndexNotifier.TOPIC).searchIndexUpdated(),
+            project.getDisposed());
+   }
+
+   public void remove(@NotNull Tour tour) {
+      publish(tour, null);
+   }
+
+   /**
+    * Finds the tours/steps that match all the terms of the given query (exactly, as prefix, or fuzzy)
+    *
+    * @return the hits, the most relevant first
+    */
+   public List<Hit> search(@NotNull String query, int limit) {
+      final List<String> queryTerms = tokenize(query);
+      if (queryTerms.isEmpty()) return new ArrayList<>();
+      indexPendingDescriptionsAsync();
+
+      final NavigableMap<String, Map<Hit, Integer>> postings = snapshot.postings();
+      Map<Hit, Integer> scores = null;
+      for (String queryTerm : queryTerms) {
+         final Map<Hit, Integer> termScores = match(postings, queryTerm);
+         if (scores == null) {
+            scores = termScores;
+         } else {
+            scores.keySet().retainAll(termScores.keySet());
+            scores.replaceAll((hit, score) -> score + termScores.get(hit));
+         }
+         if (scores.isEmpty()) break;
+      }
+
+      return scores.entrySet().stream()
+            .sorted(Map.Entry.<Hit, Integer>comparingByValue().reversed())
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+   }
+
+   private static Map<Hit, Integer> match(NavigableMap<String, Map<Hit, Integer>> postings, String queryTerm) {
+      final Map<Hit, Integer> scores = new HashMap<>();
+
+      // Exact and prefix matches are a single range of the sorted terms
+      for (Map.Entry<String, Map<Hit, Integer>> entry :
+            postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+         final int boost = entry.getKey().length() == queryTerm.length() ? 3 : 2;
+         entry.getValue().forEach((hit, weight) -> scores.merge(hit, weight * boost, Math::max));
+      }
+
+      // Fuzzy matches only when nothing else matches (e.g. typos)
+      if (scores.isEmpty() && queryTerm.length() >= MIN_FUZZY_TERM_LENGTH) {
+         for (Map.Entry<String, Map<Hit, Integer>> entry : postings.entrySet()) {
+            if (isOneEditAway(queryTerm, entry.getKey()))
+               entry.getValue().forEach((hit, weight) -> scores.merge(hit, weight, Math::max));
+         }
+      }
+      return scores;
+   }
+
+   private static void add(Map<String, Map<Hit, Integer>> postings, Hit hit, String text, int weight) {
+      for (String term : tokenize(text))
+         postings.computeIfAbsent(term, t -> new HashMap<>()).merge(hit, weight, Math::max);
+   }
+
+   /**
+    * Splits the given text into lower case terms. Camel case words (e.g. file names) are also split into
+    * their parts, so 'TourStepGeneratorAction.java' matches on 'generator' as well
+    */
+   static List<String> tokenize(String text) {
+      final List<String> terms = new ArrayList<>();
+      if (text == null) return terms;
+
+      for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+         if (word.length() < 2) continue;
+         terms.add(word.toLowerCase(Locale.ROOT));
+
+         final String[] parts = word.split("(?<=\\p{Ll})(?=\\p{Lu})");
+         if (parts.length > 1) {
+            for (String part : parts) {
+               if (part.length() >= 2)
+                  terms.add(part.toLowerCase(Locale.ROOT));
+            }
+         }
+      }
+      return terms;
+   }
+
+   static boolean isOneEditAway(String a, String b) {
+      if (Math.abs(a.length() - b.length()) > 1 || a.equals(b)) return false;
+
+      final String shorter = a.length() <= b.length() ? a : b;
+      final String longer = a.length() <= b.length() ? b : a;
+      int i = 0, j = 0;
+      boolean edited = false;
+      while (i < shorter.length() && j < longer.length()) {
+         if (shorter.charAt(i) != longer.charAt(j)) {
+            if (edited) return false;
+            edited = true;
+            if (shorter.length() == longer.length()) i++; // substitution, otherwise insertion
+         } else {
+            i++;
+         }
+         j++;
+      }
+      return true;
+   }
+
+   /**
+    * Index updates are applied in order, off the EDT. Lazily created, as the index itself is usable without it
+    */
+   private static final class Updates {
+      private static final ExecutorService EXECUTOR =
+            AppExecutorUtil.createBoundedApplicationPoolExecutor("CodeTour Search Index", 1);
+   }
+
+   /**
+    * A published (never modified) state of the index: term -> (hit -> weight), and the terms per tour (for
+    * incremental removal)
+    */
+   private record Snapshot(NavigableMap<String, Map<Hit, Integer>> postings, Map<Tour, Set<String>> termsPerTour) {}
+
+   /**
+    * The terms of a single tour, along with whether some of its Step descriptions have been deferred
+    */
+   private record TourPostings(Map<String, Map<Hit, Integer>> postings, boolean deferred) {}
+
+   /**
+    * A tour along with a copy of its Steps, to be indexed while the Steps of the tour may change (on the EDT)
+    */
+   private record TourSteps(Tour tour, List<Step> steps) {
+      static TourSteps of(Tour tour) {
+         return new TourSteps(tour, tour.getSteps() != null ? new ArrayList<>(tour.getSteps()) : List.of());
+      }
+   }
+
+   /**
+    * A search result: either a Tour itself or one of its Steps
+    */
+   public static final class Hit {
+      public static final int TOUR = -1;
+
+      private final Tour tour;
+      private final int stepIndex;
+
+      Hit(Tour tour, int stepIndex) {
+         this.tour = tour;
+         this.stepIndex = stepIndex;
+      }
+
+      public Tour getTour() {
+         return tour;
+      }
+
+      public int getStepIndex() {
+         return stepIndex;
+      }
+
+      public Optional<Step> getStep() {
+         return stepIndex >= 0 && stepIndex < tour.getSteps().size()
+               ? Optional.of(tour.getSteps().get(stepIndex))
+               : Optional.empty();
+      }
+
+      // Tours are mutable with value-based equality, so they are compared by identity
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) return true;
+         if (!(o instanceof Hit)) return false;
+         final Hit other = (Hit)o;
+         return tour == other.tour && stepIndex == other.stepIndex;
+      }
+
+      @Override
+      public int hashCode() {
+         return 31 * System.identityHashCode(tour) + stepIndex;
+      }
+
+      @Override
+      public String toString() {
+         return getStep().map(step -> tour.getTitle() + " > " + step.getTitle()).orElse(tour.getTitle());
+      }
+   }
+}
@@ -12,14 +12,16 @@ import org.jetbrains.annotations.NotNull;
 import org.uom.lefterisxris.codetour.tours.domain.Props;
 import org.uom.lefterisxris.codetour.tours.domain.Step;
 
-import java.nio.file.Paths;
-
 /**
  * @author Eleftherios Chrysochoidis
  * Date: 21/5/2022
  */
 public class Utils {
 
+   // The flavour and the parser are stateless (the state of each parse is local to it), so they are shared
+   private static final MarkdownFlavourDescriptor MARKDOWN_FLAVOUR = new GFMFlavourDescriptor();
+   private static final MarkdownParser MARKDOWN_PARSER = new MarkdownParser(MARKDOWN_FLAVOUR);
+
    /**
     * Custom TagRenderer for md to html, as for some strange reason there is no default implementation now
     * in the related Jetbrains library
@@ -77,6 +79,16 @@ public class Utils {
       return getOrDef(i1, Integer.MIN_VALUE).equals(getOrDef(i2, Integer.MIN_VALUE));
    }
 
+   /**
+    * @return the location of the given Step as file:line (or file:line-endLine for a range), empty if none
+    */
+   public static String getStepReference(Step step) {
+      if (step.getFile() == null) return "";
+      return step.getEndLine() != null
+            ? String.format("%s:%s-%s", step.getFile(), step.getLine(), step.getEndLine())
+            : String.format("%s:%s", step.getFile(), step.getLine());
+   }
+
    public static String renderFullDoc(String title, String description, String file) {
       StringBuilder sb = new StringBuilder();
       sb.append(DocumentationMarkup.DEFINITION_START);
@@ -97,20 +109,15 @@ public class Utils {
    }
 
    public static String mdToHtml(String markdown) {
-      final MarkdownFlavourDescriptor flavour = new GFMFlavourDescriptor();
-      final ASTNode parsedTree = new MarkdownParser(flavour).buildMarkdownTreeFromString(markdown);
-      return new HtmlGenerator(markdown, parsedTree, flavour, false).generateHtml(TAG_RENDERER);
+      final ASTNode parsedTree = MARKDOWN_PARSER.buildMarkdownTreeFromString(markdown);
+      return new HtmlGenerator(markdown, parsedTree, MARKDOWN_FLAVOUR, false).generateHtml(TAG_RENDERER);
    }
 
    public static boolean isFileMatchesStep(VirtualFile file, @NotNull Step step) {
       if (file.isDirectory())
          return false;
 
-      final String stepDirectory = step.getDirectory() != null ? step.getDirectory() : "";
-      final String stepFilePath = Paths.get(stepDirectory, step.getFile()).toString();
-      final String filePath = Paths.get(file.getPath()).toString();
-
-      return filePath.endsWith(stepFilePath);
+      return StepMatcher.matches(file.getPath(), step);
    }
 
    private static void addKeyValueSection(String key, String value, StringBuilder sb) {
@@ -0,0 +1,17 @@
+package org.uom.lefterisxris.codetour.tours.state;
+
+import com.intellij.util.messages.Topic;
+
+/**
+ * Published (on the EDT) once the search index of the Tours has been updated in the background, so that any shown
+ * search results can be refreshed
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public interface SearchIndexNotifier {
+
+   Topic<SearchIndexNotifier> TOPIC = Topic.create("Tours Search Index Update", SearchIndexNotifier.class);
+
+   void searchIndexUpdated();
+}
@@ -1,8 +1,7 @@
 package org.uom.lefterisxris.codetour.tours.state;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.intellij.diagnostic.PluginException;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.application.WriteAction;
 import com.intellij.openapi.diagnostic.Logger;
@@ -12,15 +11,24 @@ import com.intellij.openapi.project.ProjectUtil;
 import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.search.FilenameIndex;
+import com.intellij.ui.EditorNotifications;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import org.jetbrains.annotations.NotNull;
 import org.uom.lefterisxris.codetour.tours.domain.OnboardingAssistant;
 import org.uom.lefterisxris.codetour.tours.domain.Props;
 import org.uom.lefterisxris.codetour.tours.domain.Step;
 import org.uom.lefterisxris.codetour.tours.domain.Tour;
 import org.uom.lefterisxris.codetour.tours.service.AppSettingsState;
+import org.uom.lefterisxris.codetour.tours.service.StepAnchors;
+import org.uom.lefterisxris.codetour.tours.service.StepSymbols;
+import org.uom.lefterisxris.codetour.tours.service.TourChain;
+import org.uom.lefterisxris.codetour.tours.service.TourCoverage;
+import org.uom.lefterisxris.codetour.tours.service.TourSearchIndex;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -38,10 +46,7 @@ public class StateManager {
    private static Optional<Integer> activeStepIndex = Optional.empty();
    private static final Logger LOG = Logger.getInstance(StateManager.class);
 
-   private final Gson GSON = new GsonBuilder().setPrettyPrinting()
-         .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
-         .create();
-   private final ToursState state = new ToursState();
+   private final ToursState state;
    private final Project project;
    private static LocalDateTime lastValidationTime = LocalDateTime.now().minusHours(2); // to trigger validation on init
 
@@ -54,6 +59,7 @@ public class StateManager {
 
    public StateManager(Project project) {
       this.project = project;
+      this.state = ToursState.getInstance(project);
    }
 
    /**
@@ -77,7 +83,9 @@ public class StateManager {
          // Persist the file
          try {
             final VirtualFile newTourVfile = toursDir.get().createChildData(this, fileName);
-            newTourVfile.setBinaryContent(GSON.toJson(tour).getBytes(StandardCharsets.UTF_8));
+            try (Writer writer = new OutputStreamWriter(newTourVfile.getOutputStream(this), StandardCharsets.UTF_8)) {
+               TourSerializer.write(tour, writer);
+            }
             reloadState();
          } catch (IOException e) {
             LOG.error("Failed to create tour file: " + e.getMessage(), e);
@@ -88,14 +96,28 @@ public class StateManager {
    }
 
    /**
-    * Updates the given tour by deleting and recreating it
+    * Updates the given tour. The write is deferred and coalesced with subsequent updates of the same tour
+    * (see {@link TourPersister}), while the in-memory state is updated immediately.
+    * If the tour file does not exist, the tour is created instead
     *
     * @param tour The tour to persist
     * @return the updated tour
     */
    public Tour updateTour(Tour tour) {
-      deleteTour(tour, false);
-      createTour(tour);
+      final Optional<VirtualFile> tourFile = findTourFile(tour);
+      if (tourFile.isEmpty())
+         return createTour(tour);
+
+      TourPersister.getInstance(project).schedule(tourFile.get(), tour);
+      refreshCaches(getTours());
+      TourSearchIndex.getInstance(project).indexAsync(tour);
+      TourCoverage.getInstance(project).updateAsync(tour);
+      state.getFileIndex().update(tour);
+      state.getTagIndex().update(tour);
+      StepSymbols.getInstance(project).update(tour);
+      StepAnchors.getInstance(project).update(tour);
+      EditorNotifications.getInstance(project).updateAllNotifications();
+      setActiveTour(tour);
       return tour;
    }
 
@@ -103,6 +125,16 @@ public class StateManager {
       return deleteTour(tour, true);
    }
 
+   /**
+    * Starts a transaction for batching many Tour mutations into a single write per tour file and a single reload
+    *
+    * @param name The name of the command (visible on Undo/Redo)
+    * @return the transaction to stage the mutations on
+    */
+   public ToursTransaction beginTransaction(String name) {
+      return new ToursTransaction(project, this, name);
+   }
+
    /**
     * Tries to find the corresponding file for the give tour, and if found it deletes it
     *
@@ -111,6 +143,8 @@ public class StateManager {
     */
    public Tour deleteTour(Tour tour, boolean reload) {
       findTourFile(tour).ifPresent(virtualFile -> {
+         TourPersister.getInstance(project).discard(virtualFile);
+         TourProgress.getInstance(project).reset(tour);
          WriteAction.runAndWait(() -> {
             try {
                virtualFile.delete(this);
@@ -125,6 +159,8 @@ public class StateManager {
    }
 
    public List<Tour> reloadState() {
+      // Make sure that any deferred change is on disk before re-reading the tours
+      TourPersister.getInstance(project).flush();
       state.clear();
       return getTours();
    }
@@ -152,8 +188,34 @@ public class StateManager {
       }
 
       var userTours = project.getBasePath() == null ? loadFromIndex(project) : loadFromFS();
+      LOG.info("Sorting Tours using: %s - %s".formatted(settings.getSortOption(), settings.getSortDirection()));
+      userTours.sort(getComparator());
+
+      tours.addAll(userTours);
+      refreshCaches(tours);
+      TourSearchIndex.getInstance(project).rebuildAsync(tours);
+      TourCoverage.getInstance(project).rebuildAsync(tours);
+      state.getFileIndex().rebuild(tours);
+      state.getTagIndex().rebuild(tours);
+      StepSymbols.getInstance(project).rebuild(tours);
+      StepAnchors.getInstance(project).refresh();
+      EditorNotifications.getInstance(project).updateAllNotifications();
 
-      // Sort User Tours. By default, they are sorted base on Title. Otherwise, it follows User Settings
+      // Validate them at most once in an hour
+      final LocalDateTime now = LocalDateTime.now();
+      if (now.isAfter(lastValidationTime.plusHours(1))) {
+         Validator.validateTours(project, tours);
+         lastValidationTime = now;
+      }
+
+      return tours;
+   }
+
+   /**
+    * @return the order of the User Tours. By default, they are sorted base on Title. Otherwise, it follows User Settings
+    */
+   private static Comparator<Tour> getComparator() {
+      var settings = AppSettingsState.getInstance();
       Comparator<Tour> comparator = Comparator.comparing(Tour::getTitle);
       switch (settings.getSortOption()) {
          case FILENAME -> comparator = Comparator.comparing(Tour::getTourFile);
@@ -162,11 +224,63 @@ public class StateManager {
       }
       if (AppSettingsState.SortDirectionE.DESC.equals(settings.getSortDirection()))
          comparator = comparator.reversed(); // ASC,DESC
-      LOG.info("Sorting Tours using: %s - %s".formatted(settings.getSortOption(), settings.getSortDirection()));
-      userTours.sort(comparator);
+      return comparator;
+   }
 
-      tours.addAll(userTours);
-      // Cache some info
+   /**
+    * Loads the tours of the given <code>.tours</code> directories (e.g. of a module that just got in scope) in the
+    * background, and adds them to the already loaded tours. Unlike {@link #reloadState()}, the rest of the tours are
+    * neither re-read nor re-indexed. Once added (on the EDT), the UI is notified to refresh
+    */
+   public void loadToursDirsAsync(@NotNull List<VirtualFile> dirs) {
+      // Claim the directories first, so that they are loaded once, even if many of their files are opened at once
+      final List<VirtualFile> newDirs = state.markLoaded(dirs);
+      if (newDirs.isEmpty()) return;
+
+      final int generation = state.getGeneration();
+      AppExecutorUtil.getAppExecutorService().execute(() -> {
+         final List<Tour> tours = ReadAction.compute(() -> readToursDirs(newDirs));
+         ApplicationManager.getApplication().invokeLater(() -> addTours(tours, generation), project.getDisposed());
+      });
+   }
+
+   private void addTours(List<Tour> tours, int generation) {
+      // The state got reloaded meanwhile, so the tours are either re-read already or will be on the next access
+      if (generation != state.getGeneration()) {
+         tours.forEach(state::removeTourFile);
+         return;
+      }
+
+      LOG.info("Adding %s Tours of newly loaded directories".formatted(tours.size()));
+      final List<Tour> allTours = state.getTours();
+      allTours.addAll(tours);
+      // Keep the Onboarding Tour first and the User Tours sorted
+      final Map<Boolean, List<Tour>> onboardingOrNot = allTours.stream()
+            .collect(Collectors.partitioningBy(t -> OnboardingAssistant.ONBOARD_ASSISTANT_TITLE.equals(t.getTitle())));
+      final List<Tour> userTours = new ArrayList<>(onboardingOrNot.get(false));
+      userTours.sort(getComparator());
+      allTours.clear();
+      allTours.addAll(onboardingOrNot.get(true));
+      allTours.addAll(userTours);
+
+      refreshCaches(allTours);
+      for (Tour tour : tours) {
+         TourSearchIndex.getInstance(project).indexAsync(tour);
+         TourCoverage.getInstance(project).updateAsync(tour);
+         state.getFileIndex().update(tour);
+         state.getTagIndex().update(tour);
+         StepSymbols.getInstance(project).update(tour);
+         StepAnchors.getInstance(project).update(tour);
+      }
+      EditorNotifications.getInstance(project).updateAllNotifications();
+      // Tours are already added, so just refresh the UI
+      project.getMessageBus().syncPublisher(TourUpdateNotifier.TOPIC).tourUpdated(null);
+   }
+
+   /**
+    * Re-computes the cached info (used by markers and labels) from the given in-memory tours
+    */
+   private void refreshCaches(List<Tour> tours) {
       tourFileNames.clear();
       tourTitles.clear();
       tourStepFiles.clear();
@@ -190,24 +304,16 @@ public class StateManager {
             stepMetaLabels.put(step.getTitle(), metaLabel);
          }
       });
-
-      // Validate them at most once in an hour
-      final LocalDateTime now = LocalDateTime.now();
-      if (now.isAfter(lastValidationTime.plusHours(1))) {
-         Validator.validateTours(project, tours);
-         lastValidationTime = now;
-      }
-
-      return tours;
    }
 
    private List<Tour> loadFromIndex(@NotNull Project project) {
       return ReadAction.compute(() -> FilenameIndex.getAllFilesByExt(project, Props.TOUR_EXTENSION).stream()
+                  .filter(virtualFile -> ToursDirectories.isInScope(project, virtualFile))
                   .map(virtualFile -> {
                      Tour tour;
                      try {
                         LOG.info("Reading (from Index) Tour from file: " + virtualFile.getName());
-                        tour = GSON.fromJson(new InputStreamReader(virtualFile.getInputStream()), Tour.class);
+                        tour = readTour(virtualFile);
                      } catch (IOException e) {
                         LOG.error("Skipping file: " + virtualFile.getName(), e);
                         return null;
@@ -219,18 +325,30 @@ public class StateManager {
             .collect(Collectors.toList());
    }
 
+   /**
+    * Loads the tours of all the '.tours' directories (of the project and of its modules) that are in scope
+    */
    private List<Tour> loadFromFS() {
+      final List<VirtualFile> toursDirs = ToursDirectories.getInScope(project).stream()
+            .map(ToursDirectories.ToursDir::dir)
+            .collect(Collectors.toList());
+      final List<Tour> tours = readToursDirs(toursDirs);
+      state.setLoadedDirs(toursDirs);
+      return tours;
+   }
+
+   private List<Tour> readToursDirs(List<VirtualFile> toursDirs) {
       final List<Tour> tours = new ArrayList<>();
-      final Optional<VirtualFile> toursDir = getToursDir();
-      if (toursDir.isEmpty()) return new ArrayList<>();
-
-      VfsUtilCore.iterateChildrenRecursively(toursDir.get(),
-            null,
-            fileOrDir -> {
-               if (!fileOrDir.isDirectory() && Props.TOUR_EXTENSION.equals(fileOrDir.getExtension()))
-                  parse(fileOrDir).ifPresent(tours::add);
-               return true;
-            });
+      for (VirtualFile toursDir : toursDirs) {
+         if (!toursDir.isValid()) continue;
+         VfsUtilCore.iterateChildrenRecursively(toursDir,
+               null,
+               fileOrDir -> {
+                  if (!fileOrDir.isDirectory() && Props.TOUR_EXTENSION.equals(fileOrDir.getExtension()))
+                     parse(fileOrDir).ifPresent(tours::add);
+                  return true;
+               });
+      }
       return tours;
    }
 
@@ -240,26 +358,45 @@ public class StateManager {
 
       try {
          LOG.info("Reading (from FS) Tour from file: " + file.getName());
-         return Optional.of(
-               GSON.fromJson(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8), Tour.class));
+         return Optional.of(readTour(file));
       } catch (Exception e) {
          LOG.error("Skipping file: " + file.getName(), e);
       }
       return Optional.empty();
    }
 
-   private Optional<VirtualFile> findTourFile(Tour tour) {
-      final Optional<VirtualFile> toursDir = getToursDir();
-      if (toursDir.isEmpty()) return Optional.empty();
+   /**
+    * Reads only the header of the tour of the given file (i.e. without the Step descriptions), in its compact
+    * in-memory form: paths are interned and the descriptions are loaded on first access
+    */
+   private Tour readTour(VirtualFile file) throws IOException {
+      try (InputStreamReader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+         final Tour tour = state.intern(TourSerializer.readHeaders(reader));
+         TourDescriptions.bind(tour, file);
+         state.setTourFile(tour, file);
+         return tour;
+      }
+   }
+
+   /**
+    * @return the file that the given tour is persisted to, if any (e.g. the Onboarding tour is virtual)
+    */
+   public Optional<VirtualFile> findTourFile(Tour tour) {
+      // Loaded tours know their file. Otherwise, look it up on all the '.tours' directories
+      final Optional<VirtualFile> loadedFile = state.getTourFile(tour);
+      if (loadedFile.isPresent() || tour.getTourFile() == null) return loadedFile;
 
       final List<VirtualFile> virtualFiles = new ArrayList<>();
-      VfsUtilCore.iterateChildrenRecursively(toursDir.get(),
-            null,
-            fileOrDir -> {
-               if (!fileOrDir.isDirectory() && tour.getTourFile().equals(fileOrDir.getName()))
-                  virtualFiles.add(fileOrDir);
-               return true;
-            });
+      for (ToursDirectories.ToursDir toursDir : ToursDirectories.getAll(project)) {
+         VfsUtilCore.iterateChildrenRecursively(toursDir.dir(),
+               null,
+               fileOrDir -> {
+                  if (!fileOrDir.isDirectory() && tour.getTourFile().equals(fileOrDir.getName()))
+                     virtualFiles.add(fileOrDir);
+                  return virtualFiles.isEmpty();
+               });
+         if (!virtualFiles.isEmpty()) break;
+      }
 
       return virtualFiles.isEmpty() ? Optional.empty() : Optional.of(virtualFiles.get(0));
    }
@@ -324,6 +461,30 @@ public class StateManager {
       return hasNextOrPrevStep(true);
    }
 
+   /**
+    * When the last Step of the active Tour is active, continues with the first Step of its next Tour (if any).
+    * Also updates the activeTour and the activeStepIndex
+    */
+   public Optional<Step> continueWithNextTour() {
+      final Optional<Tour> next = findNextTourOfLastStep();
+      if (next.isEmpty()) return Optional.empty();
+
+      LOG.info(String.format("Continuing with the next Tour '%s'%n", next.get().getTitle()));
+      setActiveTour(next.get());
+      setActiveStepIndex(0);
+      return Optional.of(next.get().getSteps().get(0));
+   }
+
+   public boolean hasNextTour() {
+      return findNextTourOfLastStep().isPresent();
+   }
+
+   private Optional<Tour> findNextTourOfLastStep() {
+      if (activeTour.isEmpty() || activeStepIndex.isEmpty() || hasNextStep()) return Optional.empty();
+      return TourChain.findNextTour(getTours(), activeTour.get())
+            .filter(next -> !next.getSteps().isEmpty());
+   }
+
    private static boolean hasNextOrPrevStep(boolean next) {
       final Optional<Tour> activeTour = getActiveTour();
       if (activeTour.isEmpty()) return false;
@@ -366,7 +527,7 @@ public class StateManager {
       final Optional<Tour> tourToActivate = getTours().stream()
             .filter(tour -> tour.getSteps().stream()
                   .filter(step -> step.getFile() != null)
-                  .anyMatch(step -> step.getFile().equals(fileName) && step.getLine() == line))
+                  .anyMatch(step -> step.getFile().equals(fileName) && step.getLineNumber() == line))
             .findFirst();
       if (tourToActivate.isEmpty()) return Optional.empty();
       setActiveTour(tourToActivate.get());
@@ -374,7 +535,7 @@ public class StateManager {
       final List<Step> steps = tourToActivate.get().getSteps();
       for (int i = 0; i < steps.size(); i++) {
          final Step step = steps.get(i);
-         if (step.getFile() != null && step.getFile().equals(fileName) && step.getLine() == line) {
+         if (step.getFile() != null && step.getFile().equals(fileName) && step.getLineNumber() == line) {
             setActiveStepIndex(i);
             return Optional.of(step);
          }
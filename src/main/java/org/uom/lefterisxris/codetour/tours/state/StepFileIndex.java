@@ -0,0 +1,84 @@
+package org.uom.lefterisxris.codetour.tours.state;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.service.StepMatcher;
+import org.uom.lefterisxris.codetour.tours.service.Utils;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Reverse index from file (name) to the Steps that reference it. Lookups never scan the tours, and the index is
+ * updated incrementally (per tour) as tours change
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class StepFileIndex {
+
+   private final Map<String, List<StepRef>> stepsPerFileName = new HashMap<>();
+
+   public synchronized void rebuild(@NotNull List<Tour> tours) {
+      stepsPerFileName.clear();
+      tours.forEach(this::add);
+   }
+
+   /**
+    * Re-indexes the Steps of the given tour
+    */
+   public synchronized void update(@NotNull Tour tour) {
+      remove(tour);
+      add(tour);
+   }
+
+   public synchronized void remove(@NotNull Tour tour) {
+      stepsPerFileName.values().forEach(refs -> refs.removeIf(ref -> ref.tour() == tour));
+      stepsPerFileName.values().removeIf(List::isEmpty);
+   }
+
+   public synchronized boolean containsFileName(@NotNull String fileName) {
+      return stepsPerFileName.containsKey(fileName);
+   }
+
+   /**
+    * @return the Steps that reference the given file name (regardless of their directory)
+    */
+   public synchronized List<StepRef> getSteps(@NotNull String fileName) {
+      return new ArrayList<>(stepsPerFileName.getOrDefault(fileName, List.of()));
+   }
+
+   /**
+    * @return the Steps that reference the given file (i.e. matching also the directory, if configured)
+    */
+   public List<StepRef> getSteps(@NotNull VirtualFile file) {
+      return getSteps(file.getName()).stream()
+            .filter(ref -> ref.stepIndex() < ref.tour().getSteps().size())
+            .filter(ref -> Utils.isFileMatchesStep(file, ref.step()))
+            .collect(Collectors.toList());
+   }
+
+   private void add(Tour tour) {
+      if (tour.getSteps() == null) return;
+
+      for (int i = 0; i < tour.getSteps().size(); i++) {
+         final Step step = tour.getSteps().get(i);
+         if (step.getFile() == null) continue;
+
+         final int stepIndex = i;
+         StepMatcher.getFileName(step.getFile()).ifPresent(fileName ->
+               stepsPerFileName.computeIfAbsent(fileName, name -> new ArrayList<>()).add(new StepRef(tour, stepIndex)));
+      }
+   }
+
+   /**
+    * A reference to a Step, through its Tour and its index
+    */
+   public record StepRef(Tour tour, int stepIndex) {
+      public Step step() {
+         return tour.getSteps().get(stepIndex);
+      }
+   }
+}
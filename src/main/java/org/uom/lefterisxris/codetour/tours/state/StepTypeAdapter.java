@@ -0,0 +1,93 @@
+package org.uom.lefterisxris.codetour.tours.state;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+
+import java.io.IOException;
+
+/**
+ * Explicit (reflection-free) json mapping of a {@link Step}. Keeps the file format unchanged, while the Step holds
+ * its line as a primitive and may load its description lazily.
+ * Reading can skip the descriptions altogether (header-only parsing)
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class StepTypeAdapter extends TypeAdapter<Step> {
+
+   private final boolean readDescriptions;
+
+   public StepTypeAdapter() {
+      this(true);
+   }
+
+   public StepTypeAdapter(boolean readDescriptions) {
+      this.readDescriptions = readDescriptions;
+   }
+
+   @Override
+   public void write(JsonWriter out, Step step) throws IOException {
+      if (step == null) {
+         out.nullValue();
+         return;
+      }
+      out.beginObject();
+      writeIfPresent(out, "title", step.getTitle());
+      writeIfPresent(out, "description", step.getDescription());
+      writeIfPresent(out, "file", step.getFile());
+      if (step.getLineNumber() != Step.NO_LINE)
+         out.name("line").value(step.getLineNumber());
+      if (step.getEndLine() != null)
+         out.name("endLine").value(step.getEndLine());
+      writeIfPresent(out, "directory", step.getDirectory());
+      writeIfPresent(out, "uri", step.getUri());
+      writeIfPresent(out, "pattern", step.getPattern());
+      writeIfPresent(out, "symbol", step.getSymbol());
+      out.endObject();
+   }
+
+   @Override
+   public Step read(JsonReader in) throws IOException {
+      if (in.peek() == JsonToken.NULL) {
+         in.nextNull();
+         return null;
+      }
+
+      final Step step = new Step();
+      in.beginObject();
+      while (in.hasNext()) {
+         final String name = in.nextName();
+         if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            continue;
+         }
+         switch (name) {
+            case "title" -> step.setTitle(in.nextString());
+            case "description" -> {
+               if (readDescriptions)
+                  step.setDescription(in.nextString());
+               else
+                  in.skipValue();
+            }
+            case "file" -> step.setFile(in.nextString());
+            case "line" -> step.setLine(in.nextInt());
+            case "endLine" -> step.setEndLine(in.nextInt());
+            case "directory" -> step.setDirectory(in.nextString());
+            case "uri" -> step.setUri(in.nextString());
+            case "pattern" -> step.setPattern(in.nextString());
+            case "symbol" -> step.setSymbol(in.nextString());
+            default -> in.skipValue();
+         }
+      }
+      in.endObject();
+      return step;
+   }
+
+   private static void writeIfPresent(JsonWriter out, String name, String value) throws IOException {
+      if (value != null)
+         out.name(name).value(value);
+   }
+}
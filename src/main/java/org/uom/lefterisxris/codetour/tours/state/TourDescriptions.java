@@ -0,0 +1,96 @@
+package org.uom.lefterisxris.codetour.tours.state;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the Step descriptions out of the heap. Descriptions are bound to the tour file they have been persisted to,
+ * and on the first access of any Step's description, the descriptions of all the Steps of the tour are read back
+ * (streaming, skipping everything else) and cached
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourDescriptions {
+
+   private static final Logger LOG = Logger.getInstance(TourDescriptions.class);
+
+   private final VirtualFile file;
+   private SoftReference<List<String>> cached = new SoftReference<>(null);
+
+   private TourDescriptions(VirtualFile file) {
+      this.file = file;
+   }
+
+   /**
+    * Binds the descriptions of the tour's Steps to the given file. Should be called only when the file
+    * reflects the tour (i.e. right after reading or writing it)
+    */
+   public static void bind(@NotNull Tour tour, @NotNull VirtualFile file) {
+      final List<Step> steps = tour.getSteps();
+      if (steps == null) return;
+
+      final TourDescriptions descriptions = new TourDescriptions(file);
+      for (int i = 0; i < steps.size(); i++) {
+         final int stepIndex = i;
+         steps.get(i).setDescriptionSource(() -> descriptions.get(stepIndex));
+      }
+   }
+
+   private synchronized String get(int stepIndex) {
+      List<String> descriptions = cached.get();
+      if (descriptions == null) {
+         descriptions = read(file);
+         cached = new SoftReference<>(descriptions);
+      }
+      return stepIndex < descriptions.size() ? descriptions.get(stepIndex) : null;
+   }
+
+   /**
+    * Reads the descriptions of all the Steps (by index) of the given tour file
+    */
+   static List<String> read(@NotNull VirtualFile file) {
+      final List<String> descriptions = new ArrayList<>();
+      try (JsonReader reader = new JsonReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+         reader.beginObject();
+         while (reader.hasNext()) {
+            if (!"steps".equals(reader.nextName()) || reader.peek() != JsonToken.BEGIN_ARRAY) {
+               reader.skipValue();
+               continue;
+            }
+            reader.beginArray();
+            while (reader.hasNext())
+               descriptions.add(readDescription(reader));
+            reader.endArray();
+         }
+      } catch (IOException | IllegalStateException e) {
+         LOG.warn("Could not read step descriptions from file: " + file.getName(), e);
+      }
+      return descriptions;
+   }
+
+   private static String readDescription(JsonReader reader) throws IOException {
+      String description = null;
+      reader.beginObject();
+      while (reader.hasNext()) {
+         if ("description".equals(reader.nextName()) && reader.peek() == JsonToken.STRING)
+            description = reader.nextString();
+         else
+            reader.skipValue();
+      }
+      reader.endObject();
+      return description;
+   }
+}
@@ -0,0 +1,123 @@
+package org.uom.lefterisxris.codetour.tours.state;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.FileDocumentManagerListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.SafeWriteRequestor;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.Alarm;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write-behind persister of the Tours. Changes are coalesced per tour file within a short debounce window, and
+ * then written through the VFS (so any opened document of the tour file stays in sync) as a safe write: the
+ * platform writes a temp file and renames it, so a crash never leaves a half-written tour file behind.
+ * Pending changes are flushed on Save All and on project close.
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourPersister implements Disposable, SafeWriteRequestor {
+
+   private static final Logger LOG = Logger.getInstance(TourPersister.class);
+   private static final int DEBOUNCE_MILLIS = 500;
+
+   private final Alarm alarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
+   private final Map<VirtualFile, Tour> pending = new LinkedHashMap<>(); // the latest state per tour file
+
+   public static TourPersister getInstance(@NotNull Project project) {
+      return project.getService(TourPersister.class);
+   }
+
+   /**
+    * Schedules the given tour to be written into the given file. Subsequent calls for the same file, within the
+    * debounce window, result in a single write
+    */
+   public synchronized void schedule(@NotNull VirtualFile file, @NotNull Tour tour) {
+      pending.put(file, tour);
+      alarm.cancelAllRequests();
+      alarm.addRequest(this::flush, DEBOUNCE_MILLIS);
+   }
+
+   /**
+    * Drops any pending write of the given file (e.g. when the file is deleted or written by other means)
+    */
+   public synchronized void discard(@NotNull VirtualFile file) {
+      pending.remove(file);
+   }
+
+   public synchronized boolean hasPendingChanges() {
+      return !pending.isEmpty();
+   }
+
+   /**
+    * Writes all the pending changes immediately
+    */
+   public void flush() {
+      final List<Map.Entry<VirtualFile, Tour>> toWrite;
+      synchronized (this) {
+         if (pending.isEmpty()) return;
+         toWrite = new ArrayList<>(pending.entrySet());
+         pending.clear();
+         alarm.cancelAllRequests();
+      }
+
+      LOG.info(String.format("Flushing %s pending tour file(s)%n", toWrite.size()));
+      for (Map.Entry<VirtualFile, Tour> entry : toWrite) {
+         try {
+            write(entry.getKey(), entry.getValue());
+         } catch (IOException e) {
+            LOG.error("Failed to write tour file: " + entry.getKey().getName(), e);
+         }
+      }
+   }
+
+   private void write(VirtualFile file, Tour tour) throws IOException {
+      if (!file.isValid()) return; // e.g. deleted meanwhile
+
+      // Streamed into the VFS output stream, which is a safe (temp file and rename) one, as this is a
+      // SafeWriteRequestor
+      WriteAction.runAndWait(() -> {
+         try (Writer writer = new BufferedWriter(
+               new OutputStreamWriter(file.getOutputStream(this), StandardCharsets.UTF_8))) {
+            TourSerializer.write(tour, writer);
+         }
+      });
+      TourDescriptions.bind(tour, file);
+   }
+
+   @Override
+   public void dispose() {
+      // Project is closing. Make sure nothing is lost
+      flush();
+   }
+
+   /**
+    * Flushes the pending tour changes on Save All
+    */
+   public static class SaveAllListener implements FileDocumentManagerListener {
+      private final Project project;
+
+      public SaveAllListener(Project project) {
+         this.project = project;
+      }
+
+      @Override
+      public void beforeAllDocumentsSaving() {
+         getInstance(project).flush();
+      }
+   }
+}
@@ -0,0 +1,172 @@
+package org.uom.lefterisxris.codetour.tours.state;
+
+import com.intellij.openapi.components.PersistentStateComponentWithModificationTracker;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.components.StoragePathMacros;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.service.TourPlayback;
+
+import java.util.*;
+
+/**
+ * The progress of the user on the Tours of the project (per user, as it is stored on the workspace file): the last
+ * active Tour, and per Tour its last Step and the completed (visited) Steps as a bitset.
+ * Reads are O(1), for rendering the completion marks on the tree. Navigation only updates the progress in memory;
+ * it is written along with the workspace file when the platform saves it (so any number of navigations in between
+ * are coalesced into a single write), and not at all if nothing changed since
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+@State(name = "CodeTourProgress", storages = @Storage(StoragePathMacros.WORKSPACE_FILE))
+public class TourProgress implements PersistentStateComponentWithModificationTracker<TourProgress.ProgressState> {
+
+   private final Map<String, Progress> progressPerTour = new HashMap<>();
+   private String activeTourKey;
+   private long modificationCount;
+
+   public static TourProgress getInstance(@NotNull Project project) {
+      return project.getService(TourProgress.class);
+   }
+
+   /**
+    * Marks the given Step as completed and as the last Step of its Tour, which becomes the active one
+    */
+   public synchronized void onStepActivated(@NotNull Tour tour, int stepIndex) {
+      final String key = TourPlayback.getTourKey(tour);
+      final Progress progress = progressPerTour.computeIfAbsent(key, k -> new Progress());
+      if (progress.lastStep == stepIndex && progress.completed.get(stepIndex) && key.equals(activeTourKey)) return;
+
+      progress.lastStep = stepIndex;
+      if (!progress.completed.get(stepIndex)) {
+         progress.completed.set(stepIndex);
+         progress.completedCount++;
+      }
+      activeTourKey = key;
+      modificationCount++;
+   }
+
+   public synchronized boolean isCompleted(@NotNull Tour tour, int stepIndex) {
+      final Progress progress = progressPerTour.get(TourPlayback.getTourKey(tour));
+      return progress != null && progress.completed.get(stepIndex);
+   }
+
+   public synchronized int getCompletedCount(@NotNull Tour tour) {
+      final Progress progress = progressPerTour.get(TourPlayback.getTourKey(tour));
+      return progress != null ? Math.min(progress.completedCount, tour.getSteps().size()) : 0;
+   }
+
+   /**
+    * @return the last Step of the given Tour that the user navigated to (if still within the Tour)
+    */
+   public synchronized Optional<Integer> getLastStep(@NotNull Tour tour) {
+      final Progress progress = progressPerTour.get(TourPlayback.getTourKey(tour));
+      return progress != null && progress.lastStep >= 0 && progress.lastStep < tour.getSteps().size()
+            ? Optional.of(progress.lastStep)
+            : Optional.empty();
+   }
+
+   /**
+    * @return the Tour (among the given ones) that was active last, e.g. before a restart
+    */
+   public synchronized Optional<Tour> findActiveTour(@NotNull List<Tour> tours) {
+      if (activeTourKey == null) return Optional.empty();
+      return tours.stream().filter(tour -> activeTourKey.equals(TourPlayback.getTourKey(tour))).findFirst();
+   }
+
+   public synchronized void reset(@NotNull Tour tour) {
+      final String key = TourPlayback.getTourKey(tour);
+      if (progressPerTour.remove(key) == null) return;
+      if (key.equals(activeTourKey))
+         activeTourKey = null;
+      modificationCount++;
+   }
+
+   /**
+    * Moves the progress of a Tour along with its Steps, e.g. once they are re-arranged or deleted (and on undo/redo)
+    *
+    * @param keyBefore  the key of the Tour before the change (see {@link TourPlayback#getTourKey(Tour)})
+    * @param keyAfter   the key of the Tour after the change
+    * @param newIndexes the new index of each Step, per previous index (negative for the removed Steps)
+    */
+   public synchronized void remap(@NotNull String keyBefore, @NotNull String keyAfter, int @NotNull [] newIndexes) {
+      final Progress progress = progressPerTour.remove(keyBefore);
+      if (progress == null) return;
+
+      final Progress remapped = new Progress();
+      for (int bit = progress.completed.nextSetBit(0); bit >= 0; bit = progress.completed.nextSetBit(bit + 1)) {
+         if (bit < newIndexes.length && newIndexes[bit] >= 0)
+            remapped.completed.set(newIndexes[bit]);
+      }
+      remapped.completedCount = remapped.completed.cardinality();
+      remapped.lastStep = progress.lastStep >= 0 && progress.lastStep < newIndexes.length
+            ? newIndexes[progress.lastStep]
+            : -1;
+      progressPerTour.put(keyAfter, remapped);
+      if (keyBefore.equals(keyAfter) && remapped.completed.equals(progress.completed)
+            && remapped.lastStep == progress.lastStep) return; // e.g. only the lines of the Steps changed
+
+      if (keyBefore.equals(activeTourKey))
+         activeTourKey = keyAfter;
+      modificationCount++;
+   }
+
+   @Override
+   public synchronized ProgressState getState() {
+      final ProgressState state = new ProgressState();
+      state.activeTour = activeTourKey;
+      progressPerTour.forEach((key, progress) -> {
+         final TourState tourState = new TourState();
+         tourState.lastStep = progress.lastStep;
+         tourState.completed = Base64.getEncoder().encodeToString(progress.completed.toByteArray());
+         state.tours.put(key, tourState);
+      });
+      return state;
+   }
+
+   @Override
+   public synchronized void loadState(@NotNull ProgressState state) {
+      progressPerTour.clear();
+      activeTourKey = state.activeTour;
+      state.tours.forEach((key, tourState) -> {
+         final Progress progress = new Progress();
+         progress.lastStep = tourState.lastStep;
+         try {
+            progress.completed = tourState.completed != null
+                  ? BitSet.valueOf(Base64.getDecoder().decode(tourState.completed))
+                  : new BitSet();
+         } catch (IllegalArgumentException e) {
+            progress.completed = new BitSet(); // e.g. edited by hand
+         }
+         progress.completedCount = progress.completed.cardinality();
+         progressPerTour.put(key, progress);
+      });
+   }
+
+   @Override
+   public synchronized long getStateModificationCount() {
+      return modificationCount;
+   }
+
+   private static class Progress {
+      private int lastStep = -1;
+      private BitSet completed = new BitSet();
+      private int completedCount; // cardinality of completed, kept for O(1) reads
+   }
+
+   /**
+    * The persisted form of the progress
+    */
+   public static class ProgressState {
+      public String activeTour;
+      public Map<String, TourState> tours = new HashMap<>();
+   }
+
+   public static class TourState {
+      public int lastStep = -1;
+      public String completed = ""; // the bitset of the completed Steps, Base64 encoded
+   }
+}
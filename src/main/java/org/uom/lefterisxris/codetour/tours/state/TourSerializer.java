@@ -0,0 +1,100 @@
+package org.uom.lefterisxris.codetour.tours.state;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.service.AppSettingsState;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.LocalDateTime;
+
+/**
+ * (De)Serializes Tours from/to their json representation. Writing is streamed directly into the target writer,
+ * either pretty printed or compact, according to the User Settings
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourSerializer {
+
+   private static final String INDENT = "  ";
+
+   private static final Gson GSON = new GsonBuilder()
+         .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+         .registerTypeAdapter(Step.class, new StepTypeAdapter())
+         .create();
+
+   // Reads only the tour headers and the step locations. Step descriptions are skipped by the streaming reader
+   private static final Gson HEADERS_GSON = new GsonBuilder()
+         .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+         .registerTypeAdapter(Step.class, new StepTypeAdapter(false))
+         .create();
+
+   public static Tour read(@NotNull Reader reader) {
+      return GSON.fromJson(reader, Tour.class);
+   }
+
+   /**
+    * Reads the given tour without its step descriptions. These should be loaded on demand (see
+    * {@link TourDescriptions})
+    */
+   public static Tour readHeaders(@NotNull Reader reader) {
+      return HEADERS_GSON.fromJson(reader, Tour.class);
+   }
+
+   /**
+    * Streams the json representation of the given tour into the given writer. The writer is flushed but not closed
+    */
+   public static void write(@NotNull Tour tour, @NotNull Writer writer) throws IOException {
+      final JsonWriter jsonWriter = GSON.newJsonWriter(writer);
+      if (isPretty(tour))
+         jsonWriter.setIndent(INDENT);
+      GSON.toJson(tour, Tour.class, jsonWriter);
+      jsonWriter.flush();
+   }
+
+   public static String toJson(@NotNull Tour tour) {
+      final StringWriter writer = new StringWriter();
+      try {
+         write(tour, writer);
+      } catch (IOException e) {
+         // Cannot happen on an in-memory writer
+         throw new IllegalStateException(e);
+      }
+      return writer.toString();
+   }
+
+   private static boolean isPretty(Tour tour) {
+      final AppSettingsState settings = AppSettingsState.getInstance();
+      return switch (settings.getSerializationMode()) {
+         case PRETTY -> true;
+         case COMPACT -> false;
+         case PRETTY_UNDER_THRESHOLD -> estimateSize(tour) < settings.getPrettyThresholdKb() * 1024L;
+      };
+   }
+
+   /**
+    * A cheap estimation of the (compact) serialized size of the given tour, without serializing it
+    */
+   static long estimateSize(Tour tour) {
+      long size = length(tour.getId()) + length(tour.getTourFile()) + length(tour.getTitle())
+            + length(tour.getDescription()) + length(tour.getNextTour()) + 128;
+      if (tour.getSteps() != null) {
+         for (Step step : tour.getSteps()) {
+            size += length(step.getTitle()) + length(step.getDescription()) + length(step.getFile())
+                  + length(step.getDirectory()) + length(step.getUri()) + length(step.getPattern()) + 96;
+         }
+      }
+      return size;
+   }
+
+   private static int length(String value) {
+      return value != null ? value.length() : 0;
+   }
+}
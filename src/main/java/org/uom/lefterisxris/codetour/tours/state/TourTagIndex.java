@@ -0,0 +1,109 @@
+package org.uom.lefterisxris.codetour.tours.state;
+
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+
+import java.util.*;
+
+/**
+ * The tags of the Tours, precomputed as a bitset per tour (each tag is assigned a bit). A tag filter is turned into
+ * a bitset once, so filtering any number of tours is a few word operations per tour: no tour is re-read, and the
+ * tours keep their (already sorted) order. The index is updated incrementally (per tour) as tours change
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourTagIndex {
+
+   private final Map<String, Integer> bitPerTag = new HashMap<>();
+   private final List<Integer> toursPerBit = new ArrayList<>(); // the number of tours that have each tag
+   private final Map<Tour, BitSet> tagsPerTour = new IdentityHashMap<>();
+
+   public synchronized void rebuild(@NotNull List<Tour> tours) {
+      bitPerTag.clear();
+      toursPerBit.clear();
+      tagsPerTour.clear();
+      tours.forEach(this::add);
+   }
+
+   /**
+    * Re-indexes the tags of the given tour
+    */
+   public synchronized void update(@NotNull Tour tour) {
+      remove(tour);
+      add(tour);
+   }
+
+   public synchronized void remove(@NotNull Tour tour) {
+      final BitSet tags = tagsPerTour.remove(tour);
+      if (tags != null)
+         tags.stream().forEach(bit -> toursPerBit.set(bit, toursPerBit.get(bit) - 1));
+   }
+
+   /**
+    * @return the bitset of the given tags, to filter with (see {@link #matches(Tour, BitSet)}). Unknown tags are
+    * ignored, as no tour has them
+    */
+   public synchronized BitSet toBits(@NotNull Collection<String> tags) {
+      final BitSet bits = new BitSet();
+      tags.forEach(tag -> Optional.ofNullable(bitPerTag.get(normalize(tag))).ifPresent(bits::set));
+      return bits;
+   }
+
+   /**
+    * @return whether the given tour has all the tags of the given bitset (i.e. always, for an empty one)
+    */
+   public synchronized boolean matches(@NotNull Tour tour, @NotNull BitSet tagBits) {
+      if (tagBits.isEmpty()) return true;
+
+      final BitSet tags = tagsPerTour.get(tour);
+      if (tags == null) return false;
+      for (int bit = tagBits.nextSetBit(0); bit >= 0; bit = tagBits.nextSetBit(bit + 1)) {
+         if (!tags.get(bit)) return false;
+      }
+      return true;
+   }
+
+   /**
+    * @return the tags of the tours (in use), sorted alphabetically, along with the number of tours that have them
+    */
+   public synchronized SortedMap<String, Integer> getTags() {
+      final SortedMap<String, Integer> tags = new TreeMap<>(String.CASE_INSENSITIVE_ORDER
+            .thenComparing(Comparator.naturalOrder()));
+      bitPerTag.forEach((tag, bit) -> {
+         if (toursPerBit.get(bit) > 0)
+            tags.put(tag, toursPerBit.get(bit));
+      });
+      return tags;
+   }
+
+   /**
+    * @return the (trimmed, non-blank and distinct) tags of the given tour
+    */
+   public static List<String> getTags(@NotNull Tour tour) {
+      if (tour.getTags() == null) return List.of();
+      return tour.getTags().stream()
+            .filter(Objects::nonNull)
+            .map(TourTagIndex::normalize)
+            .filter(tag -> !tag.isEmpty())
+            .distinct()
+            .toList();
+   }
+
+   private void add(Tour tour) {
+      final BitSet tags = new BitSet();
+      for (String tag : getTags(tour)) {
+         final int bit = bitPerTag.computeIfAbsent(tag, t -> {
+            toursPerBit.add(0);
+            return toursPerBit.size() - 1;
+         });
+         tags.set(bit);
+         toursPerBit.set(bit, toursPerBit.get(bit) + 1);
+      }
+      tagsPerTour.put(tour, tags);
+   }
+
+   private static String normalize(String tag) {
+      return tag.trim();
+   }
+}
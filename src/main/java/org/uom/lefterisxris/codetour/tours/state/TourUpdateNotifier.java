@@ -4,6 +4,9 @@ import com.intellij.util.messages.Topic;
 import org.uom.lefterisxris.codetour.tours.domain.Tour;
 
 /**
+ * Notifies the UI to re-render the Tours. The in-memory Tours should be up-to-date when publishing (i.e. either
+ * updated through {@link StateManager#updateTour(Tour)}, or reloaded), as the subscribers do not reload them
+ *
  * @author Eleftherios Chrysochoidis
  * Date: 8/5/2022
  */
@@ -11,5 +14,8 @@ public interface TourUpdateNotifier {
 
    Topic<TourUpdateNotifier> TOPIC = Topic.create("Tour UI Update", TourUpdateNotifier.class);
 
+   /**
+    * @param tour The Tour to select (looked up by its id or file, so it may be a stale instance), or null
+    */
    void tourUpdated(Tour tour);
 }
@@ -0,0 +1,124 @@
+package org.uom.lefterisxris.codetour.tours.state;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileEditor.FileEditorManagerListener;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.uom.lefterisxris.codetour.tours.domain.Props;
+import org.uom.lefterisxris.codetour.tours.service.AppSettingsState;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Discovers the <code>.tours</code> directories of a project: the one of the project directory, plus one per content
+ * root of each module (e.g. on a monorepo). On {@link AppSettingsState.ToursScopeE#OPENED_MODULES} scope, only the
+ * directories of the project and of the modules with opened files are loaded, and the rest are loaded once a file
+ * of their module is opened
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class ToursDirectories {
+
+   /**
+    * @return all the <code>.tours</code> directories of the given project, the one of the project directory first
+    */
+   public static List<ToursDir> getAll(@NotNull Project project) {
+      final Map<VirtualFile, ToursDir> dirs = new LinkedHashMap<>();
+      findToursDir(ProjectUtil.guessProjectDir(project)).ifPresent(dir -> dirs.put(dir, new ToursDir(null, dir)));
+
+      ReadAction.run(() -> {
+         for (Module module : ModuleManager.getInstance(project).getModules()) {
+            for (VirtualFile contentRoot : ModuleRootManager.getInstance(module).getContentRoots())
+               findToursDir(contentRoot).ifPresent(dir -> dirs.putIfAbsent(dir, new ToursDir(module, dir)));
+         }
+      });
+      return new ArrayList<>(dirs.values());
+   }
+
+   /**
+    * @return the <code>.tours</code> directories to load, according to the loading scope of User Settings
+    */
+   public static List<ToursDir> getInScope(@NotNull Project project) {
+      final List<ToursDir> dirs = getAll(project);
+      if (AppSettingsState.getInstance().getToursScope() != AppSettingsState.ToursScopeE.OPENED_MODULES)
+         return dirs;
+
+      final Set<Module> openedModules = getOpenedModules(project);
+      return dirs.stream()
+            .filter(dir -> dir.module() == null || openedModules.contains(dir.module()))
+            .collect(Collectors.toList());
+   }
+
+   /**
+    * @return whether the tours of the given file (i.e. of its module) should be loaded, according to the loading scope
+    */
+   public static boolean isInScope(@NotNull Project project, @NotNull VirtualFile file) {
+      if (AppSettingsState.getInstance().getToursScope() != AppSettingsState.ToursScopeE.OPENED_MODULES)
+         return true;
+
+      final Module module = ReadAction.compute(() -> ModuleUtilCore.findModuleForFile(file, project));
+      return module == null || getOpenedModules(project).contains(module);
+   }
+
+   private static Set<Module> getOpenedModules(Project project) {
+      return ReadAction.compute(() -> Arrays.stream(FileEditorManager.getInstance(project).getOpenFiles())
+            .map(file -> ModuleUtilCore.findModuleForFile(file, project))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet()));
+   }
+
+   private static Optional<VirtualFile> findToursDir(@Nullable VirtualFile root) {
+      if (root == null || !root.isValid()) return Optional.empty();
+
+      final VirtualFile dir = root.findChild(Props.TOURS_DIR);
+      return dir != null && dir.isDirectory() ? Optional.of(dir) : Optional.empty();
+   }
+
+   /**
+    * A <code>.tours</code> directory and its module (null for the one of the project directory)
+    */
+   public record ToursDir(@Nullable Module module, @NotNull VirtualFile dir) {}
+
+   /**
+    * Loads the tours of a module, the first time that a file of the module is opened (on module-scoped loading)
+    */
+   public static class ScopeListener implements FileEditorManagerListener {
+      private final Project project;
+
+      public ScopeListener(Project project) {
+         this.project = project;
+      }
+
+      @Override
+      public void fileOpened(@NotNull FileEditorManager source, @NotNull VirtualFile file) {
+         if (AppSettingsState.getInstance().getToursScope() != AppSettingsState.ToursScopeE.OPENED_MODULES) return;
+
+         final Module module = ModuleUtilCore.findModuleForFile(file, project);
+         if (module == null) return;
+
+         // No tours loaded yet, so the ones of the module (now in scope) are loaded on first access
+         final ToursState state = ToursState.getInstance(project);
+         if (state.getTours().isEmpty()) return;
+
+         final Set<VirtualFile> loadedDirs = state.getLoadedDirs();
+         final List<VirtualFile> unloadedDirs = getAll(project).stream()
+               .filter(dir -> module.equals(dir.module()) && !loadedDirs.contains(dir.dir()))
+               .map(ToursDir::dir)
+               .toList();
+         if (unloadedDirs.isEmpty()) return;
+
+         // Load only the directories of the module, off the EDT
+         new StateManager(project).loadToursDirsAsync(unloadedDirs);
+      }
+   }
+}
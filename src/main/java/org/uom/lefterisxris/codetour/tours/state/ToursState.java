@@ -1,23 +1,103 @@
 package org.uom.lefterisxris.codetour.tours.state;
 
-
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.containers.Interner;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
 import org.uom.lefterisxris.codetour.tours.domain.Tour;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
+/**
+ * The in-memory Tours of a project, shared among all the {@link StateManager} instances of the project
+ */
 public class ToursState {
 
    private final List<Tour> tours = new ArrayList<>();
+   // Steps of many tours point to the same few files, so their paths are de-duplicated per project
+   private final Interner<String> interner = Interner.createWeakInterner();
+   private final StepFileIndex fileIndex = new StepFileIndex();
+   private final TourTagIndex tagIndex = new TourTagIndex();
+   private final Map<Tour, VirtualFile> tourFiles = new IdentityHashMap<>(); // the file that each tour was read from
+   private final Set<VirtualFile> loadedDirs = new HashSet<>(); // the '.tours' directories currently loaded
+   private int generation;
 
    public ToursState() {
    }
 
+   public static ToursState getInstance(@NotNull Project project) {
+      return project.getService(ToursState.class);
+   }
+
    public List<Tour> getTours() {
       return tours;
    }
 
-   public void clear() {
+   public StepFileIndex getFileIndex() {
+      return fileIndex;
+   }
+
+   public TourTagIndex getTagIndex() {
+      return tagIndex;
+   }
+
+   public synchronized Optional<VirtualFile> getTourFile(@NotNull Tour tour) {
+      return Optional.ofNullable(tourFiles.get(tour)).filter(VirtualFile::isValid);
+   }
+
+   public synchronized void setTourFile(@NotNull Tour tour, @NotNull VirtualFile file) {
+      tourFiles.put(tour, file);
+   }
+
+   public synchronized void removeTourFile(@NotNull Tour tour) {
+      tourFiles.remove(tour);
+   }
+
+   public synchronized Set<VirtualFile> getLoadedDirs() {
+      return new HashSet<>(loadedDirs);
+   }
+
+   public synchronized void setLoadedDirs(@NotNull Collection<VirtualFile> dirs) {
+      loadedDirs.clear();
+      loadedDirs.addAll(dirs);
+   }
+
+   /**
+    * Marks the given directories as loaded
+    *
+    * @return the ones that were not loaded already (i.e. that the caller should load)
+    */
+   public synchronized List<VirtualFile> markLoaded(@NotNull Collection<VirtualFile> dirs) {
+      return dirs.stream().filter(loadedDirs::add).toList();
+   }
+
+   /**
+    * @return the number of times that the state got cleared, to tell whether an asynchronous load is still current
+    */
+   public synchronized int getGeneration() {
+      return generation;
+   }
+
+   /**
+    * De-duplicates the (file and directory) paths of the given tour's steps
+    */
+   public synchronized Tour intern(@NotNull Tour tour) {
+      if (tour.getSteps() == null) return tour;
+
+      for (Step step : tour.getSteps()) {
+         if (step.getFile() != null)
+            step.setFile(interner.intern(step.getFile()));
+         if (step.getDirectory() != null)
+            step.setDirectory(interner.intern(step.getDirectory()));
+      }
+      return tour;
+   }
+
+   public synchronized void clear() {
       this.tours.clear();
+      this.tourFiles.clear();
+      this.loadedDirs.clear();
+      this.generation++;
    }
 }
\ No newline at end of file
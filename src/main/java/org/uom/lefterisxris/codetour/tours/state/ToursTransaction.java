@@ -0,0 +1,232 @@
+package org.uom.lefterisxris.codetour.tours.state;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.command.undo.GlobalUndoableAction;
+import com.intellij.openapi.command.undo.UndoManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.service.TourPlayback;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Batches many mutations over one or more Tours. Mutations are staged in memory and on {@link #commit()}
+ * they are applied and persisted with a single write per affected tour file, followed by a single state reload.
+ * The whole commit is registered as one undoable command.
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class ToursTransaction {
+
+   private static final Logger LOG = Logger.getInstance(ToursTransaction.class);
+
+   private final Project project;
+   private final StateManager stateManager;
+   private final String name;
+
+   // Tours are mutable and use value-based equality, so they are tracked by identity
+   private final Map<Tour, List<Consumer<Tour>>> mutations = new IdentityHashMap<>();
+   private final Set<Tour> deletions = Collections.newSetFromMap(new IdentityHashMap<>());
+   private boolean committed = false;
+   private Object groupId; // to be undone along with the commands of the same group (if any)
+
+   ToursTransaction(@NotNull Project project, @NotNull StateManager stateManager, @NotNull String name) {
+      this.project = project;
+      this.stateManager = stateManager;
+      this.name = name;
+   }
+
+   /**
+    * Stages a mutation on the given tour. Nothing is applied until the transaction is committed
+    */
+   public ToursTransaction modify(@NotNull Tour tour, @NotNull Consumer<Tour> mutation) {
+      checkNotCommitted();
+      mutations.computeIfAbsent(tour, t -> new ArrayList<>()).add(mutation);
+      return this;
+   }
+
+   /**
+    * Stages the deletion of the given tour (and its file)
+    */
+   public ToursTransaction delete(@NotNull Tour tour) {
+      checkNotCommitted();
+      mutations.remove(tour);
+      deletions.add(tour);
+      return this;
+   }
+
+   /**
+    * Merges the commit into the undoable commands of the given group, e.g. of the change that it follows up on
+    */
+   public ToursTransaction withGroupId(@Nullable Object groupId) {
+      checkNotCommitted();
+      this.groupId = groupId;
+      return this;
+   }
+
+   public boolean isEmpty() {
+      return mutations.isEmpty() && deletions.isEmpty();
+   }
+
+   /**
+    * Applies all the staged mutations, writes every affected tour file once and reloads the state once
+    *
+    * @return the affected (modified or deleted) tours
+    */
+   public List<Tour> commit() {
+      checkNotCommitted();
+      committed = true;
+      final List<Tour> affected = new ArrayList<>(mutations.keySet());
+      affected.addAll(deletions);
+      if (affected.isEmpty()) return affected;
+
+      LOG.info(String.format("Committing '%s': %s modified and %s deleted tours%n",
+            name, mutations.size(), deletions.size()));
+
+      final TourPersister persister = TourPersister.getInstance(project);
+      final TourProgress progress = TourProgress.getInstance(project);
+      WriteCommandAction.runWriteCommandAction(project, name, groupId, () -> {
+         final List<TourFileChange> changes = new ArrayList<>();
+         final List<ProgressChange> progressChanges = new ArrayList<>();
+         mutations.forEach((tour, tourMutations) -> {
+            final Optional<VirtualFile> file = stateManager.findTourFile(tour);
+            file.ifPresent(persister::discard);
+            final byte[] before = file.map(ToursTransaction::contentOf).orElse(null);
+            final String keyBefore = TourPlayback.getTourKey(tour);
+            final List<Step> stepsBefore = new ArrayList<>(tour.getSteps());
+            tourMutations.forEach(mutation -> mutation.accept(tour));
+            final byte[] after = TourSerializer.toJson(tour).getBytes(StandardCharsets.UTF_8);
+            file.ifPresent(f -> changes.add(new TourFileChange(f.getParent(), f.getName(), before, after)));
+            progressChanges.add(ProgressChange.of(keyBefore, stepsBefore, tour));
+         });
+         deletions.forEach(tour -> stateManager.findTourFile(tour).ifPresent(f -> {
+            persister.discard(f);
+            changes.add(new TourFileChange(f.getParent(), f.getName(), contentOf(f), null));
+         }));
+
+         changes.forEach(change -> change.apply(false));
+         // The progress is kept per Step index, so it follows the Steps (a deleted Tour has no progress to keep)
+         progressChanges.forEach(change -> change.apply(progress, false));
+         deletions.forEach(progress::reset);
+         UndoManager.getInstance(project).undoableActionPerformed(
+               new ToursUndoableAction(changes, progressChanges, affected.get(0)));
+      });
+
+      stateManager.reloadState();
+      return affected;
+   }
+
+   private void checkNotCommitted() {
+      if (committed)
+         throw new IllegalStateException(String.format("Transaction '%s' has already been committed", name));
+   }
+
+   private static byte[] contentOf(VirtualFile file) {
+      try {
+         return file.contentsToByteArray();
+      } catch (IOException e) {
+         LOG.error("Failed to read tour file: " + file.getName(), e);
+         return null;
+      }
+   }
+
+   /**
+    * The content of a tour file before and after the transaction. A null content means that the file does not exist
+    */
+   private record TourFileChange(VirtualFile dir, String fileName, byte[] before, byte[] after) {
+
+      void apply(boolean undo) {
+         final byte[] content = undo ? before : after;
+         try {
+            final VirtualFile file = dir.findChild(fileName);
+            if (content == null) {
+               if (file != null)
+                  file.delete(ToursTransaction.class);
+               return;
+            }
+            final VirtualFile target = file != null ? file : dir.createChildData(ToursTransaction.class, fileName);
+            target.setBinaryContent(content);
+         } catch (IOException e) {
+            LOG.error("Failed to write tour file: " + fileName, e);
+         }
+      }
+   }
+
+   /**
+    * How the Steps of a tour moved: the index of each Step after the transaction, per index before it, and vice versa.
+    * Negative indexes stand for the added or removed Steps
+    */
+   private record ProgressChange(String keyBefore, String keyAfter, int[] indexesAfter, int[] indexesBefore) {
+
+      static ProgressChange of(String keyBefore, List<Step> stepsBefore, Tour tour) {
+         // Steps use value-based equality, so they are matched by identity
+         final Map<Step, Integer> indexAfter = new IdentityHashMap<>();
+         for (int i = 0; i < tour.getSteps().size(); i++)
+            indexAfter.put(tour.getSteps().get(i), i);
+
+         final int[] indexesAfter = new int[stepsBefore.size()];
+         final int[] indexesBefore = new int[tour.getSteps().size()];
+         Arrays.fill(indexesBefore, -1);
+         for (int i = 0; i < stepsBefore.size(); i++) {
+            indexesAfter[i] = indexAfter.getOrDefault(stepsBefore.get(i), -1);
+            if (indexesAfter[i] >= 0)
+               indexesBefore[indexesAfter[i]] = i;
+         }
+         return new ProgressChange(keyBefore, TourPlayback.getTourKey(tour), indexesAfter, indexesBefore);
+      }
+
+      void apply(TourProgress progress, boolean undo) {
+         if (undo)
+            progress.remap(keyAfter, keyBefore, indexesBefore);
+         else
+            progress.remap(keyBefore, keyAfter, indexesAfter);
+      }
+   }
+
+   /**
+    * Restores (or re-applies) all the tour files of a committed transaction at once
+    */
+   private class ToursUndoableAction extends GlobalUndoableAction {
+      private final List<TourFileChange> changes;
+      private final List<ProgressChange> progressChanges;
+      private final String tourToSelect; // the key of the tour, as its instance is replaced on every reload
+
+      ToursUndoableAction(List<TourFileChange> changes, List<ProgressChange> progressChanges, Tour tourToSelect) {
+         this.changes = changes;
+         this.progressChanges = progressChanges;
+         this.tourToSelect = TourPlayback.getTourKey(tourToSelect);
+      }
+
+      @Override
+      public void undo() {
+         changes.forEach(change -> change.apply(true));
+         progressChanges.forEach(change -> change.apply(TourProgress.getInstance(project), true));
+         refresh();
+      }
+
+      @Override
+      public void redo() {
+         changes.forEach(change -> change.apply(false));
+         progressChanges.forEach(change -> change.apply(TourProgress.getInstance(project), false));
+         refresh();
+      }
+
+      private void refresh() {
+         // A single reload (of the restored files) and a single UI refresh, which does not reload again
+         final Tour reloaded = stateManager.reloadState().stream()
+               .filter(tour -> tourToSelect.equals(TourPlayback.getTourKey(tour)))
+               .findFirst()
+               .orElse(null);
+         project.getMessageBus().syncPublisher(TourUpdateNotifier.TOPIC).tourUpdated(reloaded);
+      }
+   }
+}
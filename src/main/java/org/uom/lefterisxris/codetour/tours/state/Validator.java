@@ -1,8 +1,8 @@
 package org.uom.lefterisxris.codetour.tours.state;
 
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.ui.MessageDialogBuilder;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.search.FilenameIndex;
 import com.intellij.psi.search.GlobalSearchScope;
@@ -10,10 +10,12 @@ import org.jetbrains.annotations.NotNull;
 import org.uom.lefterisxris.codetour.tours.domain.OnboardingAssistant;
 import org.uom.lefterisxris.codetour.tours.domain.Step;
 import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.service.StepMatcher;
+import org.uom.lefterisxris.codetour.tours.service.StepSymbols;
+import org.uom.lefterisxris.codetour.tours.service.TourChain;
 import org.uom.lefterisxris.codetour.tours.service.Utils;
 import org.uom.lefterisxris.codetour.tours.ui.CodeTourNotifier;
 
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -31,16 +33,26 @@ public class Validator {
 
       LOG.info("CodeTours Validation started at: " + LocalDateTime.now());
       final List<String> errors = new ArrayList<>();
+      final StepSymbols symbols = StepSymbols.getInstance(project);
 
       // All steps should point to a valid file reference (if configured)
       for (Tour tour : tours) {
          if (tour.getTitle().equals(OnboardingAssistant.ONBOARD_ASSISTANT_TITLE)) continue;
 
          for (Step step : tour.getSteps()) {
+            // Symbol anchored Steps are valid as long as their symbol resolves (otherwise their file is checked)
+            if (step.getSymbol() != null && !DumbService.isDumb(project)) {
+               if (symbols.resolve(step).isPresent()) continue;
+               if (step.getFile() == null) {
+                  errors.add(String.format("Step '%s' of Tour '%s' points to a non valid symbol: '%s'!\n",
+                        step.getTitle(), tour.getTitle(), step.getSymbol()));
+                  continue;
+               }
+            }
             if (step.getFile() == null) continue;
 
             // Try finding the appropriate file
-            final String stepFileName = Paths.get(step.getFile()).getFileName().toString();
+            final String stepFileName = StepMatcher.getFileName(step.getFile()).orElse(step.getFile());
             final List<VirtualFile> validVirtualFiles = FilenameIndex
                   .getVirtualFilesByName(stepFileName, GlobalSearchScope.projectScope(project)).stream()
                   .filter(file -> Utils.isFileMatchesStep(file, step))
@@ -54,16 +66,23 @@ public class Validator {
          }
       }
 
+      // Chained Tours ('nextTour') should exist and should not form a cycle
+      final List<String> chainErrors = TourChain.findChainProblems(tours.stream()
+            .filter(tour -> !tour.getTitle().equals(OnboardingAssistant.ONBOARD_ASSISTANT_TITLE))
+            .collect(Collectors.toList()));
+
       LOG.info(String.format("CodeTours Validation completed at: %s. Found %s errors",
-            LocalDateTime.now(), errors.size()));
+            LocalDateTime.now(), errors.size() + chainErrors.size()));
 
-      // If errors found,
+      // If errors found, just notify. The broken Steps are highlighted on the tour files (BrokenTourStepsInspection)
       if (!errors.isEmpty()) {
-         final String title = String.format("%s Invalid Steps Found!", errors.size());
-         errors.add("You might want to fix them for better Code Navigation.");
-         final String content = String.join("\n", errors);
-         MessageDialogBuilder.okCancel(title, content).ask(project);
-         CodeTourNotifier.warn(project, title);
+         errors.forEach(error -> LOG.warn(error.trim()));
+         CodeTourNotifier.warn(project, String.format("%s Invalid Steps Found! Open their tour files to see " +
+               "them highlighted", errors.size()));
+      }
+      if (!chainErrors.isEmpty()) {
+         chainErrors.forEach(LOG::warn);
+         CodeTourNotifier.warn(project, String.join("<br/>", chainErrors));
       }
    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package org.uom.lefterisxris.codetour.tours.ui;
 
 import com.intellij.openapi.ui.ComboBox;
+import com.intellij.ui.JBIntSpinner;
 import com.intellij.ui.components.JBCheckBox;
 import com.intellij.ui.components.JBLabel;
 import com.intellij.util.ui.FormBuilder;
@@ -22,6 +23,17 @@ public class AppSettingsComponent {
          new ComboBox<>(AppSettingsState.SortOptionE.values());
    private final ComboBox<AppSettingsState.SortDirectionE> sortDirection =
          new ComboBox<>(AppSettingsState.SortDirectionE.values());
+   private final ComboBox<AppSettingsState.SerializationModeE> serializationMode =
+         new ComboBox<>(AppSettingsState.SerializationModeE.values());
+   private final JBIntSpinner prettyThresholdKb = new JBIntSpinner(64, 1, 100 * 1024);
+   private final ComboBox<AppSettingsState.ToursScopeE> toursScope =
+         new ComboBox<>(AppSettingsState.ToursScopeE.values());
+   private final JBCheckBox writeBackStepLinesCb =
+         new JBCheckBox("Update the Step lines on tour files, when edits on a file shift them (on save)");
+   private final JBCheckBox showToursCoverageCb =
+         new JBCheckBox("Show the tours coverage (Steps per directory) on the Project View");
+   private final JBCheckBox recordPlaybackCb =
+         new JBCheckBox("Record the tours playback locally (time spent and drop-offs per Step)");
 
    public AppSettingsComponent() {
 
@@ -30,6 +42,12 @@ public class AppSettingsComponent {
             // .addComponent(new TitledSeparator())
             .addLabeledComponent(new JBLabel("Tours sort option:"), sortOption, 2)
             .addLabeledComponent(new JBLabel("Sort direction: ascending / descending"), sortDirection, 3)
+            .addLabeledComponent(new JBLabel("Tour files format:"), serializationMode, 4)
+            .addLabeledComponent(new JBLabel("Pretty print tours smaller than (KB):"), prettyThresholdKb, 5)
+            .addComponent(writeBackStepLinesCb, 6)
+            .addLabeledComponent(new JBLabel("Load the tours of:"), toursScope, 7)
+            .addComponent(showToursCoverageCb, 8)
+            .addComponent(recordPlaybackCb, 9)
             .addComponentFillVertically(new JPanel(), 0)
             .getPanel();
    }
@@ -48,6 +66,18 @@ public class AppSettingsComponent {
 
    public AppSettingsState.SortDirectionE getSortDirection() {return sortDirection.getItem();}
 
+   public AppSettingsState.SerializationModeE getSerializationMode() {return serializationMode.getItem();}
+
+   public int getPrettyThresholdKb() {return prettyThresholdKb.getNumber();}
+
+   public boolean isWriteBackStepLines() {return writeBackStepLinesCb.isSelected();}
+
+   public AppSettingsState.ToursScopeE getToursScope() {return toursScope.getItem();}
+
+   public boolean isShowToursCoverage() {return showToursCoverageCb.isSelected();}
+
+   public boolean isRecordPlayback() {return recordPlaybackCb.isSelected();}
+
    public void setOnboardingAssistant(boolean newStatus) {
       onboardingAssistantCb.setSelected(newStatus);
    }
@@ -60,4 +90,28 @@ public class AppSettingsComponent {
       sortDirection.setItem(newSortDirection);
    }
 
+   public void setSerializationMode(AppSettingsState.SerializationModeE newSerializationMode) {
+      serializationMode.setItem(newSerializationMode);
+   }
+
+   public void setPrettyThresholdKb(int newPrettyThresholdKb) {
+      prettyThresholdKb.setNumber(newPrettyThresholdKb);
+   }
+
+   public void setWriteBackStepLines(boolean newStatus) {
+      writeBackStepLinesCb.setSelected(newStatus);
+   }
+
+   public void setToursScope(AppSettingsState.ToursScopeE newToursScope) {
+      toursScope.setItem(newToursScope);
+   }
+
+   public void setShowToursCoverage(boolean newStatus) {
+      showToursCoverageCb.setSelected(newStatus);
+   }
+
+   public void setRecordPlayback(boolean newStatus) {
+      recordPlaybackCb.setSelected(newStatus);
+   }
+
 }
\ No newline at end of file
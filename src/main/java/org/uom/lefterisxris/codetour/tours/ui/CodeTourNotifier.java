@@ -36,6 +36,15 @@ public class CodeTourNotifier {
       LOG.info("CodeTourNotifier: " + content);
    }
 
+   public static void info(@Nullable Project project, String content) {
+      NotificationGroupManager.getInstance()
+            .getNotificationGroup("CodeTour-Notification")
+            .createNotification(content, NotificationType.INFORMATION)
+            .setIcon(CodeTourIcons.LOGO_S)
+            .notify(project);
+      LOG.info("CodeTourNotifier: " + content);
+   }
+
    public static void warn(@Nullable Project project, String content) {
       NotificationGroupManager.getInstance()
             .getNotificationGroup("CodeTour-Notification")
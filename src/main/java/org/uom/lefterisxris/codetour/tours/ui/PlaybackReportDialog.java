@@ -0,0 +1,95 @@
+package org.uom.lefterisxris.codetour.tours.ui;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.service.PlaybackLog;
+import org.uom.lefterisxris.codetour.tours.service.TourPlayback;
+import org.uom.lefterisxris.codetour.tours.state.StateManager;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Shows the aggregated Tours playback (see {@link TourPlayback}): the time spent on each Step and where the
+ * playbacks of the Tours were abandoned
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class PlaybackReportDialog extends DialogWrapper {
+
+   private static final String[] COLUMNS = {"Tour", "Step", "Visits", "Avg. Time", "Drop-offs"};
+
+   private final Project project;
+   private final PlaybackLog.Report report;
+
+   public PlaybackReportDialog(Project project, PlaybackLog.Report report) {
+      super(project, true);
+      this.project = project;
+      this.report = report;
+      setTitle("Tours Playback Report");
+      init();
+   }
+
+   @Override
+   protected @Nullable JComponent createCenterPanel() {
+      final JPanel dialogPanel = new JPanel(new BorderLayout());
+      final Map<String, Tour> tours = new StateManager(project).getTours().stream()
+            .collect(Collectors.toMap(TourPlayback::getTourKey, Function.identity(), (first, second) -> first));
+
+      final DefaultTableModel model = new DefaultTableModel(COLUMNS, 0) {
+         @Override
+         public boolean isCellEditable(int row, int column) {
+            return false;
+         }
+      };
+      int sessions = 0;
+      int completions = 0;
+      for (String tourKey : report.getTourKeys()) {
+         final Tour tour = tours.get(tourKey);
+         final String tourLabel = String.format("%s (%s playbacks, %s completed)",
+               tour != null ? tour.getTitle() : tourKey, report.getSessions(tourKey), report.getCompletions(tourKey));
+         sessions += report.getSessions(tourKey);
+         completions += report.getCompletions(tourKey);
+
+         for (PlaybackLog.StepStats stats : report.getSteps(tourKey)) {
+            final String stepTitle = tour != null && stats.getStepIndex() < tour.getSteps().size()
+                  ? tour.getSteps().get(stats.getStepIndex()).getTitle()
+                  : null;
+            model.addRow(new Object[]{
+                  tourLabel,
+                  stepTitle != null ? String.format("%s. %s", stats.getStepIndex() + 1, stepTitle)
+                        : String.valueOf(stats.getStepIndex() + 1),
+                  stats.getVisits(),
+                  stats.getDwellSamples() > 0 ? StringUtil.formatDuration(stats.getAverageDwellMillis()) : "-",
+                  stats.getDropOffs()});
+         }
+      }
+
+      final JBTable table = new JBTable(model);
+      table.setAutoCreateRowSorter(true);
+      dialogPanel.add(new JBLabel(report.getTourKeys().isEmpty()
+            ? "No Tours have been played on this project yet"
+            : String.format("%s playbacks of %s Tours, %s completed. Recorded locally on this machine",
+            sessions, report.getTourKeys().size(), completions)), BorderLayout.NORTH);
+      dialogPanel.add(new JBScrollPane(table), BorderLayout.CENTER);
+      dialogPanel.setPreferredSize(new Dimension(720, 400));
+      return dialogPanel;
+   }
+
+   @Override
+   protected Action @NotNull [] createActions() {
+      return new Action[]{getOKAction()};
+   }
+}
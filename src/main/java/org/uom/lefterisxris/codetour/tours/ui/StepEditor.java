@@ -2,13 +2,18 @@ package org.uom.lefterisxris.codetour.tours.ui;
 
 import com.intellij.codeInsight.documentation.DocumentationComponent;
 import com.intellij.codeInsight.documentation.DocumentationManager;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.ui.DocumentAdapter;
+import com.intellij.ui.JBSplitter;
 import com.intellij.ui.SideBorder;
 import com.intellij.ui.components.JBScrollPane;
-import com.intellij.ui.components.JBTabbedPane;
 import com.intellij.ui.components.JBTextArea;
 import com.intellij.ui.components.JBTextField;
+import com.intellij.util.Alarm;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.util.ui.JBUI;
 import com.intellij.util.ui.UI;
 import com.intellij.util.ui.UIUtil;
@@ -18,45 +23,62 @@ import org.uom.lefterisxris.codetour.tours.domain.Step;
 import org.uom.lefterisxris.codetour.tours.state.StateManager;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.uom.lefterisxris.codetour.tours.service.Utils.*;
 
 /**
- * Editor (as dialog) for Step editing. Supports preview
+ * Editor (as dialog) for Step editing, with a live preview next to it. The preview is rendered off the EDT shortly
+ * after typing pauses, and renders that got stale meanwhile are dropped
  *
  * @author Eleftherios Chrysochoidis
  * Date: 31/5/2022
  */
 public class StepEditor extends DialogWrapper {
 
-   private JTabbedPane pane;
+   private static final int PREVIEW_DEBOUNCE_MILLIS = 300;
+
    private final Project project;
    private final Step step;
+   private final Alarm previewAlarm;
+   private final AtomicInteger previewGeneration = new AtomicInteger(); // the latest requested render
 
    private JBTextField titleTextField;
    private JBTextField referenceTextField;
+   private JBTextField symbolTextField;
    private JBTextArea descriptionTextArea;
    private DocumentationComponent previewComponent;
-   private String stepDoc;
 
    public StepEditor(Project project, Step step) {
       super(project);
       this.project = project;
       this.step = step;
+      this.previewAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, getDisposable());
       init();
       setTitle("Step Editor");
    }
 
    @Override
    protected @NotNull JComponent createCenterPanel() {
-      pane = new JBTabbedPane(SwingConstants.TOP);
-      pane.addTab("Step Info", createEditorPanel());
-      pane.addTab("Preview", createPreviewPanel());
-      pane.addChangeListener(e -> {
-         if (pane.getSelectedIndex() == 1)
-            updatePreviewComponent();
-      });
-      return JBUI.Panels.simplePanel(pane);
+      final JBSplitter splitter = new JBSplitter(false, 0.5f);
+      splitter.setFirstComponent(createEditorPanel());
+      splitter.setSecondComponent(createPreviewPanel());
+
+      // Live preview of the Step, re-rendered when typing pauses
+      final DocumentAdapter changesListener = new DocumentAdapter() {
+         @Override
+         protected void textChanged(@NotNull DocumentEvent e) {
+            schedulePreview(PREVIEW_DEBOUNCE_MILLIS);
+         }
+      };
+      titleTextField.getDocument().addDocumentListener(changesListener);
+      referenceTextField.getDocument().addDocumentListener(changesListener);
+      descriptionTextArea.getDocument().addDocumentListener(changesListener);
+      schedulePreview(0);
+
+      return splitter;
    }
 
    private JComponent createEditorPanel() {
@@ -65,8 +87,8 @@ public class StepEditor extends DialogWrapper {
       descriptionPane.putClientProperty(UIUtil.KEEP_BORDER_SIDES, SideBorder.ALL);
 
       titleTextField = new JBTextField(step.getTitle());
-      referenceTextField =
-            new JBTextField(step.getFile() != null ? String.format("%s:%s", step.getFile(), step.getLine()) : "");
+      referenceTextField = new JBTextField(getStepReference(step));
+      symbolTextField = new JBTextField(step.getSymbol() != null ? step.getSymbol() : "");
 
       final JPanel textFieldsGridPanel = UI.PanelFactory.grid()
             .add(UI.PanelFactory.panel(titleTextField)
@@ -74,7 +96,11 @@ public class StepEditor extends DialogWrapper {
                   .withComment("Step title"))
             .add(UI.PanelFactory.panel(referenceTextField)
                   .withLabel("&Navigation reference:")
-                  .withComment("Code location where this step will Navigate to on click (optional)"))
+                  .withComment("Code location (file:line or file:line-endLine) where this step will Navigate to " +
+                        "on click (optional)"))
+            .add(UI.PanelFactory.panel(symbolTextField)
+                  .withLabel("&Symbol:")
+                  .withComment("Class, method or field to navigate to instead, e.g. com.example.Foo#bar (optional)"))
             .createPanel();
 
       final JPanel textAreaPanel = UI.PanelFactory.panel(descriptionPane)
@@ -94,14 +120,8 @@ public class StepEditor extends DialogWrapper {
    }
 
    private JComponent createPreviewPanel() {
-      stepDoc = renderFullDoc(
-            StateManager.getStepMetaLabel(titleTextField.getText()).orElse(titleTextField.getText()),
-            descriptionTextArea.getText(),
-            referenceTextField.getText());
-
       final DocumentationManager documentationManager = DocumentationManager.getInstance(project);
       previewComponent = new DocumentationComponent(documentationManager);
-      previewComponent.setData(null, stepDoc, null, null, null);
 
       final JPanel panel = new JPanel();
       panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
@@ -111,12 +131,32 @@ public class StepEditor extends DialogWrapper {
       return panel;
    }
 
-   private void updatePreviewComponent() {
-      stepDoc = renderFullDoc(
-            StateManager.getStepMetaLabel(titleTextField.getText()).orElse(titleTextField.getText()),
-            descriptionTextArea.getText(),
-            referenceTextField.getText());
-      previewComponent.setData(null, stepDoc, null, null, null);
+   private void schedulePreview(int delayMillis) {
+      previewAlarm.cancelAllRequests();
+      previewAlarm.addRequest(this::renderPreview, delayMillis);
+   }
+
+   /**
+    * Renders the preview of the current content in the background, and swaps it in on the EDT (unless a newer
+    * render has been requested meanwhile)
+    */
+   private void renderPreview() {
+      final int generation = previewGeneration.incrementAndGet();
+      final String title = StateManager.getStepMetaLabel(titleTextField.getText()).orElse(titleTextField.getText());
+      final String description = descriptionTextArea.getText();
+      final String reference = referenceTextField.getText();
+      // Resolved here, on the EDT, as it walks the component hierarchy
+      final ModalityState modalityState = ModalityState.stateForComponent(previewComponent);
+
+      Preview.EXECUTOR.execute(() -> {
+         if (generation != previewGeneration.get()) return; // stale already
+
+         final String stepDoc = renderFullDoc(title, description, reference);
+         ApplicationManager.getApplication().invokeLater(() -> {
+            if (generation == previewGeneration.get())
+               previewComponent.setData(null, stepDoc, null, null, null);
+         }, modalityState, o -> isDisposed());
+      });
    }
 
    public Step getUpdatedStep() {
@@ -125,14 +165,14 @@ public class StepEditor extends DialogWrapper {
       step.setTitle(titleTextField.getText().trim());
       step.setDescription(descriptionTextArea.getText().trim());
 
-      // optional file:line
+      // optional file:line or file:line-endLine
       final String file = reference[0] != null && !reference[0].isEmpty() ? reference[0] : null;
-      final Integer line = reference.length > 1 && reference[1] != null && !reference[1].isEmpty()
-            ? Integer.parseInt(reference[1])
-            : null;
+      final Integer[] lines = parseLines(reference);
 
       step.setFile(file);
-      step.setLine(line);
+      step.setLine(lines[0]);
+      step.setEndLine(lines[1]);
+      step.setSymbol(symbolTextField.getText().isBlank() ? null : symbolTextField.getText().trim());
 
       return step;
    }
@@ -142,6 +182,28 @@ public class StepEditor extends DialogWrapper {
       return !equalStr(step.getTitle(), titleTextField.getText())
             || !equalStr(step.getDescription(), descriptionTextArea.getText())
             || !equalStr(step.getFile(), reference[0])
-            || !equalInt(step.getLine(), reference.length > 1 ? Integer.parseInt(reference[1]) : null);
+            || !equalStr(step.getSymbol(), symbolTextField.getText())
+            || !equalInt(step.getLine(), parseLines(reference)[0])
+            || !equalInt(step.getEndLine(), parseLines(reference)[1]);
+   }
+
+   /**
+    * Previews are rendered one at a time, off the EDT
+    */
+   private static final class Preview {
+      private static final ExecutorService EXECUTOR =
+            AppExecutorUtil.createBoundedApplicationPoolExecutor("CodeTour Step Preview", 1);
+   }
+
+   /**
+    * @return the line and the end line (both optional) of the given file:line-endLine reference
+    */
+   private static Integer[] parseLines(String[] reference) {
+      if (reference.length < 2 || reference[1] == null || reference[1].isBlank()) return new Integer[]{null, null};
+
+      final String[] lines = reference[1].trim().split("-");
+      final Integer line = Integer.parseInt(lines[0].trim());
+      final Integer endLine = lines.length > 1 && !lines[1].isBlank() ? Integer.parseInt(lines[1].trim()) : null;
+      return new Integer[]{line, endLine != null && endLine > line ? endLine : null};
    }
 }
\ No newline at end of file
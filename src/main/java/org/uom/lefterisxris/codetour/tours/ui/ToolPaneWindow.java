@@ -1,40 +1,62 @@
 package org.uom.lefterisxris.codetour.tours.ui;
 
 import com.intellij.icons.AllIcons;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.fileEditor.OpenFileDescriptor;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.ui.ComboBox;
 import com.intellij.openapi.ui.JBPopupMenu;
 import com.intellij.openapi.ui.MessageDialogBuilder;
 import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.openapi.wm.ToolWindow;
 import com.intellij.psi.search.FilenameIndex;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.ui.DocumentAdapter;
+import com.intellij.ui.SearchTextField;
+import com.intellij.ui.SimpleListCellRenderer;
 import com.intellij.ui.components.JBScrollPane;
 import com.intellij.ui.treeStructure.Tree;
 import com.intellij.util.SlowOperations;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.uom.lefterisxris.codetour.tours.domain.OnboardingAssistant;
 import org.uom.lefterisxris.codetour.tours.domain.Props;
 import org.uom.lefterisxris.codetour.tours.domain.Step;
 import org.uom.lefterisxris.codetour.tours.domain.Tour;
 import org.uom.lefterisxris.codetour.tours.service.AppSettingsState;
 import org.uom.lefterisxris.codetour.tours.service.Navigator;
+import org.uom.lefterisxris.codetour.tours.service.StepSnippets;
+import org.uom.lefterisxris.codetour.tours.service.TourChain;
+import org.uom.lefterisxris.codetour.tours.service.TourPlayback;
+import org.uom.lefterisxris.codetour.tours.service.TourSearchIndex;
 import org.uom.lefterisxris.codetour.tours.service.TourValidator;
 import org.uom.lefterisxris.codetour.tours.service.Utils;
+import org.uom.lefterisxris.codetour.tours.state.SearchIndexNotifier;
 import org.uom.lefterisxris.codetour.tours.state.StateManager;
 import org.uom.lefterisxris.codetour.tours.state.StepSelectionNotifier;
+import org.uom.lefterisxris.codetour.tours.state.TourProgress;
+import org.uom.lefterisxris.codetour.tours.state.TourTagIndex;
 import org.uom.lefterisxris.codetour.tours.state.TourUpdateNotifier;
+import org.uom.lefterisxris.codetour.tours.state.ToursState;
+import org.uom.lefterisxris.codetour.tours.state.ToursTransaction;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
 import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 import java.awt.*;
+import java.awt.datatransfer.StringSelection;
+import java.awt.datatransfer.Transferable;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -52,9 +74,19 @@ public class ToolPaneWindow {
    private static final String ID = "Tours Navigation";
    private static final Logger LOG = Logger.getInstance(ToolPaneWindow.class);
    private static final String TREE_TITLE = "Code Tours";
+   private static final int MAX_FILTER_RESULTS = 1000;
+   private static final String NO_GROUP = "(none)";
+   private static final DateTimeFormatter GROUP_MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
 
    private final JPanel panel;
    private Tree toursTree;
+   private SearchTextField filterField;
+   private JButton tagsButton;
+   private final Set<String> selectedTags = new HashSet<>(); // the tags to filter the Tours by
+   // The Tour nodes of the tree, by Tour and by id (or file, for tours without id), as the tours may have been
+   // reloaded since. Steps are the children of their Tour node, at their index
+   private final Map<Tour, DefaultMutableTreeNode> tourNodes = new IdentityHashMap<>();
+   private final Map<String, DefaultMutableTreeNode> tourNodesByKey = new HashMap<>();
 
    private final ToolWindow toolWindow;
    private final Project project;
@@ -67,7 +99,10 @@ public class ToolPaneWindow {
       this.stateManager = new StateManager(project);
       panel = new JPanel(new BorderLayout());
 
+      createFilterField();
+
       createToursTee(project);
+      resumeActiveTour();
 
       createNavigationButtons();
 
@@ -83,15 +118,24 @@ public class ToolPaneWindow {
     */
    public void registerMessageBusListener() {
       project.getMessageBus().connect().subscribe(TourUpdateNotifier.TOPIC, (TourUpdateNotifier)(tour) -> {
-         stateManager.reloadState();
+         // The in-memory tours are up-to-date already (see TourUpdateNotifier), so re-reading them from the disk
+         // would only bypass the deferred (coalesced) writes of StateManager#updateTour
          createToursTee(project);
-         selectTourLastStep(tour);
+         if (tour != null)
+            selectTourLastStep(tour);
+      });
+
+      // Filter results (if any) may change, once the search index is updated in the background (e.g. after a reload)
+      project.getMessageBus().connect().subscribe(SearchIndexNotifier.TOPIC, (SearchIndexNotifier)() -> {
+         if (filterField != null && !filterField.getText().trim().isEmpty())
+            createToursTee(project);
       });
 
       project.getMessageBus().connect().subscribe(StepSelectionNotifier.TOPIC, (StepSelectionNotifier)(step) -> {
          StateManager.getActiveTour().ifPresent(tour -> {
             if (!toolWindow.isVisible())
                toolWindow.show();
+            updateActiveTour(tour); // e.g. continued with the next Tour
             selectTourStep(tour, StateManager.getActiveStepIndex());
          });
       });
@@ -103,17 +147,78 @@ public class ToolPaneWindow {
 
       final DefaultMutableTreeNode root = new DefaultMutableTreeNode(TREE_TITLE);
 
+      // When filtering, only the Tours that match (either themselves or any of their Steps) are present
+      final String filter = filterField != null ? filterField.getText().trim() : "";
+      final List<TourSearchIndex.Hit> hits = filter.isEmpty()
+            ? new ArrayList<>()
+            : TourSearchIndex.getInstance(project).search(filter, MAX_FILTER_RESULTS);
+      final Set<Tour> matchingTours = Collections.newSetFromMap(new IdentityHashMap<>());
+      hits.forEach(hit -> matchingTours.add(hit.getTour()));
+
+      // Tag filtering is a bitset test per Tour (see TourTagIndex). The Tours keep their loaded (sorted) order
+      final TourTagIndex tagIndex = ToursState.getInstance(project).getTagIndex();
+      // Tags that no Tour has anymore (e.g. removed or renamed) are dropped from the filter, rather than ignored
+      if (selectedTags.retainAll(tagIndex.getTags().keySet()))
+         updateTagsButton();
+      final BitSet tagBits = tagIndex.toBits(selectedTags);
+
+      // When grouping, the Tours are placed under their group(s). A Tour with many tags is under each one of them
+      final AppSettingsState.GroupOptionE groupOption = AppSettingsState.getInstance().getGroupOption();
+      final Map<String, DefaultMutableTreeNode> groupNodes = new TreeMap<>(ToolPaneWindow::compareGroups);
+      final List<DefaultMutableTreeNode> allTourNodes = new ArrayList<>();
+
       final String activeId = StateManager.getActiveTour().map(tour -> tour.getId()).orElse("Null");
+      tourNodes.clear();
+      tourNodesByKey.clear();
       tours.forEach(tour -> {
-         final DefaultMutableTreeNode aTourNode = new DefaultMutableTreeNode(tour);
-         LOG.info(String.format("Rendering Tour '%s' with %s steps%n", tour.getTitle(), tour.getSteps().size()));
-         tour.getSteps().forEach(step -> aTourNode.add(new DefaultMutableTreeNode(step)));
-         root.add(aTourNode);
+         if (!filter.isEmpty() && !matchingTours.contains(tour)) return;
+         if (!tagIndex.matches(tour, tagBits)) return;
+         LOG.debug(String.format("Rendering Tour '%s' with %s steps%n", tour.getTitle(), tour.getSteps().size()));
+
+         final List<DefaultMutableTreeNode> parents = groupOption == AppSettingsState.GroupOptionE.NONE
+               ? List.of(root)
+               : getGroups(tour, groupOption).stream()
+               .map(group -> groupNodes.computeIfAbsent(group, g -> new DefaultMutableTreeNode(new TourGroup(g))))
+               .toList();
+         for (DefaultMutableTreeNode parent : parents) {
+            final DefaultMutableTreeNode aTourNode = new DefaultMutableTreeNode(tour);
+            for (int i = 0; i < tour.getSteps().size(); i++)
+               aTourNode.add(new StepNode(tour.getSteps().get(i), i));
+            parent.add(aTourNode);
+            allTourNodes.add(aTourNode);
+            tourNodes.putIfAbsent(tour, aTourNode);
+            tourKey(tour).ifPresent(key -> tourNodesByKey.putIfAbsent(key, aTourNode));
+         }
       });
-      toursTree = new Tree(root);
+      groupNodes.values().forEach(root::add);
+
+      toursTree = new Tree(root) {
+         // Hovering a Step shows the code around its line (rendered in the background and cached, see StepSnippets)
+         @Override
+         public String getToolTipText(MouseEvent event) {
+            final TreePath path = getPathForLocation(event.getX(), event.getY());
+            if (path == null || !(path.getLastPathComponent() instanceof DefaultMutableTreeNode node)
+                  || !(node.getUserObject() instanceof Step step))
+               return null;
+            final StepSnippets snippets = StepSnippets.getInstance(project);
+            final Optional<String> snippet = snippets.getCachedSnippetHtml(step);
+            if (snippet.isEmpty()) {
+               // Rendered in the background, to be shown on the next hover
+               snippets.computeSnippetHtml(step, html -> {});
+               return null;
+            }
+            return "<html>" + snippet.get() + "</html>";
+         }
+      };
+      ToolTipManager.sharedInstance().registerComponent(toursTree);
+
+      // Steps can be re-arranged with drag and drop (within the same Tour)
+      toursTree.setDragEnabled(true);
+      toursTree.setDropMode(DropMode.INSERT);
+      toursTree.setTransferHandler(new StepsTransferHandler());
 
       // Set custom renderer to have control of formatting (e.g. icons, size etc)
-      toursTree.setCellRenderer(new TreeRenderer(activeId));
+      toursTree.setCellRenderer(new TreeRenderer(activeId, TourProgress.getInstance(project)));
 
       // Handle click events
       toursTree.addMouseListener(new MouseAdapter() {
@@ -137,8 +242,8 @@ public class ToolPaneWindow {
                tourClickListener(e, node);
                return;
             }
-            if (node.getUserObject() instanceof Step) {
-               stepClickListener(e, node, project);
+            if (node instanceof StepNode stepNode) {
+               stepClickListener(e, stepNode, project);
             }
          }
       });
@@ -154,6 +259,141 @@ public class ToolPaneWindow {
          }
       }
       panel.add(treePanel, BorderLayout.CENTER);
+
+      if (!filter.isEmpty())
+         selectHits(allTourNodes, hits);
+      else if (!selectedTags.isEmpty())
+         groupNodes.values().forEach(groupNode -> toursTree.expandPath(new TreePath(groupNode.getPath())));
+   }
+
+   private void createFilterField() {
+      filterField = new SearchTextField(false);
+      filterField.getTextEditor().getEmptyText().setText("Filter tours and steps (titles, descriptions, files)");
+      filterField.addDocumentListener(new DocumentAdapter() {
+         @Override
+         protected void textChanged(@NotNull DocumentEvent e) {
+            createToursTee(project);
+         }
+      });
+
+      // Group by option, persisted on the User Settings
+      final ComboBox<AppSettingsState.GroupOptionE> groupOptionBox =
+            new ComboBox<>(AppSettingsState.GroupOptionE.values());
+      groupOptionBox.setRenderer(SimpleListCellRenderer.create("", option ->
+            option == AppSettingsState.GroupOptionE.NONE
+                  ? "No Grouping"
+                  : "By " + StringUtils.capitalize(option.name().toLowerCase().replace('_', ' '))));
+      groupOptionBox.setItem(AppSettingsState.getInstance().getGroupOption());
+      groupOptionBox.setToolTipText("Group the Tours by their tags, folder, author or creation date");
+      groupOptionBox.addActionListener(e -> {
+         AppSettingsState.getInstance().setGroupOption(groupOptionBox.getItem());
+         createToursTee(project);
+      });
+
+      tagsButton = new JButton("Tags", AllIcons.General.Filter);
+      tagsButton.setToolTipText("Show only the Tours that have all the selected tags");
+      tagsButton.addActionListener(e -> showTagsMenu());
+
+      final JPanel optionsPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 2, 0));
+      optionsPanel.add(groupOptionBox);
+      optionsPanel.add(tagsButton);
+
+      final JPanel filterPanel = new JPanel(new BorderLayout());
+      filterPanel.add(filterField, BorderLayout.CENTER);
+      filterPanel.add(optionsPanel, BorderLayout.EAST);
+      panel.add(filterPanel, BorderLayout.NORTH);
+   }
+
+   /**
+    * Shows the tags of the Tours to toggle them on the filter. Toggling only re-renders the in-memory Tours
+    */
+   private void showTagsMenu() {
+      final JBPopupMenu menu = new JBPopupMenu("Tags Filter");
+      final SortedMap<String, Integer> tags = ToursState.getInstance(project).getTagIndex().getTags();
+      if (tags.isEmpty()) {
+         final JMenuItem noTagsItem = new JMenuItem("No Tags (Edit Tour > Edit Tags)");
+         noTagsItem.setEnabled(false);
+         menu.add(noTagsItem);
+      }
+      tags.forEach((tag, tours) -> {
+         final JCheckBoxMenuItem tagItem =
+               new JCheckBoxMenuItem(String.format("%s (%s)", tag, tours), selectedTags.contains(tag));
+         tagItem.addActionListener(e -> {
+            if (!selectedTags.remove(tag))
+               selectedTags.add(tag);
+            onTagsFilterChanged();
+         });
+         menu.add(tagItem);
+      });
+      if (!selectedTags.isEmpty()) {
+         final JMenuItem clearItem = new JMenuItem("Clear Tags Filter", AllIcons.Actions.Cancel);
+         clearItem.addActionListener(e -> {
+            selectedTags.clear();
+            onTagsFilterChanged();
+         });
+         menu.addSeparator();
+         menu.add(clearItem);
+      }
+      menu.show(tagsButton, 0, tagsButton.getHeight());
+   }
+
+   private void onTagsFilterChanged() {
+      updateTagsButton();
+      createToursTee(project);
+   }
+
+   private void updateTagsButton() {
+      if (tagsButton != null)
+         tagsButton.setText(selectedTags.isEmpty() ? "Tags" : String.format("Tags (%s)", selectedTags.size()));
+   }
+
+   /**
+    * @return the groups of the given Tour, for the given group option
+    */
+   private List<String> getGroups(Tour tour, AppSettingsState.GroupOptionE groupOption) {
+      if (groupOption == AppSettingsState.GroupOptionE.TAG) {
+         final List<String> tags = TourTagIndex.getTags(tour);
+         return tags.isEmpty() ? List.of(NO_GROUP) : tags;
+      }
+
+      final Optional<String> group = switch (groupOption) {
+         case NONE, TAG -> Optional.empty();
+         case FOLDER -> ToursState.getInstance(project).getTourFile(tour)
+               .map(VirtualFile::getParent)
+               .map(dir -> Optional.ofNullable(ProjectUtil.guessProjectDir(project))
+                     .map(baseDir -> VfsUtilCore.getRelativePath(dir, baseDir))
+                     .orElse(dir.getPresentableUrl()));
+         case AUTHOR -> Optional.ofNullable(tour.getAuthor()).filter(StringUtils::isNotBlank);
+         case CREATION_DATE -> Optional.ofNullable(tour.getCreatedAt()).map(GROUP_MONTH_FORMAT::format);
+      };
+      return List.of(group.orElse(NO_GROUP));
+   }
+
+   /**
+    * Groups are sorted alphabetically, with the Tours without a group last
+    */
+   private static int compareGroups(String group, String other) {
+      if (group.equals(other)) return 0;
+      if (NO_GROUP.equals(group)) return 1;
+      if (NO_GROUP.equals(other)) return -1;
+      return String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder()).compare(group, other);
+   }
+
+   /**
+    * Expands the Tours and selects the Steps of the given (filter) hits
+    */
+   private void selectHits(List<DefaultMutableTreeNode> allTourNodes, List<TourSearchIndex.Hit> hits) {
+      final List<TreePath> paths = new ArrayList<>();
+      for (DefaultMutableTreeNode tourNode : allTourNodes) {
+         toursTree.expandPath(new TreePath(tourNode.getPath()));
+         for (TourSearchIndex.Hit hit : hits) {
+            if (hit.getTour() == tourNode.getUserObject() && hit.getStep().isPresent()
+                  && hit.getStepIndex() < tourNode.getChildCount()) {
+               paths.add(new TreePath(((DefaultMutableTreeNode)tourNode.getChildAt(hit.getStepIndex())).getPath()));
+            }
+         }
+      }
+      toursTree.getSelectionModel().setSelectionPaths(paths.toArray(new TreePath[0]));
    }
 
    private void createNavigationButtons() {
@@ -174,10 +414,12 @@ public class ToolPaneWindow {
       nextButton.addActionListener(e -> {
          LOG.info("Next button pressed!");
 
-         // Navigate to the next Step if exist
-         StateManager.getActiveTour().ifPresent(tour -> {
-            StateManager.getNextStep().ifPresent(step -> selectTourStep(tour, StateManager.getActiveStepIndex()));
-         });
+         // Navigate to the next Step if exist, or continue with the next Tour after the last Step
+         StateManager.getNextStep().or(stateManager::continueWithNextTour).ifPresent(step ->
+               StateManager.getActiveTour().ifPresent(tour -> {
+                  updateActiveTour(tour);
+                  selectTourStep(tour, StateManager.getActiveStepIndex());
+               }));
       });
 
       final JButton reloadButton = new JButton("Reload");
@@ -223,6 +465,11 @@ public class ToolPaneWindow {
 
    private void tourClickListener(MouseEvent e, DefaultMutableTreeNode node) {
       final Tour tour = (Tour)node.getUserObject();
+      // Clicking on a started Tour (other than the active one) resumes it at its last Step
+      final boolean isActive = StateManager.getActiveTour().filter(active -> active == tour).isPresent();
+      if (e.getButton() == MouseEvent.BUTTON1 && !isActive)
+         resumeTour(tour);
+
       // On Tour right click, show a context menu (Delete, Edit)
       if (e.getButton() == MouseEvent.BUTTON3) {
          final JBPopupMenu menu = new JBPopupMenu("Tour Context Menu");
@@ -235,6 +482,10 @@ public class ToolPaneWindow {
          final JMenuItem editAction = new JMenuItem("Edit Tour", AllIcons.Actions.Edit);
          editAction.addActionListener(d -> editTourListener(tour));
 
+         // Edit Tags Action
+         final JMenuItem editTagsAction = new JMenuItem("Edit Tags", AllIcons.General.Filter);
+         editTagsAction.addActionListener(d -> editTourTagsListener(tour));
+
          // Jump to Source Action
          final JMenuItem jumpToSourceAction = new JMenuItem("Jump to .tour Source", AllIcons.Actions.EditSource);
          jumpToSourceAction.addActionListener(d -> jumpToSourceTourListener(tour));
@@ -243,6 +494,14 @@ public class ToolPaneWindow {
          final JMenuItem deleteAction = new JMenuItem("Delete Tour", AllIcons.Actions.DeleteTag);
          deleteAction.addActionListener(d -> deleteTourListener(tour));
 
+         // Reset Progress Action
+         final JMenuItem resetProgressAction = new JMenuItem("Reset Progress", AllIcons.Actions.Rollback);
+         resetProgressAction.setEnabled(TourProgress.getInstance(project).getCompletedCount(tour) > 0);
+         resetProgressAction.addActionListener(d -> {
+            TourProgress.getInstance(project).reset(tour);
+            toursTree.repaint();
+         });
+
          if (tour.getTitle().equals(OnboardingAssistant.ONBOARD_ASSISTANT_TITLE)) {
             // Disable Onboarding Assistant Action
             final JMenuItem disableOnboardAssistantAction = new JMenuItem("Disable Onboarding Assistant",
@@ -253,17 +512,19 @@ public class ToolPaneWindow {
             });
             menu.add(disableOnboardAssistantAction);
 
-            Arrays.asList(newStepAction, editAction, jumpToSourceAction, deleteAction)
+            Arrays.asList(newStepAction, editAction, editTagsAction, jumpToSourceAction, deleteAction)
                   .forEach(item -> item.setEnabled(false));
          }
 
-         Arrays.asList(newStepAction, editAction, jumpToSourceAction, deleteAction).forEach(menu::add);
+         Arrays.asList(newStepAction, editAction, editTagsAction, jumpToSourceAction, deleteAction,
+               resetProgressAction).forEach(menu::add);
          menu.show(toursTree, e.getX(), e.getY());
       }
    }
 
-   private void stepClickListener(MouseEvent e, DefaultMutableTreeNode node, Project project) {
+   private void stepClickListener(MouseEvent e, StepNode node, Project project) {
       final Step step = (Step)node.getUserObject();
+      final int index = node.getStepIndex();
       final DefaultMutableTreeNode parentNode = (DefaultMutableTreeNode)node.getParent();
       final Tour tour = (Tour)parentNode.getUserObject();
       updateActiveTour(tour);
@@ -274,36 +535,43 @@ public class ToolPaneWindow {
 
          // Edit Step Action
          final JMenuItem editDescriptionAction = new JMenuItem("Edit Step", AllIcons.Actions.EditScheme);
-         editDescriptionAction.addActionListener(d -> editStepListener(step, tour));
+         editDescriptionAction.addActionListener(d -> editStepListener(step, index, tour));
 
          // Move up Step
          final JMenuItem moveUpAction = new JMenuItem("Move Up", AllIcons.Actions.MoveUp);
-         moveUpAction.addActionListener(d -> moveListener(step, tour, true));
+         moveUpAction.addActionListener(d -> moveListener(step, index, tour, true));
          moveUpAction.setEnabled(node.getPreviousSibling() != null);
 
          // Move down Step
          final JMenuItem moveDownAction = new JMenuItem("Move Down", AllIcons.Actions.MoveDown);
-         moveDownAction.addActionListener(d -> moveListener(step, tour, false));
+         moveDownAction.addActionListener(d -> moveListener(step, index, tour, false));
          moveDownAction.setEnabled(node.getNextSibling() != null);
 
          // Delete Action
          final JMenuItem deleteAction = new JMenuItem("Delete Step", AllIcons.Actions.DeleteTag);
-         deleteAction.addActionListener(d -> deleteStepListener(step, tour));
+         deleteAction.addActionListener(d -> deleteStepListener(step, index, tour));
+
+         // Delete all the selected Steps at once (multi-selection)
+         final List<DefaultMutableTreeNode> selectedStepNodes = getSelectedStepNodes();
+         final JMenuItem deleteSelectedAction = new JMenuItem(
+               String.format("Delete Selected Steps (%s)", selectedStepNodes.size()), AllIcons.Actions.DeleteTag);
+         deleteSelectedAction.addActionListener(d -> deleteStepsListener(selectedStepNodes));
+         deleteSelectedAction.setEnabled(selectedStepNodes.size() > 1 && selectedStepNodes.contains(node)
+               && selectedStepNodes.stream().noneMatch(ToolPaneWindow::isOnboardingStep));
 
          if (tour.getTitle().equals(OnboardingAssistant.ONBOARD_ASSISTANT_TITLE)) {
             Arrays.asList(editDescriptionAction, moveUpAction, moveDownAction, deleteAction)
                   .forEach(item -> item.setEnabled(false));
          }
 
-         Arrays.asList(editDescriptionAction, moveUpAction, moveDownAction, deleteAction)
+         Arrays.asList(editDescriptionAction, moveUpAction, moveDownAction, deleteAction, deleteSelectedAction)
                .forEach(menu::add);
          menu.show(toursTree, e.getX(), e.getY());
          return;
       }
 
-      final int index = parentNode.getIndex(node);
-      if (index >= 0)
-         StateManager.setActiveStepIndex(index);
+      StateManager.setActiveStepIndex(index);
+      onStepActivated(tour, index);
       Navigator.navigate(step, project);
    }
    //endregion
@@ -398,6 +666,25 @@ public class ToolPaneWindow {
       selectTourStep(tour, tour.getSteps().isEmpty() ? Optional.empty() : Optional.of(0), false);
    }
 
+   private void editTourTagsListener(Tour tour) {
+      final String updatedTags = Messages.showInputDialog(project, "Edit Tour's tags (comma separated)",
+            "Edit Tags", AllIcons.General.Filter, String.join(", ", TourTagIndex.getTags(tour)), null);
+      if (updatedTags == null) return; // i.e. hit cancel
+
+      final List<String> tags = Arrays.stream(updatedTags.split(","))
+            .map(String::trim)
+            .filter(tag -> !tag.isEmpty())
+            .distinct()
+            .collect(Collectors.toList());
+      if (tags.equals(TourTagIndex.getTags(tour))) return;
+
+      tour.setTags(tags.isEmpty() ? null : tags);
+      stateManager.updateTour(tour);
+      createToursTee(project);
+      CodeTourNotifier.notifyTourAction(project, tour, "Tour Update",
+            String.format("Tour's '%s' Tags have been updated", tour.getTitle()));
+   }
+
    private void jumpToSourceTourListener(Tour tour) {
       SlowOperations.allowSlowOperations(() -> {
          final Collection<VirtualFile> virtualFiles = FilenameIndex.getVirtualFilesByName(tour.getTourFile(),
@@ -425,9 +712,9 @@ public class ToolPaneWindow {
    //endregion
 
    //region Step Context menu actions
-   private void editStepListener(Step step, Tour tour) {
-      final int index = tour.getSteps().indexOf(step);
-
+   // The Steps are located by the index of their tree node: Steps are compared by value, so a lookup (besides being a
+   // scan) could find an equal Step instead
+   private void editStepListener(Step step, int index, Tour tour) {
       // Prompt dialog for Step update
       final StepEditor stepEditor = new StepEditor(project, step);
       final boolean okSelected = stepEditor.showAndGet();
@@ -445,28 +732,62 @@ public class ToolPaneWindow {
       selectTourStep(tour, Optional.of(index), false);
    }
 
-   private void moveListener(Step step, Tour tour, boolean up) {
-      final int index = tour.getSteps().indexOf(step);
+   private void moveListener(Step step, int index, Tour tour, boolean up) {
       final int newIndex = up ? index - 1 : index + 1;
-      tour.getSteps().remove(index);
-      if (tour.getSteps().size() <= newIndex || newIndex < 0)
+      if (tour.getSteps().size() <= newIndex || newIndex < 0) {
          CodeTourNotifier.error(project, String.format("Cannot move Step '%s' %s!",
                step.getTitle(), up ? "up" : "down"));
+         return;
+      }
 
-      tour.getSteps().add(newIndex, step);
+      final List<Step> newOrder = new ArrayList<>(tour.getSteps());
+      newOrder.remove(index);
+      newOrder.add(newIndex, step);
+      reorderSteps(tour, newOrder, newIndex);
+   }
 
-      stateManager.updateTour(tour);
+   /**
+    * Replaces the Steps of the given Tour with the given order, as a single (undoable) transaction
+    */
+   private void reorderSteps(Tour tour, List<Step> newOrder, int indexToSelect) {
+      stateManager.beginTransaction("Re-arrange Tour Steps")
+            .modify(tour, aTour -> {
+               aTour.getSteps().clear();
+               aTour.getSteps().addAll(newOrder);
+            })
+            .commit();
       createToursTee(project);
       CodeTourNotifier.notifyTourAction(project, tour, "Steps Order Update", "Steps have been re-arranged!");
 
-      // Expand and select the last Step of the active Tour on the tree
-      selectTourStep(tour, Optional.of(newIndex), false);
+      // Expand and select the moved Step of the Tour on the tree
+      selectTourStep(tour, Optional.of(indexToSelect), false);
    }
 
-   private void deleteStepListener(Step step, Tour tour) {
-      final int index = tour.getSteps().indexOf(step);
-      tour.getSteps().remove(index);
-      stateManager.updateTour(tour);
+   /**
+    * Deletes the Steps of the given nodes (possibly from more than one Tour), as a single (undoable) transaction
+    */
+   private void deleteStepsListener(List<DefaultMutableTreeNode> stepNodes) {
+      final Map<Tour, Set<Step>> stepsPerTour = new IdentityHashMap<>();
+      for (DefaultMutableTreeNode stepNode : stepNodes) {
+         final Tour tour = (Tour)((DefaultMutableTreeNode)stepNode.getParent()).getUserObject();
+         stepsPerTour.computeIfAbsent(tour, t -> Collections.newSetFromMap(new IdentityHashMap<>()))
+               .add((Step)stepNode.getUserObject());
+      }
+
+      final ToursTransaction transaction = stateManager.beginTransaction("Delete Tour Steps");
+      stepsPerTour.forEach((tour, steps) ->
+            transaction.modify(tour, aTour -> aTour.getSteps().removeIf(steps::contains)));
+      transaction.commit();
+
+      createToursTee(project);
+      CodeTourNotifier.notifyTourAction(project, null, "Step Deletion", String.format("%s Steps have been " +
+            "removed from %s Tour(s)", stepNodes.size(), stepsPerTour.size()));
+   }
+
+   private void deleteStepListener(Step step, int index, Tour tour) {
+      stateManager.beginTransaction("Delete Tour Step")
+            .modify(tour, aTour -> aTour.getSteps().remove(index))
+            .commit();
       createToursTee(project);
       CodeTourNotifier.notifyTourAction(project, tour, "Step Deletion", String.format("Step " +
             "'%s' has been removed from Tour '%s'", step.getTitle(), tour.getTitle()));
@@ -498,35 +819,183 @@ public class ToolPaneWindow {
 
    private void selectTourStep(Tour tour, Optional<Integer> activeStepIndex, boolean navigate) {
       // Expand and select the given or the last Step of the active Tour on the tree
-      for (int i = 0; i < toursTree.getRowCount(); i++) {
-         if (!toursTree.getPathForRow(i).getLastPathComponent().toString().equals(tour.getTitle())) continue;
-
-         final Object component = toursTree.getPathForRow(i).getLastPathComponent();
-         if (component instanceof DefaultMutableTreeNode) {
-            final DefaultMutableTreeNode pNode = (DefaultMutableTreeNode)component;
-            if (pNode.getUserObject() instanceof Tour) {
-               toursTree.expandPath(new TreePath(pNode.getPath()));
-               if (activeStepIndex.isPresent()) {
-                  // If activeIndex is provided, select it
-                  final DefaultMutableTreeNode stepNodeToSelect =
-                        (DefaultMutableTreeNode)pNode.getChildAt(activeStepIndex.get());
-                  toursTree.getSelectionModel().setSelectionPath(new TreePath(stepNodeToSelect.getPath()));
-                  // Also navigate to that step (if set)
-                  if (navigate)
-                     Navigator.navigate((Step)stepNodeToSelect.getUserObject(), project);
-               } else {
-                  // otherwise, select the last step of the tour Node, and update the selected step index
-                  toursTree.getSelectionModel().setSelectionPath(new TreePath(pNode.getLastLeaf().getPath()));
-                  StateManager.setActiveStepIndex(((Tour)pNode.getUserObject()).getSteps().size() - 1);
-               }
-            }
+      final Optional<DefaultMutableTreeNode> tourNode = findTourNode(tour);
+      if (tourNode.isEmpty()) return; // e.g. filtered out
+      final DefaultMutableTreeNode pNode = tourNode.get();
+
+      toursTree.expandPath(new TreePath(pNode.getPath()));
+      if (activeStepIndex.isPresent()) {
+         if (activeStepIndex.get() < 0 || activeStepIndex.get() >= pNode.getChildCount()) return;
+
+         // If activeIndex is provided, select it
+         final DefaultMutableTreeNode stepNodeToSelect =
+               (DefaultMutableTreeNode)pNode.getChildAt(activeStepIndex.get());
+         selectPath(new TreePath(stepNodeToSelect.getPath()));
+         // Also navigate to that step (if set)
+         if (navigate) {
+            onStepActivated(tour, activeStepIndex.get());
+            Navigator.navigate((Step)stepNodeToSelect.getUserObject(), project);
          }
+      } else {
+         // otherwise, select the last step of the tour Node, and update the selected step index
+         selectPath(new TreePath(pNode.getLastLeaf().getPath()));
+         StateManager.setActiveStepIndex(((Tour)pNode.getUserObject()).getSteps().size() - 1);
       }
    }
 
+   private void onStepActivated(Tour tour, int stepIndex) {
+      TourProgress.getInstance(project).onStepActivated(tour, stepIndex);
+      toursTree.repaint(); // completion marks
+      TourPlayback.getInstance(project).record(tour, stepIndex);
+      TourChain.getInstance(project).onStepActivated(tour, stepIndex);
+   }
+
+   /**
+    * Resumes the Tour that was active last (e.g. before a restart) at its last Step, without navigating to it
+    */
+   private void resumeActiveTour() {
+      if (StateManager.getActiveTour().isPresent()) return;
+      TourProgress.getInstance(project).findActiveTour(stateManager.getTours()).ifPresent(this::resumeTour);
+   }
+
+   private void resumeTour(Tour tour) {
+      final Optional<Integer> lastStep = TourProgress.getInstance(project).getLastStep(tour);
+      if (lastStep.isEmpty()) return;
+
+      updateActiveTour(tour);
+      StateManager.setActiveStepIndex(lastStep.get());
+      selectTourStep(tour, lastStep, false);
+   }
+
+   private void selectPath(TreePath path) {
+      toursTree.getSelectionModel().setSelectionPath(path);
+      toursTree.scrollPathToVisible(path);
+   }
+
+   /**
+    * @return the node of the given Tour, either the same instance or (e.g. after a reload) the same Tour by its key
+    */
+   private Optional<DefaultMutableTreeNode> findTourNode(Tour tour) {
+      final DefaultMutableTreeNode node = tourNodes.get(tour);
+      if (node != null) return Optional.of(node);
+      return tourKey(tour).map(tourNodesByKey::get);
+   }
+
+   private static Optional<String> tourKey(Tour tour) {
+      if (tour.getId() != null) return Optional.of("id:" + tour.getId());
+      return Optional.ofNullable(tour.getTourFile()).map(file -> "file:" + file);
+   }
+
+   private List<DefaultMutableTreeNode> getSelectedStepNodes() {
+      final TreePath[] paths = toursTree.getSelectionPaths();
+      if (paths == null) return new ArrayList<>();
+
+      return Arrays.stream(paths)
+            .map(TreePath::getLastPathComponent)
+            .filter(component -> component instanceof DefaultMutableTreeNode)
+            .map(component -> (DefaultMutableTreeNode)component)
+            .filter(node -> node.getUserObject() instanceof Step)
+            .collect(Collectors.toList());
+   }
+
+   private static boolean isOnboardingStep(DefaultMutableTreeNode stepNode) {
+      final Object tour = ((DefaultMutableTreeNode)stepNode.getParent()).getUserObject();
+      return tour instanceof Tour && OnboardingAssistant.ONBOARD_ASSISTANT_TITLE.equals(((Tour)tour).getTitle());
+   }
+
    private void reloadToursState() {
       stateManager.reloadState();
       updateActiveTour(null); // reset the activeTour
       createToursTee(project);
    }
+
+   /**
+    * A group of Tours on the tree (see {@link AppSettingsState.GroupOptionE})
+    */
+   record TourGroup(String name) {
+      @Override
+      public String toString() {
+         return name;
+      }
+   }
+
+   /**
+    * A Step on the tree, along with its index on its Tour (the tree is re-created on any change of the Steps)
+    */
+   static class StepNode extends DefaultMutableTreeNode {
+      private final int stepIndex;
+
+      StepNode(Step step, int stepIndex) {
+         super(step, false);
+         this.stepIndex = stepIndex;
+      }
+
+      int getStepIndex() {
+         return stepIndex;
+      }
+   }
+
+   /**
+    * Drag and Drop support for re-arranging the Steps of a Tour. All the dragged Steps should belong to the same
+    * Tour, and the whole re-arrangement is committed at once
+    */
+   private class StepsTransferHandler extends TransferHandler {
+
+      private List<DefaultMutableTreeNode> draggedNodes = new ArrayList<>();
+
+      @Override
+      public int getSourceActions(JComponent c) {
+         return MOVE;
+      }
+
+      @Override
+      protected @Nullable Transferable createTransferable(JComponent c) {
+         draggedNodes = getSelectedStepNodes();
+         if (draggedNodes.isEmpty()) return null;
+
+         final TreeNode tourNode = draggedNodes.get(0).getParent();
+         if (isOnboardingStep(draggedNodes.get(0)) || draggedNodes.stream().anyMatch(n -> n.getParent() != tourNode)) {
+            draggedNodes = new ArrayList<>();
+            return null;
+         }
+         return new StringSelection(draggedNodes.stream().map(Object::toString).collect(Collectors.joining("\n")));
+      }
+
+      @Override
+      public boolean canImport(TransferSupport support) {
+         if (!support.isDrop() || draggedNodes.isEmpty()) return false;
+
+         final JTree.DropLocation location = (JTree.DropLocation)support.getDropLocation();
+         return location.getPath() != null && location.getChildIndex() >= 0
+               && location.getPath().getLastPathComponent() == draggedNodes.get(0).getParent();
+      }
+
+      @Override
+      public boolean importData(TransferSupport support) {
+         if (!canImport(support)) return false;
+
+         final JTree.DropLocation location = (JTree.DropLocation)support.getDropLocation();
+         final DefaultMutableTreeNode tourNode = (DefaultMutableTreeNode)location.getPath().getLastPathComponent();
+         final Tour tour = (Tour)tourNode.getUserObject();
+
+         // The drop index is shifted by the number of dragged Steps that were above it
+         int dropIndex = location.getChildIndex();
+         final Set<Step> dragged = Collections.newSetFromMap(new IdentityHashMap<>());
+         for (DefaultMutableTreeNode node : draggedNodes) {
+            dragged.add((Step)node.getUserObject());
+            if (((StepNode)node).getStepIndex() < location.getChildIndex())
+               dropIndex--;
+         }
+
+         final List<Step> newOrder = new ArrayList<>(tour.getSteps());
+         newOrder.removeIf(dragged::contains);
+         newOrder.addAll(dropIndex, draggedNodes.stream().map(node -> (Step)node.getUserObject()).toList());
+         draggedNodes = new ArrayList<>();
+
+         // Re-create the tree after the drop is completed
+         final int indexToSelect = dropIndex;
+         ApplicationManager.getApplication().invokeLater(() -> reorderSteps(tour, newOrder, indexToSelect));
+         return true;
+      }
+   }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package org.uom.lefterisxris.codetour.tours.ui;
+
+import com.intellij.ide.projectView.PresentationData;
+import com.intellij.ide.projectView.ProjectViewNode;
+import com.intellij.ide.projectView.ProjectViewNodeDecorator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.packageDependencies.ui.PackageDependenciesNode;
+import com.intellij.ui.ColoredTreeCellRenderer;
+import com.intellij.ui.SimpleTextAttributes;
+import org.uom.lefterisxris.codetour.tours.service.AppSettingsState;
+import org.uom.lefterisxris.codetour.tours.service.TourCoverage;
+
+/**
+ * Decorates the directories (packages) of the Project View with the number of Steps they contain, and the source
+ * directories without any Step as uncovered. Only reads the counts computed in the background by {@link TourCoverage}
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourCoverageDecorator implements ProjectViewNodeDecorator {
+
+   @Override
+   public void decorate(ProjectViewNode<?> node, PresentationData data) {
+      final Project project = node.getProject();
+      final VirtualFile file = node.getVirtualFile();
+      if (project == null || file == null || !file.isDirectory()) return;
+      if (!AppSettingsState.getInstance().isShowToursCoverage()) return;
+
+      final TourCoverage coverage = TourCoverage.getInstance(project);
+      if (!coverage.isComputed()) return;
+
+      final int steps = coverage.getStepsCount(file);
+      if (steps == 0 && !ProjectFileIndex.getInstance(project).isInSourceContent(file)) return;
+
+      if (data.getColoredText().isEmpty())
+         data.addText(data.getPresentableText(), SimpleTextAttributes.REGULAR_ATTRIBUTES);
+      if (steps > 0)
+         data.addText(String.format("  %s %s", steps, steps == 1 ? "step" : "steps"),
+               SimpleTextAttributes.GRAYED_ATTRIBUTES);
+      else
+         data.addText("  no tours", SimpleTextAttributes.GRAYED_ITALIC_ATTRIBUTES);
+   }
+
+   @Override
+   public void decorate(PackageDependenciesNode node, ColoredTreeCellRenderer cellRenderer) {
+   }
+}
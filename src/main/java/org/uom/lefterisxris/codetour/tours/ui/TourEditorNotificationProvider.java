@@ -0,0 +1,62 @@
+package org.uom.lefterisxris.codetour.tours.ui;
+
+import com.intellij.openapi.fileEditor.FileEditor;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.EditorNotificationPanel;
+import com.intellij.ui.EditorNotificationProvider;
+import icons.CodeTourIcons;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.uom.lefterisxris.codetour.tours.domain.Props;
+import org.uom.lefterisxris.codetour.tours.state.StateManager;
+import org.uom.lefterisxris.codetour.tours.state.StepFileIndex;
+import org.uom.lefterisxris.codetour.tours.state.StepSelectionNotifier;
+import org.uom.lefterisxris.codetour.tours.state.ToursState;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Editor banner (on top of the file) listing the Tours and Steps that reference the opened file.
+ * It is backed by the reverse {@link StepFileIndex}, so opening a file never scans the tours
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourEditorNotificationProvider implements EditorNotificationProvider, DumbAware {
+
+   private static final int MAX_STEP_LINKS = 5;
+
+   @Override
+   public @Nullable Function<? super @NotNull FileEditor, ? extends @Nullable JComponent> collectNotificationData(
+         @NotNull Project project, @NotNull VirtualFile file) {
+      if (file.isDirectory() || Props.TOUR_EXTENSION.equals(file.getExtension())) return null;
+
+      final List<StepFileIndex.StepRef> steps = ToursState.getInstance(project).getFileIndex().getSteps(file);
+      if (steps.isEmpty()) return null;
+
+      final long toursCount = steps.stream().map(ref -> ref.tour().getTitle()).distinct().count();
+      return fileEditor -> {
+         final EditorNotificationPanel panel = new EditorNotificationPanel(fileEditor,
+               EditorNotificationPanel.Status.Info);
+         panel.icon(CodeTourIcons.LOGO_S);
+         panel.setText(String.format("CodeTour: %s step(s) of %s tour(s) explain this file", steps.size(), toursCount));
+         steps.stream().limit(MAX_STEP_LINKS).forEach(ref -> panel.createActionLabel(
+               String.format("%s > %s (line %s)", ref.tour().getTitle(), ref.step().getTitle(), ref.step().getLine()),
+               () -> selectStep(project, ref)));
+         return panel;
+      };
+   }
+
+   private static void selectStep(Project project, StepFileIndex.StepRef ref) {
+      if (ref.stepIndex() >= ref.tour().getSteps().size()) return;
+
+      StateManager.setActiveTour(ref.tour());
+      StateManager.setActiveStepIndex(ref.stepIndex());
+      // Notify UI to select the step which will trigger its navigation
+      project.getMessageBus().syncPublisher(StepSelectionNotifier.TOPIC).selectStep(ref.step());
+   }
+}
@@ -5,18 +5,26 @@ import com.intellij.codeInsight.daemon.LineMarkerInfo;
 import com.intellij.codeInsight.daemon.LineMarkerProviderDescriptor;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.markup.GutterIconRenderer;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiNameIdentifierOwner;
 import com.intellij.psi.impl.source.tree.LeafPsiElement;
 import icons.CodeTourIcons;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.service.StepAnchors;
+import org.uom.lefterisxris.codetour.tours.service.StepSymbols;
 import org.uom.lefterisxris.codetour.tours.state.StateManager;
+import org.uom.lefterisxris.codetour.tours.state.StepFileIndex;
 import org.uom.lefterisxris.codetour.tours.state.StepSelectionNotifier;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * @author Eleftherios Chrysochoidis
@@ -35,28 +43,38 @@ public class TourLineMarkerProvider extends LineMarkerProviderDescriptor {
    public LineMarkerInfo<?> getLineMarkerInfo(@NotNull PsiElement element) {
       final PsiFile containingFile = element.getContainingFile();
 
+      // Symbol anchored Steps are marked on the name of their (resolved) symbol
+      if (element instanceof LeafPsiElement && element.getParent() instanceof PsiNameIdentifierOwner owner
+            && element.equals(owner.getNameIdentifier())) {
+         final StepSymbols symbols = StepSymbols.getInstance(element.getProject());
+         if (symbols.hasSymbolSteps()) {
+            final Optional<StepFileIndex.StepRef> symbolStep = symbols.findStep(owner);
+            if (symbolStep.isPresent())
+               return createMarker(element, () -> symbolStep.map(StepFileIndex.StepRef::step));
+         }
+      }
+
       if (element instanceof LeafPsiElement && containingFile != null &&
             StateManager.isFileIncludedInAnyStep(containingFile.getName())) {
          final Document document = PsiDocumentManager.getInstance(element.getProject()).getDocument(containingFile);
          if (document != null) {
             final int lineNumber = document.getLineNumber(element.getTextOffset()) + 1;
             final String fileLine = String.format("%s:%s", containingFile.getName(), lineNumber);
-            if (StateManager.isValidStep(containingFile.getName(), lineNumber)) {
+
+            // On opened documents, the Steps follow the edits through their live anchors
+            final VirtualFile virtualFile = containingFile.getVirtualFile();
+            final StepAnchors anchors = StepAnchors.getInstance(element.getProject());
+            final boolean anchored = virtualFile != null && anchors.isAnchored(virtualFile);
+            final boolean isStep = anchored
+                  ? anchors.findStep(virtualFile, lineNumber).isPresent()
+                  : StateManager.isValidStep(containingFile.getName(), lineNumber);
+            if (isStep) {
                if (!markedLines.containsKey(fileLine) || element.equals(markedLines.get(fileLine))) {
                   markedLines.put(fileLine, element);
-                  return new LineMarkerInfo<>(element, element.getTextRange(),
-                        CodeTourIcons.STEP,
-                        psiElement -> "Code Tour Step",
-                        (e, elt) -> {
-                           new StateManager(element.getProject()).findStepByFileLine(containingFile.getName(),
-                                 lineNumber).ifPresent(step -> {
-                              // Notify UI to select the step which will trigger its navigation
-                              element.getProject().getMessageBus().syncPublisher(StepSelectionNotifier.TOPIC)
-                                    .selectStep(step);
-                           });
-                        },
-                        GutterIconRenderer.Alignment.CENTER,
-                        () -> "Code Tour Step accessible");
+                  return createMarker(element, () -> anchored
+                        ? anchors.findStep(virtualFile, lineNumber).map(StepFileIndex.StepRef::step)
+                        : new StateManager(element.getProject())
+                        .findStepByFileLine(containingFile.getName(), lineNumber));
                }
             }
          }
@@ -64,4 +82,17 @@ public class TourLineMarkerProvider extends LineMarkerProviderDescriptor {
       return null;
    }
 
+   private static LineMarkerInfo<?> createMarker(PsiElement element, Supplier<Optional<Step>> stepOnClick) {
+      return new LineMarkerInfo<>(element, element.getTextRange(),
+            CodeTourIcons.STEP,
+            psiElement -> "Code Tour Step",
+            (e, elt) -> stepOnClick.get().ifPresent(aStep -> {
+               // Notify UI to select the step which will trigger its navigation
+               element.getProject().getMessageBus().syncPublisher(StepSelectionNotifier.TOPIC)
+                     .selectStep(aStep);
+            }),
+            GutterIconRenderer.Alignment.CENTER,
+            () -> "Code Tour Step accessible");
+   }
+
 }
\ No newline at end of file
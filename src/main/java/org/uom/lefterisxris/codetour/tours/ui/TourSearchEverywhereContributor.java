@@ -0,0 +1,107 @@
+package org.uom.lefterisxris.codetour.tours.ui;
+
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributor;
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributorFactory;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.ui.SimpleListCellRenderer;
+import com.intellij.util.Processor;
+import icons.CodeTourIcons;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.service.TourSearchIndex;
+import org.uom.lefterisxris.codetour.tours.state.StateManager;
+import org.uom.lefterisxris.codetour.tours.state.StepSelectionNotifier;
+
+import javax.swing.*;
+
+/**
+ * Search Everywhere contributor for Tours and Steps (titles, descriptions and referenced files),
+ * backed by the {@link TourSearchIndex}
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourSearchEverywhereContributor implements SearchEverywhereContributor<TourSearchIndex.Hit> {
+
+   private static final int MAX_RESULTS = 100;
+
+   private final Project project;
+
+   public TourSearchEverywhereContributor(@NotNull Project project) {
+      this.project = project;
+   }
+
+   @Override
+   public @NotNull String getSearchProviderId() {
+      return TourSearchEverywhereContributor.class.getSimpleName();
+   }
+
+   @Override
+   public @NotNull String getGroupName() {
+      return "Code Tours";
+   }
+
+   @Override
+   public int getSortWeight() {
+      return 500;
+   }
+
+   @Override
+   public boolean showInFindResults() {
+      return false;
+   }
+
+   @Override
+   public boolean isShownInSeparateTab() {
+      return true;
+   }
+
+   @Override
+   public void fetchElements(@NotNull String pattern, @NotNull ProgressIndicator progressIndicator,
+                             @NotNull Processor<? super TourSearchIndex.Hit> consumer) {
+      for (TourSearchIndex.Hit hit : TourSearchIndex.getInstance(project).search(pattern, MAX_RESULTS)) {
+         if (progressIndicator.isCanceled() || !consumer.process(hit)) return;
+      }
+   }
+
+   @Override
+   public boolean processSelectedItem(@NotNull TourSearchIndex.Hit selected, int modifiers,
+                                      @NotNull String searchText) {
+      final Tour tour = selected.getTour();
+      if (tour.getSteps().isEmpty()) return true;
+
+      // For a Tour match, start from its first Step
+      final int stepIndex = Math.max(selected.getStepIndex(), 0);
+      StateManager.setActiveTour(tour);
+      StateManager.setActiveStepIndex(stepIndex);
+
+      // Notify UI to select the step which will trigger its navigation
+      project.getMessageBus().syncPublisher(StepSelectionNotifier.TOPIC).selectStep(tour.getSteps().get(stepIndex));
+      return true;
+   }
+
+   @Override
+   public @NotNull ListCellRenderer<? super TourSearchIndex.Hit> getElementsRenderer() {
+      return SimpleListCellRenderer.create((label, hit, index) -> {
+         label.setIcon(hit.getStep().isPresent() ? CodeTourIcons.STEP : CodeTourIcons.LOGO_XS);
+         label.setText(hit.toString());
+      });
+   }
+
+   @Override
+   public @Nullable Object getDataForItem(@NotNull TourSearchIndex.Hit element, @NotNull String dataId) {
+      return null;
+   }
+
+   public static class Factory implements SearchEverywhereContributorFactory<TourSearchIndex.Hit> {
+      @Override
+      public @NotNull SearchEverywhereContributor<TourSearchIndex.Hit> createContributor(
+            @NotNull AnActionEvent initEvent) {
+         return new TourSearchEverywhereContributor(initEvent.getRequiredData(CommonDataKeys.PROJECT));
+      }
+   }
+}
@@ -9,6 +9,7 @@ import org.uom.lefterisxris.codetour.tours.state.StateManager;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.Optional;
 
 import static org.uom.lefterisxris.codetour.tours.domain.OnboardingAssistant.ONBOARD_ASSISTANT_TITLE;
@@ -34,7 +35,7 @@ public class TourSelectionDialogWrapper extends DialogWrapper {
       JPanel dialogPanel = new JPanel(new BorderLayout());
 
       final StateManager stateManager = new StateManager(project);
-      var tours = stateManager.getTours();
+      var tours = new ArrayList<>(stateManager.getTours());
 
       // Onboarding Assistant should not be present in this selection
       tours.removeIf(tour -> ONBOARD_ASSISTANT_TITLE.equals(tour.getTitle()));
@@ -1,10 +1,11 @@
 package org.uom.lefterisxris.codetour.tours.ui;
 
+import com.intellij.icons.AllIcons;
 import com.intellij.ui.render.LabelBasedRenderer;
 import icons.CodeTourIcons;
 import org.jetbrains.annotations.NotNull;
-import org.uom.lefterisxris.codetour.tours.domain.Step;
 import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.state.TourProgress;
 
 import javax.swing.*;
 import javax.swing.tree.DefaultMutableTreeNode;
@@ -19,8 +20,12 @@ import java.awt.*;
 public class TreeRenderer extends LabelBasedRenderer.Tree {
 
    private String selectedTourId;
+   private final TourProgress progress;
 
-   public TreeRenderer(String selectedTourId) {this.selectedTourId = selectedTourId;}
+   public TreeRenderer(String selectedTourId, TourProgress progress) {
+      this.selectedTourId = selectedTourId;
+      this.progress = progress;
+   }
 
 
    @Override
@@ -35,8 +40,18 @@ public class TreeRenderer extends LabelBasedRenderer.Tree {
             final Tour tour = (Tour)node.getUserObject();
             if (tour.getId() != null && tour.getId().equals(selectedTourId))
                setIcon(CodeTourIcons.LOGO_XS);
-         } else if (node.getUserObject() instanceof Step) {
-            setIcon(CodeTourIcons.STEP);
+            // Progress of the user on the Tour
+            final int completed = progress.getCompletedCount(tour);
+            if (completed > 0)
+               setText(String.format("%s (%s/%s)", getText(), completed, tour.getSteps().size()));
+         } else if (node.getUserObject() instanceof ToolPaneWindow.TourGroup) {
+            setIcon(AllIcons.Nodes.Folder);
+            setText(String.format("%s (%s)", getText(), node.getChildCount()));
+         } else if (node instanceof ToolPaneWindow.StepNode stepNode) {
+            final boolean completed = node.getParent() instanceof DefaultMutableTreeNode parent
+                  && parent.getUserObject() instanceof Tour tour
+                  && progress.isCompleted(tour, stepNode.getStepIndex());
+            setIcon(completed ? AllIcons.Actions.Checked : CodeTourIcons.STEP);
          }
       }
 
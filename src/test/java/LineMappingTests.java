@@ -0,0 +1,87 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.uom.lefterisxris.codetour.tours.service.LineMapping;
+
+/**
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class LineMappingTests {
+
+   private static final String DIFF = """
+         diff --git a/src/Basket.java b/src/Basket.java
+         index 1b2c3d4..5e6f7a8 100644
+         --- a/src/Basket.java
+         +++ b/src/Basket.java
+         @@ -3,0 +4,2 @@ public class Basket {
+         +   // two lines added
+         +   // after line 3
+         @@ -10,2 +12 @@ public class Basket {
+         -   old line 10
+         -   old line 11
+         +   replacement of 10-11
+         @@ -20 +20,0 @@ public class Basket {
+         -   removed line 20
+         """;
+
+   @Test
+   public void testMapping() {
+      final LineMapping mapping = LineMapping.parse(DIFF);
+
+      Assert.assertEquals(1, mapping.map(1));
+      Assert.assertEquals(3, mapping.map(3));
+      Assert.assertEquals(6, mapping.map(4)); // shifted by the insertion
+      Assert.assertEquals(12, mapping.map(10)); // changed lines map onto their replacement
+      Assert.assertEquals(12, mapping.map(11));
+      Assert.assertEquals(13, mapping.map(12));
+      Assert.assertEquals(20, mapping.map(20)); // deleted line maps to the preceding one
+      Assert.assertEquals(21, mapping.map(21));
+   }
+
+   @Test
+   public void testNoChanges() {
+      final LineMapping mapping = LineMapping.parse("");
+      Assert.assertTrue(mapping.isIdentity());
+      Assert.assertEquals(42, mapping.map(42));
+   }
+
+   @Test
+   public void testNewFileIsUnmapped() {
+      final LineMapping mapping = LineMapping.parse("""
+            diff --git a/src/Order.java b/src/Order.java
+            new file mode 100644
+            index 0000000..5e6f7a8
+            --- /dev/null
+            +++ b/src/Order.java
+            @@ -0,0 +1,30 @@
+            +public class Order {
+            """);
+
+      // Not shifted by the length of the file
+      Assert.assertTrue(mapping.isUnmapped());
+      Assert.assertEquals(5, mapping.map(5));
+   }
+
+   @Test
+   public void testRenamedFile() {
+      final LineMapping.FileChanges changes = LineMapping.parseNameStatus(
+            "M\0src/Basket.java\0R087\0src/Cart.java\0src/model/Cart.java\0A\0src/Order.java\0");
+      Assert.assertEquals("src/Basket.java", changes.oldPath("src/Basket.java").orElseThrow());
+      Assert.assertEquals("src/Cart.java", changes.oldPath("src/model/Cart.java").orElseThrow());
+      Assert.assertTrue(changes.oldPath("src/Order.java").isEmpty());
+
+      // Diffed against its old path, the lines of a renamed file are mapped as usual
+      final LineMapping mapping = LineMapping.parse("""
+            diff --git a/HEAD~1:src/Cart.java b/HEAD:src/model/Cart.java
+            index 1b2c3d4..5e6f7a8 100644
+            --- a/HEAD~1:src/Cart.java
+            +++ b/HEAD:src/model/Cart.java
+            @@ -1 +1,2 @@
+            -package src;
+            +package src.model;
+            +
+            """);
+      Assert.assertFalse(mapping.isUnmapped());
+      Assert.assertEquals(3, mapping.map(2));
+   }
+}
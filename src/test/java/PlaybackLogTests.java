@@ -0,0 +1,63 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.uom.lefterisxris.codetour.tours.service.PlaybackLog;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class PlaybackLogTests {
+
+   private static final long IDLE = 60_000;
+
+   @Test
+   public void testWriteAndReadTruncatedLog() throws IOException {
+      final Path log = Files.createTempFile("playback", ".log");
+      try {
+         try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(log))) {
+            PlaybackLog.writeHeader(out);
+            PlaybackLog.write(out, new PlaybackLog.Event(1000, "billing", 0, 3));
+            PlaybackLog.write(out, new PlaybackLog.Event(2000, "billing", PlaybackLog.CLOSED, 0));
+            out.writeLong(3000); // a half-written record
+         }
+
+         final List<PlaybackLog.Event> events = PlaybackLog.read(List.of(log, log.resolveSibling("missing.log")));
+         Assert.assertEquals(List.of(new PlaybackLog.Event(1000, "billing", 0, 3),
+               new PlaybackLog.Event(2000, "billing", PlaybackLog.CLOSED, 0)), events);
+      } finally {
+         Files.deleteIfExists(log);
+      }
+   }
+
+   @Test
+   public void testDwellTimeAndDropOffs() {
+      final PlaybackLog.Report report = PlaybackLog.aggregate(List.of(
+            // completed playback
+            new PlaybackLog.Event(0, "billing", 0, 3),
+            new PlaybackLog.Event(10_000, "billing", 1, 3),
+            new PlaybackLog.Event(40_000, "billing", 2, 3),
+            // abandoned on the second Step (idle)
+            new PlaybackLog.Event(1_000_000, "billing", 0, 3),
+            new PlaybackLog.Event(1_020_000, "billing", 1, 3),
+            // abandoned on the first Step (closed)
+            new PlaybackLog.Event(5_000_000, "billing", 0, 3),
+            new PlaybackLog.Event(5_001_000, "billing", PlaybackLog.CLOSED, 0)), IDLE);
+
+      Assert.assertEquals(3, report.getSessions("billing"));
+      Assert.assertEquals(1, report.getCompletions("billing"));
+
+      final List<PlaybackLog.StepStats> steps = report.getSteps("billing");
+      Assert.assertEquals(3, steps.get(0).getVisits());
+      Assert.assertEquals((10_000 + 20_000 + 1_000) / 3, steps.get(0).getAverageDwellMillis());
+      Assert.assertEquals(1, steps.get(0).getDropOffs());
+      Assert.assertEquals(30_000, steps.get(1).getAverageDwellMillis());
+      Assert.assertEquals(1, steps.get(1).getDropOffs());
+      Assert.assertEquals(0, steps.get(2).getDropOffs());
+   }
+}
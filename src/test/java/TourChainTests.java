@@ -0,0 +1,51 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.service.TourChain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourChainTests {
+
+   @Test
+   public void testFindNextTourByIdOrTitle() {
+      final Tour intro = tour("intro", "Intro", "Billing");
+      final Tour billing = tour("billing", "Billing", "invoices");
+      final Tour invoices = tour("invoices", "Invoices", null);
+      final List<Tour> tours = List.of(intro, billing, invoices);
+
+      Assert.assertSame(billing, TourChain.findNextTour(tours, intro).orElseThrow());
+      Assert.assertSame(invoices, TourChain.findNextTour(tours, billing).orElseThrow());
+      Assert.assertTrue(TourChain.findNextTour(tours, invoices).isEmpty());
+      Assert.assertTrue(TourChain.findChainProblems(tours).isEmpty());
+   }
+
+   @Test
+   public void testChainProblems() {
+      final Tour a = tour("a", "A", "B");
+      final Tour b = tour("b", "B", "C");
+      final Tour c = tour("c", "C", "a");
+      final Tour broken = tour("broken", "Broken", "Missing");
+
+      final List<String> problems = TourChain.findChainProblems(List.of(a, b, c, broken));
+      // The cycle is reported once, no matter the Tour it has been found from
+      Assert.assertEquals(2, problems.size());
+      Assert.assertEquals("Tours are chained in a cycle: 'A' -> 'B' -> 'C' -> 'A'", problems.get(0));
+      Assert.assertTrue(problems.get(1).contains("'Missing'"));
+   }
+
+   private Tour tour(String id, String title, String nextTour) {
+      return Tour.builder()
+            .id(id)
+            .title(title)
+            .touFile(id + ".tour")
+            .nextTour(nextTour)
+            .steps(new ArrayList<>())
+            .build();
+   }
+}
@@ -0,0 +1,29 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.service.TourRecorder;
+
+import java.util.List;
+
+/**
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourRecorderTests {
+
+   @Test
+   public void testCollapses() {
+      final List<Step> draft = List.of(step("Billing.java", 10), step("Invoice.java", 40));
+
+      Assert.assertFalse(TourRecorder.collapses(List.of(), step("Billing.java", 10)));
+      Assert.assertTrue(TourRecorder.collapses(draft, step("Invoice.java", 42))); // next to the last stop
+      Assert.assertFalse(TourRecorder.collapses(draft, step("Invoice.java", 43)));
+      Assert.assertTrue(TourRecorder.collapses(draft, step("Billing.java", 10))); // same line as an earlier stop
+      Assert.assertFalse(TourRecorder.collapses(draft, step("Billing.java", 11))); // not the last stop
+      Assert.assertFalse(TourRecorder.collapses(draft, step("Payment.java", 40)));
+   }
+
+   private static Step step(String file, int line) {
+      return Step.builder().file(file).line(line).build();
+   }
+}
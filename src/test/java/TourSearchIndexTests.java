@@ -0,0 +1,61 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.service.TourSearchIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourSearchIndexTests {
+
+   @Test
+   public void testExactPrefixAndFuzzyMatching() {
+      final TourSearchIndex index = new TourSearchIndex();
+      final Tour billing = tour("Billing", step("Retry policy", "How the billing retry works", "RetryScheduler.java"));
+      final Tour onboarding = tour("Onboarding", step("Intro", "Welcome aboard", "README.md"));
+      index.rebuild(List.of(billing, onboarding));
+
+      // exact on description, prefix on title and camel case part of a file name
+      Assert.assertEquals(billing, index.search("billing retry", 10).get(0).getTour());
+      Assert.assertEquals(billing, index.search("sched", 10).get(0).getTour());
+      Assert.assertEquals(0, index.search("retry welcome", 10).size());
+
+      // one typo away
+      final List<TourSearchIndex.Hit> fuzzy = index.search("welcme", 10);
+      Assert.assertEquals(1, fuzzy.size());
+      Assert.assertEquals(onboarding, fuzzy.get(0).getTour());
+      Assert.assertEquals(0, fuzzy.get(0).getStepIndex());
+   }
+
+   @Test
+   public void testIncrementalUpdate() {
+      final TourSearchIndex index = new TourSearchIndex();
+      final Tour tour = tour("Billing", step("Retry policy", "How the billing retry works", "RetryScheduler.java"));
+      index.rebuild(List.of(tour));
+
+      tour.getSteps().get(0).setDescription("Invoices are generated nightly");
+      index.index(tour);
+      Assert.assertTrue(index.search("works", 10).isEmpty());
+      Assert.assertEquals(1, index.search("invoices", 10).size());
+
+      index.remove(tour);
+      Assert.assertTrue(index.search("billing", 10).isEmpty());
+   }
+
+   private Tour tour(String title, Step... steps) {
+      return Tour.builder()
+            .title(title)
+            .touFile(title + ".tour")
+            .steps(new ArrayList<>(List.of(steps)))
+            .build();
+   }
+
+   private Step step(String title, String description, String file) {
+      return Step.builder().title(title).description(description).file(file).line(1).build();
+   }
+}
@@ -0,0 +1,61 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.state.TourTagIndex;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourTagIndexTests {
+
+   @Test
+   public void testFilterByTags() {
+      final Tour billing = tour("Billing", " payments", "backend ", "");
+      final Tour checkout = tour("Checkout", "payments", "frontend");
+      final Tour untagged = tour("Untagged");
+      final TourTagIndex index = new TourTagIndex();
+      index.rebuild(List.of(billing, checkout, untagged));
+
+      Assert.assertEquals(Map.of("backend", 1, "frontend", 1, "payments", 2), index.getTags());
+
+      final BitSet payments = index.toBits(List.of("payments"));
+      Assert.assertTrue(index.matches(billing, payments));
+      Assert.assertTrue(index.matches(checkout, payments));
+      Assert.assertFalse(index.matches(untagged, payments));
+
+      // A Tour should have all the selected tags
+      final BitSet paymentsBackend = index.toBits(List.of("payments", "backend"));
+      Assert.assertTrue(index.matches(billing, paymentsBackend));
+      Assert.assertFalse(index.matches(checkout, paymentsBackend));
+
+      // No (known) tags, no filtering
+      Assert.assertTrue(index.matches(untagged, index.toBits(List.of("missing"))));
+   }
+
+   @Test
+   public void testUpdate() {
+      final Tour billing = tour("Billing", "payments");
+      final TourTagIndex index = new TourTagIndex();
+      index.rebuild(List.of(billing));
+
+      billing.setTags(new ArrayList<>(List.of("invoices")));
+      index.update(billing);
+
+      Assert.assertEquals(Map.of("invoices", 1), index.getTags());
+      Assert.assertFalse(index.matches(billing, index.toBits(List.of("payments"))));
+      Assert.assertTrue(index.matches(billing, index.toBits(List.of("invoices"))));
+   }
+
+   private static Tour tour(String title, String... tags) {
+      final Tour tour = Tour.builder().title(title).steps(new ArrayList<>()).build();
+      if (tags.length > 0)
+         tour.setTags(new ArrayList<>(List.of(tags)));
+      return tour;
+   }
+}
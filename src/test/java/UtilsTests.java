@@ -1,5 +1,6 @@
 import org.junit.Assert;
 import org.junit.Test;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
 import org.uom.lefterisxris.codetour.tours.domain.Tour;
 import org.uom.lefterisxris.codetour.tours.service.AppSettingsState;
 import org.uom.lefterisxris.codetour.tours.service.Utils;
@@ -35,6 +36,20 @@ public class UtilsTests {
       Assert.assertEquals(expectedHtml, html);
    }
 
+   @Test
+   public void testStepReference() {
+      final Step step = Step.builder().file("Foo.java").line(10).build();
+      Assert.assertEquals("Foo.java:10", Utils.getStepReference(step));
+
+      step.setEndLine(20);
+      Assert.assertEquals("Foo.java:10-20", Utils.getStepReference(step));
+      Assert.assertEquals(20, step.getEndLineNumber());
+
+      step.setEndLine(5); // before the line, so the Step targets its line only
+      Assert.assertEquals(10, step.getEndLineNumber());
+      Assert.assertEquals("", Utils.getStepReference(Step.builder().title("Description only").build()));
+   }
+
    @Test
    public void testSort() {
 
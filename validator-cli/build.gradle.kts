@@ -0,0 +1,50 @@
+// Headless (no IDE) validator of the tours of a repository, e.g. to fail CI builds that break tours.
+// Usage: ./gradlew :validator-cli:run --args="--root /path/to/repo --junit build/tours-junit.xml"
+
+fun properties(key: String) = project.findProperty(key).toString()
+
+plugins {
+    id("java")
+    id("application")
+}
+
+group = properties("pluginGroup")
+version = properties("pluginVersion")
+
+repositories {
+    mavenCentral()
+}
+
+// Reuse the Tour model and the Step matching rules of the plugin (plain Java sources)
+sourceSets {
+    main {
+        java {
+            srcDir(rootProject.file("src/main/java"))
+            include(
+                "org/uom/lefterisxris/codetour/tours/domain/Tour.java",
+                "org/uom/lefterisxris/codetour/tours/domain/Step.java",
+                "org/uom/lefterisxris/codetour/tours/service/StepMatcher.java",
+                "org/uom/lefterisxris/codetour/validator/**"
+            )
+        }
+    }
+}
+
+application {
+    mainClass.set("org.uom.lefterisxris.codetour.validator.TourValidatorCli")
+}
+
+tasks.withType<JavaCompile> {
+    sourceCompatibility = properties("javaVersion")
+    targetCompatibility = properties("javaVersion")
+}
+
+dependencies {
+    implementation("com.google.code.gson:gson:2.10.1")
+    compileOnly("org.jetbrains:annotations:24.0.1")
+
+    compileOnly("org.projectlombok:lombok:1.18.22")
+    annotationProcessor("org.projectlombok:lombok:1.18.22")
+
+    testImplementation("junit:junit:4.13.2")
+}
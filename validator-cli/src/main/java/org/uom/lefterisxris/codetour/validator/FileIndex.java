@@ -0,0 +1,94 @@
+package org.uom.lefterisxris.codetour.validator;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+
+/**
+ * Filename index of a repository, built with a single walk of its file tree. Also collects the tour files
+ * (i.e. the <code>.tour</code> files of every <code>.tours</code> directory) on the same walk
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class FileIndex {
+
+   private static final String TOURS_DIR = ".tours";
+   private static final String TOUR_EXTENSION = ".tour";
+
+   private final Path root;
+   // Paths are kept relative to the root (and as strings), to keep the index small on huge repositories
+   private final Map<String, List<String>> pathsPerFileName = new HashMap<>();
+   private final List<Path> tourFiles = new ArrayList<>();
+   private int filesCount = 0;
+
+   private FileIndex(Path root) {
+      this.root = root;
+   }
+
+   /**
+    * Walks the file tree of the given root once, skipping the (sub)directories with the given names
+    */
+   public static FileIndex build(@NotNull Path root, @NotNull Set<String> excludedDirs) throws IOException {
+      final FileIndex index = new FileIndex(root);
+      Files.walkFileTree(root, EnumSet.noneOf(FileVisitOption.class), Integer.MAX_VALUE, new SimpleFileVisitor<>() {
+         @Override
+         public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            final Path name = dir.getFileName();
+            return !dir.equals(root) && name != null && excludedDirs.contains(name.toString())
+                  ? FileVisitResult.SKIP_SUBTREE
+                  : FileVisitResult.CONTINUE;
+         }
+
+         @Override
+         public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            if (attrs.isRegularFile())
+               index.add(file);
+            return FileVisitResult.CONTINUE;
+         }
+
+         @Override
+         public FileVisitResult visitFileFailed(Path file, IOException e) {
+            return FileVisitResult.CONTINUE; // e.g. no permissions. Treated as missing
+         }
+      });
+      return index;
+   }
+
+   private void add(Path file) {
+      final String fileName = file.getFileName().toString();
+      pathsPerFileName.computeIfAbsent(fileName, name -> new ArrayList<>(1)).add(root.relativize(file).toString());
+      filesCount++;
+
+      final Path parent = file.getParent();
+      if (fileName.endsWith(TOUR_EXTENSION) && parent != null && parent.getFileName() != null
+            && TOURS_DIR.equals(parent.getFileName().toString()))
+         tourFiles.add(file);
+   }
+
+   /**
+    * @return the paths (relative to the root) of the files with the given name
+    */
+   public List<String> getPaths(@NotNull String fileName) {
+      return pathsPerFileName.getOrDefault(fileName, List.of());
+   }
+
+   public Path resolve(@NotNull String relativePath) {
+      return root.resolve(relativePath);
+   }
+
+   public String relativize(@NotNull Path file) {
+      return root.relativize(file).toString();
+   }
+
+   public List<Path> getTourFiles() {
+      return tourFiles;
+   }
+
+   public int getFilesCount() {
+      return filesCount;
+   }
+}
@@ -0,0 +1,115 @@
+package org.uom.lefterisxris.codetour.validator;
+
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes the validation results as JSON or as JUnit XML (to be picked up by CI servers as test results)
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class Reports {
+
+   public static void writeJson(@NotNull List<TourChecker.TourResult> results, @NotNull Path target)
+         throws IOException {
+      createParentDirs(target);
+      try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8);
+           JsonWriter json = new JsonWriter(writer)) {
+         json.setIndent("  ");
+         json.beginObject();
+         json.name("tours").value(results.size());
+         json.name("steps").value(results.stream().mapToInt(TourChecker.TourResult::stepsCount).sum());
+         json.name("errors").value(results.stream().mapToInt(result -> result.issues().size()).sum());
+         json.name("results").beginArray();
+         for (TourChecker.TourResult result : results) {
+            json.beginObject();
+            json.name("tourFile").value(result.tourFile());
+            json.name("title").value(result.title());
+            json.name("steps").value(result.stepsCount());
+            json.name("issues").beginArray();
+            for (TourChecker.Issue issue : result.issues()) {
+               json.beginObject();
+               json.name("stepIndex").value(issue.stepIndex());
+               json.name("stepTitle").value(issue.stepTitle());
+               json.name("message").value(issue.message());
+               json.endObject();
+            }
+            json.endArray();
+            json.endObject();
+         }
+         json.endArray();
+         json.endObject();
+      }
+   }
+
+   /**
+    * One test suite per tour and one test case per Step (or a single case for tour-level problems)
+    */
+   public static void writeJUnit(@NotNull List<TourChecker.TourResult> results, @NotNull Path target)
+         throws IOException {
+      createParentDirs(target);
+      try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+         writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+         writer.write(String.format("<testsuites name=\"CodeTour\" tests=\"%s\" failures=\"%s\">\n",
+               results.stream().mapToInt(result -> Math.max(result.stepsCount(), 1)).sum(),
+               results.stream().mapToInt(result -> result.issues().size()).sum()));
+         for (TourChecker.TourResult result : results) {
+            writer.write(String.format("  <testsuite name=\"%s\" tests=\"%s\" failures=\"%s\">\n",
+                  escape(result.tourFile()), Math.max(result.stepsCount(), 1), result.issues().size()));
+
+            final List<TourChecker.Issue> tourIssues = result.issues().stream()
+                  .filter(issue -> issue.stepIndex() < 0)
+                  .toList();
+            if (!tourIssues.isEmpty() || result.stepsCount() == 0)
+               writeTestCase(writer, result.title(), "tour", tourIssues);
+
+            for (int i = 0; i < result.stepsCount(); i++) {
+               final int stepIndex = i;
+               final List<TourChecker.Issue> stepIssues = result.issues().stream()
+                     .filter(issue -> issue.stepIndex() == stepIndex)
+                     .toList();
+               final String title = stepIssues.isEmpty() ? "" : ": " + stepIssues.get(0).stepTitle();
+               writeTestCase(writer, result.title(), String.format("Step #%s%s", stepIndex + 1, title), stepIssues);
+            }
+            writer.write("  </testsuite>\n");
+         }
+         writer.write("</testsuites>\n");
+      }
+   }
+
+   private static void writeTestCase(Writer writer, String className, String name, List<TourChecker.Issue> issues)
+         throws IOException {
+      writer.write(String.format("    <testcase classname=\"%s\" name=\"%s\"", escape(className), escape(name)));
+      if (issues.isEmpty()) {
+         writer.write("/>\n");
+         return;
+      }
+      writer.write(">\n");
+      for (TourChecker.Issue issue : issues)
+         writer.write(String.format("      <failure message=\"%s\"/>\n", escape(issue.message())));
+      writer.write("    </testcase>\n");
+   }
+
+   private static String escape(String value) {
+      if (value == null) return "";
+      return value.replace("&", "&amp;")
+            .replace("<", "&lt;")
+            .replace(">", "&gt;")
+            .replace("\"", "&quot;")
+            .replace("'", "&apos;");
+   }
+
+   private static void createParentDirs(Path target) throws IOException {
+      final Path parent = target.toAbsolutePath().getParent();
+      if (parent != null)
+         Files.createDirectories(parent);
+   }
+}
@@ -0,0 +1,149 @@
+package org.uom.lefterisxris.codetour.validator;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import org.jetbrains.annotations.NotNull;
+import org.uom.lefterisxris.codetour.tours.domain.Step;
+import org.uom.lefterisxris.codetour.tours.domain.Tour;
+import org.uom.lefterisxris.codetour.tours.service.StepMatcher;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Validates the Steps of a tour against a {@link FileIndex}: the file exists, the line is in range and the pattern
+ * (if any) matches. Thread-safe, so many tours can be validated in parallel
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourChecker {
+
+   // The creation date of a tour is irrelevant to its validation
+   private static final Gson GSON = new GsonBuilder()
+         .registerTypeAdapter(LocalDateTime.class, (JsonDeserializer<LocalDateTime>)(json, type, context) -> null)
+         .create();
+
+   private final FileIndex index;
+   // The contents of the referenced files, read once even if many steps (of many tours) reference them
+   private final Map<String, Optional<String>> contents = new ConcurrentHashMap<>();
+
+   public TourChecker(@NotNull FileIndex index) {
+      this.index = index;
+   }
+
+   public TourResult check(@NotNull Path tourFile) {
+      final String tourPath = index.relativize(tourFile);
+      final Tour tour;
+      try (Reader reader = Files.newBufferedReader(tourFile, StandardCharsets.UTF_8)) {
+         tour = GSON.fromJson(reader, Tour.class);
+      } catch (Exception e) {
+         return new TourResult(tourPath, tourFile.getFileName().toString(), 0,
+               List.of(new Issue(-1, null, "Could not parse the tour file: " + e.getMessage())));
+      }
+      if (tour == null)
+         return new TourResult(tourPath, tourFile.getFileName().toString(), 0,
+               List.of(new Issue(-1, null, "Empty tour file")));
+
+      final List<Step> steps = tour.getSteps() != null ? tour.getSteps() : List.of();
+      final List<Issue> issues = new ArrayList<>();
+      for (int i = 0; i < steps.size(); i++) {
+         final int stepIndex = i;
+         final Step step = steps.get(i);
+         check(step).ifPresent(message -> issues.add(new Issue(stepIndex, step.getTitle(), message)));
+      }
+      final String title = tour.getTitle() != null ? tour.getTitle() : tourFile.getFileName().toString();
+      return new TourResult(tourPath, title, steps.size(), issues);
+   }
+
+   /**
+    * @return the problem of the given Step, if any
+    */
+   private Optional<String> check(Step step) {
+      if (step.getFile() == null) return Optional.empty(); // description-only step
+
+      final Optional<String> fileName = StepMatcher.getFileName(step.getFile());
+      if (fileName.isEmpty())
+         return Optional.of(String.format("Invalid file path '%s'", step.getFile()));
+      final List<String> candidates = index.getPaths(fileName.get()).stream()
+            .filter(path -> StepMatcher.matches(path, step))
+            .toList();
+      if (candidates.isEmpty())
+         return Optional.of(String.format("File '%s' not found", step.getFile()));
+
+      final int line = step.getLineNumber();
+      if (line != Step.NO_LINE) {
+         final int maxLines = candidates.stream()
+               .mapToInt(path -> content(path).map(TourChecker::countLines).orElse(0))
+               .max().orElse(0);
+         if (line < 1 || line > maxLines)
+            return Optional.of(String.format("Line %s is out of range of file '%s' (%s lines)",
+                  line, step.getFile(), maxLines));
+         if (step.getEndLine() != null && (step.getEndLine() < line || step.getEndLine() > maxLines))
+            return Optional.of(String.format("End line %s is out of range of lines %s-%s of file '%s'",
+                  step.getEndLine(), line, maxLines, step.getFile()));
+      }
+
+      if (step.getPattern() != null) {
+         final Pattern pattern;
+         try {
+            pattern = Pattern.compile(step.getPattern(), Pattern.MULTILINE);
+         } catch (PatternSyntaxException e) {
+            return Optional.of(String.format("Invalid pattern '%s': %s", step.getPattern(), e.getDescription()));
+         }
+         final boolean matches = candidates.stream()
+               .anyMatch(path -> content(path).map(text -> pattern.matcher(text).find()).orElse(false));
+         if (!matches)
+            return Optional.of(String.format("Pattern '%s' does not match file '%s'", step.getPattern(),
+                  step.getFile()));
+      }
+      return Optional.empty();
+   }
+
+   private Optional<String> content(String path) {
+      return contents.computeIfAbsent(path, aPath -> {
+         try {
+            return Optional.of(new String(Files.readAllBytes(index.resolve(aPath)), StandardCharsets.UTF_8));
+         } catch (IOException e) {
+            return Optional.empty();
+         }
+      });
+   }
+
+   private static int countLines(String text) {
+      if (text.isEmpty()) return 0;
+
+      int lines = 1;
+      for (int i = 0; i < text.length(); i++) {
+         if (text.charAt(i) == '\n' && i < text.length() - 1)
+            lines++;
+      }
+      return lines;
+   }
+
+   /**
+    * A problem of a Step (or of the whole tour, when the step index is negative)
+    */
+   public record Issue(int stepIndex, String stepTitle, String message) {}
+
+   /**
+    * The validation result of a tour file
+    */
+   public record TourResult(String tourFile, String title, int stepsCount, List<Issue> issues) {
+      public boolean isValid() {
+         return issues.isEmpty();
+      }
+   }
+}
@@ -0,0 +1,110 @@
+package org.uom.lefterisxris.codetour.validator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Headless validator of the tours of a repository, e.g. to fail the CI builds (pull requests) that break tours.
+ * The repository is walked once to index its files, and then all the tours are validated in parallel.
+ * <p>
+ * Exit codes: 0 when all tours are valid, 1 when invalid Steps were found and 2 on wrong usage
+ *
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourValidatorCli {
+
+   private static final String USAGE = """
+         Usage: tour-validator [options]
+           --root <dir>        The repository to validate (default: current directory)
+           --json <file>       Write a JSON report to the given file
+           --junit <file>      Write a JUnit XML report to the given file
+           --threads <n>       Tours validated in parallel (default: available processors)
+           --exclude <names>   Comma separated directory names to skip (default: .git,node_modules)
+         """;
+
+   public static void main(String[] args) {
+      final Map<String, String> options;
+      try {
+         options = parseOptions(args);
+      } catch (IllegalArgumentException e) {
+         System.err.println(e.getMessage());
+         System.err.print(USAGE);
+         System.exit(2);
+         return;
+      }
+
+      try {
+         System.exit(run(options));
+      } catch (Exception e) {
+         System.err.println("Tour validation failed: " + e.getMessage());
+         System.exit(2);
+      }
+   }
+
+   static int run(Map<String, String> options) throws IOException, InterruptedException, ExecutionException {
+      final Path root = Paths.get(options.getOrDefault("root", ".")).toAbsolutePath().normalize();
+      if (!Files.isDirectory(root))
+         throw new IllegalArgumentException("Not a directory: " + root);
+      final Set<String> excludedDirs =
+            new HashSet<>(Arrays.asList(options.getOrDefault("exclude", ".git,node_modules").split(",")));
+      final int threads = Integer.parseInt(
+            options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+      final long start = System.nanoTime();
+      final FileIndex index = FileIndex.build(root, excludedDirs);
+      final long indexed = System.nanoTime();
+
+      final TourChecker checker = new TourChecker(index);
+      final ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+      final List<TourChecker.TourResult> results;
+      try {
+         results = pool.submit(() -> index.getTourFiles().parallelStream()
+               .map(checker::check)
+               .sorted(Comparator.comparing(TourChecker.TourResult::tourFile))
+               .toList()).get();
+      } finally {
+         pool.shutdown();
+      }
+      final long validated = System.nanoTime();
+
+      if (options.containsKey("json"))
+         Reports.writeJson(results, Paths.get(options.get("json")));
+      if (options.containsKey("junit"))
+         Reports.writeJUnit(results, Paths.get(options.get("junit")));
+
+      int errors = 0;
+      for (TourChecker.TourResult result : results) {
+         for (TourChecker.Issue issue : result.issues()) {
+            errors++;
+            final String step = issue.stepIndex() < 0 ? "" : String.format(" > Step #%s '%s'",
+                  issue.stepIndex() + 1, issue.stepTitle());
+            System.err.printf("%s (%s)%s: %s%n", result.title(), result.tourFile(), step, issue.message());
+         }
+      }
+      System.out.printf("Validated %s tours (%s steps) against %s files in %s ms (indexing %s ms). Found %s errors%n",
+            results.size(), results.stream().mapToInt(TourChecker.TourResult::stepsCount).sum(),
+            index.getFilesCount(), (validated - start) / 1_000_000, (indexed - start) / 1_000_000, errors);
+      return errors == 0 ? 0 : 1;
+   }
+
+   private static Map<String, String> parseOptions(String[] args) {
+      final Set<String> known = Set.of("root", "json", "junit", "threads", "exclude");
+      final Map<String, String> options = new HashMap<>();
+      for (int i = 0; i < args.length; i++) {
+         if ("--help".equals(args[i]) || "-h".equals(args[i]))
+            throw new IllegalArgumentException("CodeTour headless tour validator");
+
+         final String name = args[i].startsWith("--") ? args[i].substring(2) : null;
+         if (name == null || !known.contains(name) || i + 1 >= args.length)
+            throw new IllegalArgumentException("Invalid option: " + args[i]);
+         options.put(name, args[++i]);
+      }
+      return options;
+   }
+}
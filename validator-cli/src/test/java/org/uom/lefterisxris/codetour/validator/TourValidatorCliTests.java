@@ -0,0 +1,76 @@
+package org.uom.lefterisxris.codetour.validator;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * @author Eleftherios Chrysochoidis
+ * Date: 18/10/2026
+ */
+public class TourValidatorCliTests {
+
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder();
+
+   @Test
+   public void testBrokenStepIsReported() throws Exception {
+      final Path root = folder.getRoot().toPath();
+      write(root.resolve("src/Main.java"), "class Main {\n   void main() {}\n}\n");
+      write(root.resolve(".tours/onboarding.tour"), """
+            {"title": "Onboarding", "steps": [
+              {"title": "Main", "file": "Main.java", "line": 2},
+              {"title": "Gone", "file": "Missing.java", "line": 1},
+              {"title": "Too far", "file": "Main.java", "line": 10},
+              {"title": "Only a description"}
+            ]}""");
+      final Path json = root.resolve("build/report.json");
+      final Path junit = root.resolve("build/junit.xml");
+
+      final int exitCode = TourValidatorCli.run(Map.of("root", root.toString(), "json", json.toString(),
+            "junit", junit.toString(), "threads", "1"));
+      Assert.assertEquals(1, exitCode);
+
+      final JsonObject report = JsonParser.parseString(Files.readString(json)).getAsJsonObject();
+      Assert.assertEquals(1, report.get("tours").getAsInt());
+      Assert.assertEquals(4, report.get("steps").getAsInt());
+      Assert.assertEquals(2, report.get("errors").getAsInt());
+      final JsonObject result = report.getAsJsonArray("results").get(0).getAsJsonObject();
+      Assert.assertEquals("Onboarding", result.get("title").getAsString());
+      final JsonObject issue = result.getAsJsonArray("issues").get(0).getAsJsonObject();
+      Assert.assertEquals(1, issue.get("stepIndex").getAsInt());
+      Assert.assertEquals("File 'Missing.java' not found", issue.get("message").getAsString());
+
+      // One test case per Step, failing for the broken ones
+      final String xml = Files.readString(junit);
+      Assert.assertTrue(xml.contains("<testsuites name=\"CodeTour\" tests=\"4\" failures=\"2\">"));
+      Assert.assertTrue(xml.contains("<testcase classname=\"Onboarding\" name=\"Step #1\"/>"));
+      Assert.assertTrue(xml.contains("<failure message=\"File &apos;Missing.java&apos; not found\"/>"));
+      Assert.assertTrue(xml.contains(
+            "<failure message=\"Line 10 is out of range of file &apos;Main.java&apos; (3 lines)\"/>"));
+   }
+
+   @Test
+   public void testValidToursPass() throws Exception {
+      final Path root = folder.getRoot().toPath();
+      write(root.resolve("src/Main.java"), "class Main {}\n");
+      write(root.resolve(".tours/valid.tour"), """
+            {"title": "Valid", "steps": [{"title": "Main", "file": "Main.java", "line": 1}]}""");
+
+      Assert.assertEquals(0, TourValidatorCli.run(Map.of("root", root.toString())));
+   }
+
+   private static void write(Path file, String content) throws IOException {
+      Files.createDirectories(file.getParent());
+      Files.writeString(file, content, StandardCharsets.UTF_8);
+   }
+}